@@ -1,12 +1,15 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.PasswordHashCalibrator;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @SpringBootApplication
+@EnableScheduling
 public class AcademicAssessmentSystemBackendApplication {
 
     public static void main(String[] args) {
@@ -14,8 +17,8 @@ public class AcademicAssessmentSystemBackendApplication {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    PasswordEncoder passwordEncoder(PasswordHashCalibrator passwordHashCalibrator) {
+        return new BCryptPasswordEncoder(passwordHashCalibrator.getStrength());
     }
 
 }
@@ -0,0 +1,82 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.config.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * In-process (Caffeine) regions behind the Hibernate second-level cache. Each region gets its own
+ * size bound and time-to-live from {@code second-level-cache.<region>.max-entries} and
+ * {@code .ttl-seconds}; a region Hibernate asks for that is not listed here fails startup.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String COURSES = "courses";
+    public static final String COURSE_STAFF = "course-staff";
+    public static final String COURSE_STAFF_BY_COURSE = "course-staff-by-course";
+    public static final String EXAMS = "exams";
+    public static final String EXAM_LABORATORIES = "exam-laboratories";
+    public static final String REFERENCE_QUERIES = "reference-queries";
+
+    // Hibernate's own regions: query results that were not given a region, and the table
+    // timestamps that invalidate cached queries, which must never be evicted.
+    private static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private record Region(String name, long maxEntries, long ttlSeconds) {
+    }
+
+    private static final List<Region> REGIONS = List.of(
+            new Region(COURSES, 10_000, 3600),
+            new Region(COURSE_STAFF, 50_000, 3600),
+            new Region(COURSE_STAFF_BY_COURSE, 10_000, 3600),
+            new Region(EXAMS, 20_000, 3600),
+            new Region(EXAM_LABORATORIES, 20_000, 3600),
+            new Region(REFERENCE_QUERIES, 5_000, 600),
+            new Region(DEFAULT_QUERY_RESULTS, 1_000, 300)
+    );
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment) {
+        // A provider per application context, so test contexts never share or close each other's regions.
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        for (Region region : REGIONS) {
+            long maxEntries = environment.getProperty(
+                    "second-level-cache." + region.name() + ".max-entries", Long.class, region.maxEntries());
+            long ttlSeconds = environment.getProperty(
+                    "second-level-cache." + region.name() + ".ttl-seconds", Long.class, region.ttlSeconds());
+            cacheManager.createCache(region.name(), configuration(
+                    OptionalLong.of(maxEntries), OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos())));
+        }
+        cacheManager.createCache(UPDATE_TIMESTAMPS, configuration(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Hibernate's cache entries are not mutated after they are put, so there is no need for the
+    // serialize-on-every-read copies that JCache's default store-by-value would make.
+    private static CaffeineConfiguration<Object, Object> configuration(OptionalLong maxEntries, OptionalLong ttlNanos) {
+        return new CaffeineConfiguration<>()
+                .setTypes(Object.class, Object.class)
+                .setStoreByValue(false)
+                .setMaximumSize(maxEntries)
+                .setExpireAfterWrite(ttlNanos);
+    }
+}
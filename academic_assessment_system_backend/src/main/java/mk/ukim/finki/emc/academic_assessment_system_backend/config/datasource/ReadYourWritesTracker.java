@@ -0,0 +1,59 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.config.datasource;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write in the last few seconds, so their reads can stay on the
+ * primary until the replica has caught up with what they just wrote.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Map<Long, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        Long userId = currentUserId();
+        if (userId != null) {
+            lastWriteNanos.put(userId, System.nanoTime());
+        }
+    }
+
+    public boolean currentUserWroteRecently() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteNanos.get(userId);
+        return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.read-your-writes-window-ms:5000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtUserPrincipal principal) {
+            return principal.id();
+        }
+        return null;
+    }
+}
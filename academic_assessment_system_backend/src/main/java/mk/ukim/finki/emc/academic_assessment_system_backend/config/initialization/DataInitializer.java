@@ -7,6 +7,7 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.StaffRol
 import mk.ukim.finki.emc.academic_assessment_system_backend.repository.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -23,8 +24,10 @@ public class DataInitializer {
     private final CourseEnrollmentRepository courseEnrollmentRepository;
     private final CourseStaffAssignmentRepository courseStaffAssignmentRepository;
     private final StudentExamRegistrationRepository studentExamRegistrationRepository;
+    private final ExamSeatRepository examSeatRepository;
+    private final TransactionTemplate transactionTemplate;
 
-    public DataInitializer(CourseRepository courseRepository, ExamRepository examRepository, UserRepository userRepository, StudentRepository studentRepository, PasswordEncoder passwordEncoder, CourseEnrollmentRepository courseEnrollmentRepository, CourseStaffAssignmentRepository courseStaffAssignmentRepository, StudentExamRegistrationRepository studentExamRegistrationRepository) {
+    public DataInitializer(CourseRepository courseRepository, ExamRepository examRepository, UserRepository userRepository, StudentRepository studentRepository, PasswordEncoder passwordEncoder, CourseEnrollmentRepository courseEnrollmentRepository, CourseStaffAssignmentRepository courseStaffAssignmentRepository, StudentExamRegistrationRepository studentExamRegistrationRepository, ExamSeatRepository examSeatRepository, TransactionTemplate transactionTemplate) {
         this.courseRepository = courseRepository;
         this.examRepository = examRepository;
         this.userRepository = userRepository;
@@ -33,10 +36,17 @@ public class DataInitializer {
         this.courseEnrollmentRepository = courseEnrollmentRepository;
         this.courseStaffAssignmentRepository = courseStaffAssignmentRepository;
         this.studentExamRegistrationRepository = studentExamRegistrationRepository;
+        this.examSeatRepository = examSeatRepository;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    // One read-write transaction, so the emptiness check runs on the primary rather than a read replica.
     @PostConstruct
     public void init() {
+        transactionTemplate.executeWithoutResult(status -> seed());
+    }
+
+    private void seed() {
         if (userRepository.count() == 0) {
             User user = new User("Dimitar", "Trposki", "dt@gmail.com", passwordEncoder.encode("dt"), UserRole.STAFF);
             User user1 = new User("Jovan", "Jovanov", "jj@gmail.com", passwordEncoder.encode("jj"), UserRole.STAFF);
@@ -96,7 +106,8 @@ public class DataInitializer {
             courseStaffAssignmentRepository.save(courseStaffAssignment1);
 
             StudentExamRegistration studentExamRegistration = new StudentExamRegistration(student, exam);
-            studentExamRegistrationRepository.save(studentExamRegistration);
+            studentExamRegistrationRepository.saveAndFlush(studentExamRegistration);
+            examSeatRepository.recountAll();
         }
     }
 
@@ -0,0 +1,89 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.config.schema;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Refuses to start against a schema that lacks an index the repository queries depend on.
+ * {@code ddl-auto=validate} checks tables and columns but not indexes, and a missing one only
+ * shows up later as a full scan under load.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class RequiredIndexVerifier implements InitializingBean {
+
+    private static final Map<String, List<String>> REQUIRED_INDEXES = Map.of(
+            "app_users", List.of("idx_app_users_user_role"),
+            "courses", List.of("idx_courses_term"),
+            "course_enrollments", List.of("idx_course_enrollments_student"),
+            "course_staff_assignments", List.of("idx_course_staff_assignments_user"),
+            "exams", List.of("idx_exams_date_start", "idx_exams_course"),
+            "exam_reserved_labs", List.of("idx_exam_reserved_labs_laboratory"),
+            "student_exam_registrations", List.of("idx_student_exam_registrations_student"),
+            "password_reset_tokens", List.of("idx_password_reset_tokens_user"),
+            "import_job_errors", List.of("idx_import_job_errors_job"),
+            "exam_waitlist_entries", List.of("idx_exam_waitlist_entries_queue", "idx_exam_waitlist_entries_student")
+    );
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    public RequiredIndexVerifier(DataSource dataSource,
+                                 @Value("${schema.required-indexes.verify:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<String>> table : REQUIRED_INDEXES.entrySet()) {
+                Set<String> present = indexNames(connection, metaData, table.getKey());
+                for (String index : table.getValue()) {
+                    if (!present.contains(index)) {
+                        missing.add(table.getKey() + "." + index);
+                    }
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing indexes required by repository queries: " + missing
+                    + ". Apply the migrations in db/migration before starting the application.");
+        }
+    }
+
+    private static Set<String> indexNames(Connection connection, DatabaseMetaData metaData, String table) throws SQLException {
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Set<String> indexes = new HashSet<>();
+        try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), name, false, true)) {
+            while (rows.next()) {
+                String index = rows.getString("INDEX_NAME");
+                if (index != null) {
+                    indexes.add(index.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+}
@@ -1,5 +1,7 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.config.security;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.web.filters.AuthRateLimitFilter;
+import mk.ukim.finki.emc.academic_assessment_system_backend.web.filters.IdempotencyFilter;
 import mk.ukim.finki.emc.academic_assessment_system_backend.web.filters.JwtFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,9 +30,13 @@ import java.util.List;
 public class JwtSecurityWebConfig {
 
     private final JwtFilter jwtFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
+    private final IdempotencyFilter idempotencyFilter;
 
-    public JwtSecurityWebConfig(JwtFilter jwtFilter) {
+    public JwtSecurityWebConfig(JwtFilter jwtFilter, AuthRateLimitFilter authRateLimitFilter, IdempotencyFilter idempotencyFilter) {
         this.jwtFilter = jwtFilter;
+        this.authRateLimitFilter = authRateLimitFilter;
+        this.idempotencyFilter = idempotencyFilter;
     }
 
     @Bean
@@ -72,6 +78,7 @@ public class JwtSecurityWebConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/h2/**").permitAll()
+                        .requestMatchers("/error").permitAll()
                         .requestMatchers(HttpMethod.POST,
                                 "/api/users/register",
                                 "/api/users/login",
@@ -84,10 +91,12 @@ public class JwtSecurityWebConfig {
                         ).permitAll()
                         .requestMatchers("/api/courses", "/api/exams", "/api/students", "/api/users")
                         .permitAll()
-                        .requestMatchers("/api/courses/**", "/api/exams/**", "/api/students/**", "/api/users/**")
+                        .requestMatchers("/api/courses/**", "/api/exams/**", "/api/students/**", "/api/users/**", "/api/imports/**")
                         .hasAnyRole("ADMINISTRATOR", "STAFF", "STUDENT")
                 )
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(authRateLimitFilter, JwtFilter.class)
+                .addFilterAfter(idempotencyFilter, JwtFilter.class);
 
         return http.build();
     }
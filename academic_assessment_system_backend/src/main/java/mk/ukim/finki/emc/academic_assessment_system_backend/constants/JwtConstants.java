@@ -5,4 +5,7 @@ public class JwtConstants {
     public static final Long EXPIRATION_TIME = 864000000L;
     public static final String HEADER = "Authorization";
     public static final String TOKEN_PREFIX = "Bearer ";
+    public static final String DEFAULT_KEY_ID = "default";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
 }
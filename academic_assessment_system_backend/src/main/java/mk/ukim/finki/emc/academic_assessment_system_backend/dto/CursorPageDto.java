@@ -0,0 +1,9 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.dto;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,14 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record ImportChunkResultDto(
+        Map<String, Integer> counters,
+        List<ImportRowErrorDto> errors
+) {
+
+    public static ImportChunkResultDto of(Map<String, Integer> counters) {
+        return new ImportChunkResultDto(counters, List.of());
+    }
+}
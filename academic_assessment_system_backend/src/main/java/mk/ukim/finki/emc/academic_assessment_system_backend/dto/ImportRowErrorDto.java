@@ -0,0 +1,8 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.dto;
+
+public record ImportRowErrorDto(
+        long row,
+        String key,
+        String error
+) {
+}
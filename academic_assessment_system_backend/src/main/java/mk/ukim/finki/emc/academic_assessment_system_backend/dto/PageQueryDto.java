@@ -0,0 +1,15 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record PageQueryDto(
+        @Schema(description = "Sort fields in priority order; prefix a field with '-' for descending order", example = "-academicYear")
+        List<String> sort,
+        @Schema(description = "Opaque cursor returned as nextCursor by the previous page")
+        String cursor,
+        @Schema(description = "Page size, capped by the server", example = "50")
+        Integer limit
+) {
+}
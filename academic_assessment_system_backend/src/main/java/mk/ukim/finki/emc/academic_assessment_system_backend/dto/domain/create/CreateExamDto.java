@@ -55,7 +55,7 @@ public record CreateExamDto(
                 exam.getDateOfExam(),
                 exam.getCapacityOfStudents(),
                 exam.getCourse(),
-                exam.getReservedLaboratories(),
+                List.copyOf(exam.getReservedLaboratories()),
                 exam.getStartTime(),
                 exam.getEndTime()
         );
@@ -24,7 +24,7 @@ public record DisplayExamDto(
                 exam.getDateOfExam(),
                 exam.getCapacityOfStudents(),
                 DisplayCourseDto.from(exam.getCourse()),
-                exam.getReservedLaboratories(),
+                List.copyOf(exam.getReservedLaboratories()),
                 exam.getStartTime(),
                 exam.getEndTime()
         );
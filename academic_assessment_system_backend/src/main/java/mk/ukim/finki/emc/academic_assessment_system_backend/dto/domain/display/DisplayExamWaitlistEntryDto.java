@@ -0,0 +1,30 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ExamWaitlistEntry;
+
+import java.time.LocalDateTime;
+
+public record DisplayExamWaitlistEntryDto(
+        Long id,
+        Long studentId,
+        Long examId,
+        int position,
+        int waiting,
+        LocalDateTime joinedAt
+) {
+
+    public static DisplayExamWaitlistEntryDto from(
+            ExamWaitlistEntry entry,
+            int position,
+            int waiting
+    ) {
+        return new DisplayExamWaitlistEntryDto(
+                entry.getId(),
+                entry.getStudent().getId(),
+                entry.getExam().getId(),
+                position,
+                waiting,
+                entry.getJoinedAt()
+        );
+    }
+}
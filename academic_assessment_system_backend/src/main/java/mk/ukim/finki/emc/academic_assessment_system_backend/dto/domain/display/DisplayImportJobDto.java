@@ -0,0 +1,59 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportRowErrorDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ImportJob;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ImportJobError;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobStatus;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public record DisplayImportJobDto(
+        Long id,
+        ImportJobType type,
+        Long targetId,
+        ImportJobStatus status,
+        long rowsProcessed,
+        long rowsFailed,
+        double rowsPerSecond,
+        Map<String, Long> counters,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String failureMessage,
+        List<ImportRowErrorDto> errors
+) {
+
+    public static DisplayImportJobDto from(ImportJob job, List<ImportJobError> errors) {
+        return new DisplayImportJobDto(
+                job.getId(),
+                job.getType(),
+                job.getTargetId(),
+                job.getStatus(),
+                job.getRowsProcessed(),
+                job.getRowsFailed(),
+                rowsPerSecond(job),
+                new TreeMap<>(job.getCounters()),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getFailureMessage(),
+                errors.stream()
+                        .map(e -> new ImportRowErrorDto(e.getRowNumber(), e.getRowKey(), e.getMessage()))
+                        .toList()
+        );
+    }
+
+    private static double rowsPerSecond(ImportJob job) {
+        if (job.getStartedAt() == null) {
+            return 0d;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        long millis = Math.max(1L, Duration.between(job.getStartedAt(), end).toMillis());
+        return job.getRowsProcessed() * 1000d / millis;
+    }
+}
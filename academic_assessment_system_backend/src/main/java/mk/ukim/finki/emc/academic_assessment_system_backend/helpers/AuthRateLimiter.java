@@ -0,0 +1,83 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.exceptions.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the unauthenticated endpoints that do expensive work (BCrypt, reset token rows),
+ * once per client address and once per target email.
+ */
+@Component
+public class AuthRateLimiter {
+
+    public static final String LOGIN = "login";
+    public static final String PASSWORD_RESET = "password-reset";
+
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter emailLimiter;
+    private final boolean enabled;
+    private final long idleNanos;
+
+    private final Counter ipRejections;
+    private final Counter emailRejections;
+
+    public AuthRateLimiter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.ip.capacity:20}") int ipCapacity,
+                           @Value("${rate-limit.ip.refill-per-minute:20}") double ipRefillPerMinute,
+                           @Value("${rate-limit.email.capacity:5}") int emailCapacity,
+                           @Value("${rate-limit.email.refill-per-minute:5}") double emailRefillPerMinute,
+                           @Value("${rate-limit.stripes:64}") int stripes,
+                           @Value("${rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${rate-limit.idle-eviction-ms:600000}") long idleEvictionMillis,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPerMinute, stripes, maxKeys);
+        this.emailLimiter = new TokenBucketRateLimiter(emailCapacity, emailRefillPerMinute, stripes, maxKeys);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMillis);
+
+        this.ipRejections = Counter.builder("auth.rate.limit.rejected").tag("key", "ip").register(meterRegistry);
+        this.emailRejections = Counter.builder("auth.rate.limit.rejected").tag("key", "email").register(meterRegistry);
+        Gauge.builder("auth.rate.limit.buckets", ipLimiter, TokenBucketRateLimiter::size).tag("key", "ip").register(meterRegistry);
+        Gauge.builder("auth.rate.limit.buckets", emailLimiter, TokenBucketRateLimiter::size).tag("key", "email").register(meterRegistry);
+    }
+
+    public void checkIp(String endpoint, String remoteAddress) {
+        if (!enabled || remoteAddress == null) {
+            return;
+        }
+        long waitNanos = ipLimiter.tryAcquire(endpoint + '|' + remoteAddress);
+        if (waitNanos > 0) {
+            ipRejections.increment();
+            throw new RateLimitExceededException(toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    public void checkEmail(String endpoint, String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        long waitNanos = emailLimiter.tryAcquire(endpoint + '|' + email.trim().toLowerCase(Locale.ROOT));
+        if (waitNanos > 0) {
+            emailRejections.increment();
+            throw new RateLimitExceededException(toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.idle-eviction-ms:600000}")
+    public void evictIdleBuckets() {
+        ipLimiter.evictIdle(idleNanos);
+        emailLimiter.evictIdle(idleNanos);
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
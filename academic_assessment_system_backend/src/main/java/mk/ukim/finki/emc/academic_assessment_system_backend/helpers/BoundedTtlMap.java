@@ -0,0 +1,97 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent map whose entries expire at a given instant and whose size is capped. Expired entries are dropped
+ * when they are read and when the map is full; if it is still full after that, roughly a tenth of the capacity is
+ * dropped in iteration order. Both drops are counted as evictions.
+ */
+public class BoundedTtlMap<K, V> {
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LongAdder evictions = new LongAdder();
+    private final int maxEntries;
+
+    public BoundedTtlMap(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The live value under the key, or null when there is none or it has expired.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            return null;
+        }
+        return entry.value();
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (entries.size() >= maxEntries) {
+            evict(System.currentTimeMillis());
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    public void removeIf(Predicate<V> predicate) {
+        entries.values().removeIf(entry -> predicate.test(entry.value()));
+    }
+
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAtMillis() <= now) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private void evict(long now) {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().expiresAtMillis() <= now) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+
+        // Still full after dropping expired entries: make room for roughly a tenth of the capacity.
+        int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        it = entries.entrySet().iterator();
+        while (toRemove > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+            toRemove--;
+        }
+    }
+}
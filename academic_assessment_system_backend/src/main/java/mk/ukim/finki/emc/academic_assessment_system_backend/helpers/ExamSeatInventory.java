@@ -0,0 +1,393 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamSeatRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.StudentExamRegistrationRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.StudentRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Optional in-memory seat inventory for registration bursts, enabled with
+ * {@code registration.seat-inventory.enabled=true}. Each exam touched since startup keeps a striped seat
+ * counter and the set of registered students, loaded once from the database, so a registration is decided
+ * without a database round trip or a row lock. Accepted registrations are appended to a local journal and
+ * written to {@code student_exam_registrations} in batches by a background flush; the journal is replayed on
+ * startup, so a crash between the answer and the flush loses nothing.
+ * <p>
+ * The journal reaches the OS on every append, which survives a process crash, and the disk on every flush,
+ * which also survives losing the machine. Changes made outside this class, such as deletes and capacity
+ * updates, are applied to the loaded exams once their transaction commits.
+ * <p>
+ * The inventory is meant for a single instance: it cannot see seats taken on other instances. The flush claims
+ * seats under the exam's row lock and never writes more registrations than the exam has room for. Reservations
+ * that do not fit are dropped (counted in {@code seat.inventory.dropped}) even though the student was already
+ * told they were registered, and the exam is reloaded from the database.
+ */
+@Component
+public class ExamSeatInventory implements SmartInitializingSingleton, DisposableBean {
+
+    public enum Reservation {
+        RESERVED, ALREADY_REGISTERED, FULL, EXAM_NOT_FOUND
+    }
+
+    private record Batch(Path segment, List<SeatReservationJournal.Entry> entries) {
+    }
+
+    private final Map<Long, ExamSeats> exams = new ConcurrentHashMap<>();
+    private final Object appendLock = new Object();
+    private List<SeatReservationJournal.Entry> pending = new ArrayList<>();
+    private final Deque<Batch> unflushed = new ArrayDeque<>();
+    private SeatReservationJournal journal;
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private final boolean enabled;
+    private final Path journalDirectory;
+    private final int stripes;
+    private final ExamSeatRepository examSeatRepository;
+    private final StudentExamRegistrationRepository studentExamRegistrationRepository;
+    private final StudentRepository studentRepository;
+    private final ExamRepository examRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExamSeatInventory(@Value("${registration.seat-inventory.enabled:false}") boolean enabled,
+                             @Value("${registration.seat-inventory.journal-dir:seat-journal}") Path journalDirectory,
+                             @Value("${registration.seat-inventory.stripes:8}") int stripes,
+                             ExamSeatRepository examSeatRepository,
+                             StudentExamRegistrationRepository studentExamRegistrationRepository,
+                             StudentRepository studentRepository,
+                             ExamRepository examRepository,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.journalDirectory = journalDirectory;
+        this.stripes = stripes;
+        this.examSeatRepository = examSeatRepository;
+        this.studentExamRegistrationRepository = studentExamRegistrationRepository;
+        this.studentRepository = studentRepository;
+        this.examRepository = examRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        Gauge.builder("seat.inventory.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+        FunctionCounter.builder("seat.inventory.flushed", flushed, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("seat.inventory.dropped", dropped, LongAdder::sum).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Runs before the web server starts, so no registration is answered before the journal is replayed.
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        journal = new SeatReservationJournal(journalDirectory);
+        replay();
+        journal.rotate();
+    }
+
+    /**
+     * Takes a seat for a registration that will be written behind.
+     */
+    public Reservation reserve(Long examId, Long studentId) {
+        ExamSeats seats = exams.computeIfAbsent(examId, this::load);
+        if (seats == null) {
+            return Reservation.EXAM_NOT_FOUND;
+        }
+        Reservation reservation = seats.reserve(studentId);
+        if (reservation == Reservation.RESERVED) {
+            try {
+                synchronized (appendLock) {
+                    journal.append(examId, studentId);
+                    pending.add(new SeatReservationJournal.Entry(examId, studentId));
+                }
+            } catch (RuntimeException e) {
+                seats.release(studentId);
+                throw e;
+            }
+            pendingCount.incrementAndGet();
+        }
+        return reservation;
+    }
+
+    /**
+     * Takes a seat for a registration the caller inserts itself, in the current transaction; the seat is
+     * given back if that transaction does not commit.
+     */
+    public Reservation claim(Long examId, Long studentId) {
+        ExamSeats seats = exams.computeIfAbsent(examId, this::load);
+        if (seats == null) {
+            return Reservation.EXAM_NOT_FOUND;
+        }
+        Reservation reservation = seats.reserve(studentId);
+        if (reservation == Reservation.RESERVED && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        seats.release(studentId);
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    public void releaseAfterCommit(Long examId, Long studentId) {
+        afterCommit(() -> {
+            ExamSeats seats = exams.get(examId);
+            if (seats != null) {
+                seats.release(studentId);
+            }
+        });
+    }
+
+    public void replaceAfterCommit(Long examId, Long previousStudentId, Long studentId) {
+        afterCommit(() -> {
+            ExamSeats seats = exams.get(examId);
+            if (seats != null) {
+                seats.replace(previousStudentId, studentId);
+            }
+        });
+    }
+
+    public void capacityChangedAfterCommit(Long examId, int capacity) {
+        afterCommit(() -> {
+            ExamSeats seats = exams.get(examId);
+            if (seats != null) {
+                seats.changeCapacity(capacity);
+            }
+        });
+    }
+
+    public void forgetAfterCommit(Long examId) {
+        afterCommit(() -> exams.remove(examId));
+    }
+
+    /**
+     * Writes every accepted registration to the database. Batches that fail because the database is
+     * unavailable stay queued, with their journal segment, and are retried in order on the next run.
+     */
+    @Scheduled(fixedDelayString = "${registration.seat-inventory.flush-interval-ms:200}")
+    public synchronized void flush() {
+        if (!enabled || journal == null) {
+            return;
+        }
+        synchronized (appendLock) {
+            if (!pending.isEmpty()) {
+                unflushed.addLast(new Batch(journal.rotate(), pending));
+                pending = new ArrayList<>();
+            }
+        }
+        while (!unflushed.isEmpty()) {
+            Batch batch = unflushed.peekFirst();
+            List<SeatReservationJournal.Entry> surplus = write(batch.entries());
+            if (surplus == null) {
+                return;
+            }
+            synchronized (appendLock) {
+                unflushed.removeFirst();
+            }
+            journal.delete(batch.segment());
+            pendingCount.addAndGet(-batch.entries().size());
+            // Only now, with the batch out of the queue, does a reload count exactly what is stored or pending.
+            surplus.stream().map(SeatReservationJournal.Entry::examId).distinct().forEach(this::reload);
+        }
+    }
+
+    /**
+     * Drops the loaded state of an exam, so the next registration reads it again from the database and the
+     * journal entries not written yet.
+     */
+    public void reload(Long examId) {
+        exams.remove(examId);
+    }
+
+    @Override
+    public void destroy() {
+        if (enabled && journal != null) {
+            flush();
+            journal.close();
+        }
+    }
+
+    void replay() {
+        for (Path segment : journal.segments()) {
+            List<SeatReservationJournal.Entry> entries = transactionTemplate.execute(status ->
+                    SeatReservationJournal.read(segment).stream()
+                            .filter(entry -> !studentExamRegistrationRepository.existsByStudentIdAndExamId(entry.studentId(), entry.examId()))
+                            .toList());
+            if (!entries.isEmpty() && write(entries) == null) {
+                throw new IllegalStateException("Cannot replay seat journal segment " + segment);
+            }
+            journal.delete(segment);
+        }
+    }
+
+    // Returns the entries that found no free seat, or null when the database is unavailable.
+    private List<SeatReservationJournal.Entry> write(List<SeatReservationJournal.Entry> entries) {
+        try {
+            List<SeatReservationJournal.Entry> surplus = transactionTemplate.execute(status -> insert(entries));
+            flushed.add(entries.size() - surplus.size());
+            dropped.add(surplus.size());
+            return surplus;
+        } catch (DataIntegrityViolationException e) {
+            // A student or exam was deleted after its seat was taken; write the others one at a time.
+            List<SeatReservationJournal.Entry> surplus = new ArrayList<>();
+            for (SeatReservationJournal.Entry entry : entries) {
+                try {
+                    List<SeatReservationJournal.Entry> rejected = transactionTemplate.execute(status -> insert(List.of(entry)));
+                    if (rejected.isEmpty()) {
+                        flushed.increment();
+                    } else {
+                        surplus.addAll(rejected);
+                        dropped.increment();
+                    }
+                } catch (DataIntegrityViolationException rejected) {
+                    dropped.increment();
+                } catch (DataAccessException unavailable) {
+                    return null;
+                }
+            }
+            return surplus;
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    // Seats are claimed per exam in journal order, so when an exam is overbooked the latest reservations lose.
+    private List<SeatReservationJournal.Entry> insert(List<SeatReservationJournal.Entry> entries) {
+        List<SeatReservationJournal.Entry> accepted = new ArrayList<>(entries.size());
+        List<SeatReservationJournal.Entry> surplus = new ArrayList<>();
+        entries.stream()
+                .collect(Collectors.groupingBy(SeatReservationJournal.Entry::examId, LinkedHashMap::new, Collectors.toList()))
+                .forEach((examId, examEntries) -> {
+                    int claimed = examSeatRepository.claimFreeSeats(examId, examEntries.size());
+                    accepted.addAll(examEntries.subList(0, claimed));
+                    surplus.addAll(examEntries.subList(claimed, examEntries.size()));
+                });
+        studentExamRegistrationRepository.saveAllAndFlush(accepted.stream()
+                .map(entry -> new StudentExamRegistration(
+                        studentRepository.getReferenceById(entry.studentId()),
+                        examRepository.getReferenceById(entry.examId())))
+                .toList());
+        return surplus;
+    }
+
+    private ExamSeats load(Long examId) {
+        return examSeatRepository.findCapacity(examId)
+                .map(capacity -> {
+                    Set<Long> students = ConcurrentHashMap.newKeySet();
+                    students.addAll(examSeatRepository.findRegisteredStudentIds(examId));
+                    synchronized (appendLock) {
+                        unflushed.forEach(batch -> addStudents(batch.entries(), examId, students));
+                        addStudents(pending, examId, students);
+                    }
+                    return new ExamSeats(capacity, students, stripes);
+                })
+                .orElse(null);
+    }
+
+    private static void addStudents(List<SeatReservationJournal.Entry> entries, long examId, Set<Long> students) {
+        for (SeatReservationJournal.Entry entry : entries) {
+            if (entry.examId() == examId) {
+                students.add(entry.studentId());
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class ExamSeats {
+
+        private final StripedSeatCounter seats;
+        private final Set<Long> students;
+        private int capacity;
+
+        ExamSeats(int capacity, Set<Long> students, int stripes) {
+            this.capacity = capacity;
+            this.students = students;
+            this.seats = new StripedSeatCounter(capacity, stripes);
+            seats.remove(students.size());
+        }
+
+        Reservation reserve(Long studentId) {
+            if (students.contains(studentId)) {
+                return Reservation.ALREADY_REGISTERED;
+            }
+            if (!seats.tryAcquire()) {
+                return students.contains(studentId) ? Reservation.ALREADY_REGISTERED : Reservation.FULL;
+            }
+            if (!students.add(studentId)) {
+                seats.release();
+                return Reservation.ALREADY_REGISTERED;
+            }
+            return Reservation.RESERVED;
+        }
+
+        void release(Long studentId) {
+            if (students.remove(studentId)) {
+                seats.release();
+            }
+        }
+
+        void replace(Long previousStudentId, Long studentId) {
+            if (students.remove(previousStudentId) && !students.add(studentId)) {
+                seats.release();
+            }
+        }
+
+        synchronized void changeCapacity(int newCapacity) {
+            if (newCapacity > capacity) {
+                seats.add(newCapacity - capacity);
+            } else {
+                seats.remove(capacity - newCapacity);
+            }
+            capacity = newCapacity;
+        }
+    }
+}
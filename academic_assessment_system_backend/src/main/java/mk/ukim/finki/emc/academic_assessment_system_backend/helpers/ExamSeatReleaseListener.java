@@ -0,0 +1,33 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import jakarta.persistence.PostRemove;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamSeatRepository;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Gives the seat back whenever a registration row is deleted, including the cascades from deleting a
+ * student, a user or the exam itself, so {@code exams.registered_count} follows every removal path, and
+ * hands the freed seat to the exam's waitlist.
+ */
+public class ExamSeatReleaseListener {
+
+    private final ExamSeatRepository examSeatRepository;
+    // Looked up lazily: listeners are built with the entity manager factory the inventory depends on.
+    private final ObjectProvider<ExamSeatInventory> examSeatInventory;
+    private final ObjectProvider<ExamWaitlistIndex> examWaitlistIndex;
+
+    public ExamSeatReleaseListener(ExamSeatRepository examSeatRepository, ObjectProvider<ExamSeatInventory> examSeatInventory, ObjectProvider<ExamWaitlistIndex> examWaitlistIndex) {
+        this.examSeatRepository = examSeatRepository;
+        this.examSeatInventory = examSeatInventory;
+        this.examWaitlistIndex = examWaitlistIndex;
+    }
+
+    @PostRemove
+    public void releaseSeat(StudentExamRegistration registration) {
+        Long examId = registration.getExam().getId();
+        examSeatRepository.releaseSeat(examId);
+        examSeatInventory.getObject().releaseAfterCommit(examId, registration.getStudent().getId());
+        examWaitlistIndex.getObject().requestPromotionAfterCommit(examId);
+    }
+}
@@ -0,0 +1,206 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamWaitlistEntryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of every exam's waitlist, loaded from the database the first time an exam is asked about.
+ * A line keeps its entry ids in arrival order with a Fenwick tree over them, so a student's place in line
+ * is a prefix sum in O(log n) instead of a count query on every poll, and leaving the line is a point update.
+ * <p>
+ * Joins and departures are applied once their transaction commits. It also collects the exams whose seats
+ * may have opened up, for {@link ExamWaitlistPromoter}.
+ * <p>
+ * The index is per instance. Joins, departures and promotion requests made on another instance do not reach
+ * it until the line is loaded again, so with several instances a position can be off and the check that keeps
+ * newcomers behind the line can miss a student who joined elsewhere. Promotions themselves always work from
+ * the database.
+ */
+@Component
+public class ExamWaitlistIndex {
+
+    private final Map<Long, WaitingLine> lines = new ConcurrentHashMap<>();
+    private final Set<Long> promotionRequests = ConcurrentHashMap.newKeySet();
+
+    private final ExamWaitlistEntryRepository examWaitlistEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExamWaitlistIndex(ExamWaitlistEntryRepository examWaitlistEntryRepository, TransactionTemplate transactionTemplate) {
+        this.examWaitlistEntryRepository = examWaitlistEntryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public boolean hasWaitingStudents(Long examId) {
+        return line(examId).waiting() > 0;
+    }
+
+    /**
+     * One-based place of the entry in its exam's line, or 0 when it is not waiting.
+     */
+    public int position(Long examId, Long entryId) {
+        return line(examId).position(entryId);
+    }
+
+    public int waiting(Long examId) {
+        return line(examId).waiting();
+    }
+
+    // Both updates go through compute, which waits for a load of the same exam that is still running. A load
+    // that read the line before this transaction committed is then corrected here instead of missing the change.
+    public void joinedAfterCommit(Long examId, Long entryId) {
+        // Ids are taken in order but may commit out of order; reload rather than insert mid-line.
+        afterCommit(() -> lines.computeIfPresent(examId, (id, line) -> line.append(entryId) ? line : null));
+    }
+
+    public void leftAfterCommit(Long examId, Collection<Long> entryIds) {
+        afterCommit(() -> lines.computeIfPresent(examId, (id, line) -> {
+            entryIds.forEach(line::remove);
+            return line;
+        }));
+    }
+
+    public void forgetAfterCommit(Long examId) {
+        afterCommit(() -> {
+            lines.remove(examId);
+            promotionRequests.remove(examId);
+        });
+    }
+
+    public void requestPromotionAfterCommit(Long examId) {
+        afterCommit(() -> promotionRequests.add(examId));
+    }
+
+    public void requestPromotion(Long examId) {
+        promotionRequests.add(examId);
+    }
+
+    public List<Long> drainPromotionRequests() {
+        List<Long> examIds = new ArrayList<>();
+        for (Long examId : promotionRequests) {
+            if (promotionRequests.remove(examId)) {
+                examIds.add(examId);
+            }
+        }
+        return examIds;
+    }
+
+    // Read inside a read-write transaction so the line comes from the primary, not a lagging replica. The load
+    // runs inside computeIfAbsent, so updates to the same exam wait for it (see joinedAfterCommit).
+    private WaitingLine line(Long examId) {
+        return lines.computeIfAbsent(examId, id ->
+                new WaitingLine(transactionTemplate.execute(status -> examWaitlistEntryRepository.findIdsByExamId(id))));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class WaitingLine {
+
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private long[] ids;
+        // Fenwick tree over the slots, 1-based: a slot counts 1 while its entry is still waiting.
+        private int[] tree;
+        private int slots;
+
+        WaitingLine(List<Long> entryIds) {
+            rebuild(entryIds);
+        }
+
+        synchronized boolean append(Long entryId) {
+            if (slotById.containsKey(entryId)) {
+                return true;
+            }
+            if (slots > 0 && entryId < ids[slots - 1]) {
+                return false;
+            }
+            if (slots == ids.length) {
+                rebuild(waitingIds());
+            }
+            ids[slots] = entryId;
+            slotById.put(entryId, slots);
+            add(slots, 1);
+            slots++;
+            return true;
+        }
+
+        synchronized void remove(Long entryId) {
+            Integer slot = slotById.remove(entryId);
+            if (slot != null) {
+                add(slot, -1);
+            }
+        }
+
+        synchronized int position(Long entryId) {
+            Integer slot = slotById.get(entryId);
+            if (slot == null) {
+                return 0;
+            }
+            int position = 0;
+            for (int i = slot + 1; i > 0; i -= i & -i) {
+                position += tree[i];
+            }
+            return position;
+        }
+
+        synchronized int waiting() {
+            return slotById.size();
+        }
+
+        private List<Long> waitingIds() {
+            List<Long> waiting = new ArrayList<>(slotById.size());
+            for (int slot = 0; slot < slots; slot++) {
+                if (slotById.containsKey(ids[slot])) {
+                    waiting.add(ids[slot]);
+                }
+            }
+            return waiting;
+        }
+
+        // Drops the slots of entries that left and leaves room to grow; the tree is built bottom-up in O(n).
+        private void rebuild(List<Long> waiting) {
+            int capacity = Math.max(16, waiting.size() * 2);
+            ids = new long[capacity];
+            tree = new int[capacity + 1];
+            slotById.clear();
+            slots = waiting.size();
+            for (int slot = 0; slot < slots; slot++) {
+                ids[slot] = waiting.get(slot);
+                slotById.put(ids[slot], slot);
+                tree[slot + 1]++;
+            }
+            for (int i = 1; i <= capacity; i++) {
+                int parent = i + (i & -i);
+                if (parent <= capacity) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+        private void add(int slot, int delta) {
+            for (int i = slot + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+    }
+}
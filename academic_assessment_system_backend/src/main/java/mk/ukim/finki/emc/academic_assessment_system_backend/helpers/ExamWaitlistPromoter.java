@@ -0,0 +1,51 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.exceptions.ExamFullException;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamWaitlistService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills seats that open up on an exam with the students waiting for it, in the order they joined. Exams are
+ * queued by {@link ExamWaitlistIndex} when a registration is deleted, the capacity changes or a student joins,
+ * and each one is drained in batches, one transaction per batch.
+ */
+@Component
+public class ExamWaitlistPromoter {
+
+    private final ExamWaitlistService examWaitlistService;
+    private final ExamWaitlistIndex examWaitlistIndex;
+    private final int batchSize;
+    private boolean recovered;
+
+    public ExamWaitlistPromoter(ExamWaitlistService examWaitlistService,
+                                ExamWaitlistIndex examWaitlistIndex,
+                                @Value("${waitlist.promotion-batch-size:50}") int batchSize) {
+        this.examWaitlistService = examWaitlistService;
+        this.examWaitlistIndex = examWaitlistIndex;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${waitlist.promotion-interval-ms:500}")
+    public synchronized void promote() {
+        // Requests live in memory, so after a restart every exam with a line is checked once.
+        if (!recovered) {
+            examWaitlistService.findExamIdsWithWaitingStudents().forEach(examWaitlistIndex::requestPromotion);
+            recovered = true;
+        }
+        for (Long examId : examWaitlistIndex.drainPromotionRequests()) {
+            try {
+                while (examWaitlistService.promoteNextBatch(examId, batchSize) == batchSize) {
+                    // Keep going while whole batches fit.
+                }
+            } catch (ExamFullException e) {
+                // A seat was taken between the count and the claim; the rest of the line waits for the next run.
+                examWaitlistIndex.requestPromotion(examId);
+            } catch (RuntimeException e) {
+                // The batch rolled back as a whole; try the exam again on the next run.
+                examWaitlistIndex.requestPromotion(examId);
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Responses of requests sent with an {@code Idempotency-Key}, so a retried request is answered with the
+ * original response instead of running again. Completed responses are kept in a bounded in-memory cache
+ * until their TTL runs out. A duplicate that arrives while the first request is still running waits for
+ * its result.
+ * <p>
+ * With {@code idempotency.persistence.enabled=true} every key is also claimed with a row in
+ * {@code idempotency_records}, which extends the guarantee across instances and restarts. A duplicate
+ * whose original is running on another instance cannot wait on it and is told to retry.
+ */
+@Component
+public class IdempotencyStore {
+
+    public enum Outcome {
+        EXECUTE, REPLAY, MISMATCH, IN_PROGRESS
+    }
+
+    public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+    }
+
+    public record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<StoredResponse> result) {
+    }
+
+    private final BoundedTtlMap<String, StoredResponse> entries;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder replays = new LongAdder();
+
+    private final long ttlMillis;
+    private final long inFlightTimeoutMillis;
+    private final boolean persistent;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    public IdempotencyStore(@Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+                            @Value("${idempotency.in-flight-timeout-ms:30000}") long inFlightTimeoutMillis,
+                            @Value("${idempotency.persistence.enabled:false}") boolean persistent,
+                            IdempotencyRecordRepository idempotencyRecordRepository,
+                            MeterRegistry meterRegistry) {
+        this.entries = new BoundedTtlMap<>(maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.inFlightTimeoutMillis = inFlightTimeoutMillis;
+        this.persistent = persistent;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+
+        FunctionCounter.builder("idempotency.replays", replays, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("idempotency.evictions", entries, BoundedTtlMap::getEvictions).register(meterRegistry);
+        Gauge.builder("idempotency.cache.size", entries, BoundedTtlMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Decides what to do with a request. {@link Outcome#EXECUTE} makes the caller the owner of the key,
+     * and it must end the claim with {@link #complete} or {@link #abandon}.
+     */
+    public Claim claim(String key, String fingerprint) {
+        long deadline = System.currentTimeMillis() + inFlightTimeoutMillis;
+        while (true) {
+            StoredResponse stored = entries.get(key);
+            if (stored != null) {
+                return answer(stored, fingerprint);
+            }
+
+            InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+            InFlight running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                Claim claim;
+                try {
+                    // A request with this key may have completed between the lookup above and the claim.
+                    stored = entries.get(key);
+                    claim = stored != null ? answer(stored, fingerprint) : claimPersisted(key, fingerprint);
+                } catch (RuntimeException e) {
+                    inFlight.remove(key, mine);
+                    mine.result().complete(null);
+                    throw e;
+                }
+                if (claim.outcome() != Outcome.EXECUTE) {
+                    inFlight.remove(key, mine);
+                    mine.result().complete(claim.outcome() == Outcome.REPLAY ? claim.response() : null);
+                }
+                return claim;
+            }
+
+            if (!running.fingerprint().equals(fingerprint)) {
+                return new Claim(Outcome.MISMATCH, null);
+            }
+            // The result is read from the cache on the next pass; an abandoned claim is taken over.
+            if (!await(running, deadline)) {
+                return new Claim(Outcome.IN_PROGRESS, null);
+            }
+        }
+    }
+
+    public void complete(String key, StoredResponse response) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        if (persistent) {
+            try {
+                idempotencyRecordRepository.complete(key, response.status(), response.contentType(), response.body(),
+                        toDateTime(expiresAt));
+            } catch (DataAccessException e) {
+                // The request already ran; this instance still answers retries from memory.
+            }
+        }
+        entries.put(key, response, expiresAt);
+        InFlight running = inFlight.remove(key);
+        if (running != null) {
+            running.result().complete(response);
+        }
+    }
+
+    /**
+     * Releases the key without storing a response, so the next request with it runs again.
+     */
+    public void abandon(String key) {
+        if (persistent) {
+            try {
+                idempotencyRecordRepository.delete(key);
+            } catch (DataAccessException e) {
+                // The pending row's lease runs out on its own.
+            }
+        }
+        InFlight running = inFlight.remove(key);
+        if (running != null) {
+            running.result().complete(null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void removeExpired() {
+        entries.removeExpired();
+        if (persistent) {
+            idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+        }
+    }
+
+    private Claim answer(StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            return new Claim(Outcome.MISMATCH, null);
+        }
+        replays.increment();
+        return new Claim(Outcome.REPLAY, stored);
+    }
+
+    private Claim claimPersisted(String key, String fingerprint) {
+        if (!persistent) {
+            return new Claim(Outcome.EXECUTE, null);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lease = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(inFlightTimeoutMillis));
+        if (idempotencyRecordRepository.tryInsertPending(key, fingerprint, lease)) {
+            return new Claim(Outcome.EXECUTE, null);
+        }
+        Optional<IdempotencyRecordRepository.IdempotencyRecord> record = idempotencyRecordRepository.findByKey(key);
+        if (record.isEmpty() || !record.get().expiresAt().isAfter(now)) {
+            // Finished and cleaned up, or left behind by a crashed instance: one more attempt at the key.
+            idempotencyRecordRepository.deleteExpired(key, now);
+            return idempotencyRecordRepository.tryInsertPending(key, fingerprint, lease)
+                    ? new Claim(Outcome.EXECUTE, null)
+                    : new Claim(Outcome.IN_PROGRESS, null);
+        }
+        if (!record.get().fingerprint().equals(fingerprint)) {
+            return new Claim(Outcome.MISMATCH, null);
+        }
+        if (!record.get().isCompleted()) {
+            return new Claim(Outcome.IN_PROGRESS, null);
+        }
+        StoredResponse stored = new StoredResponse(fingerprint, record.get().statusCode(), record.get().contentType(),
+                record.get().body() == null ? new byte[0] : record.get().body());
+        entries.put(key, stored, record.get().expiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        return answer(stored, fingerprint);
+    }
+
+    private boolean await(InFlight running, long deadline) {
+        try {
+            running.result().get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
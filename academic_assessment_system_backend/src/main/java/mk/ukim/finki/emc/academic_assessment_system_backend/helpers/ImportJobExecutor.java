@@ -0,0 +1,302 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import jakarta.annotation.PreDestroy;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportChunkResultDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportRowErrorDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ImportJob;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ImportJobError;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobStatus;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ImportJobErrorRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ImportJobRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CsvImportHandler;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs spooled CSV imports on a small worker pool. Every chunk commits together with the job's
+ * checkpoint, so a job interrupted by a restart resumes after its last committed chunk.
+ * <p>
+ * A job is owned by the instance that spooled its file, and only the owner dispatches, runs and resumes it.
+ * The owner renews the lease of its unfinished jobs on every dispatch sweep and with every checkpoint. When
+ * a lease runs out because its owner is gone, an instance that can read the spool file takes the job over.
+ * This works with a spool directory shared by all instances, or with the same instance coming back up.
+ * Set {@code import-jobs.instance-id} to a stable value per instance to resume its jobs right after a
+ * restart instead of after the lease runs out.
+ */
+@Component
+public class ImportJobExecutor {
+
+    private static final List<ImportJobStatus> UNFINISHED = List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final Map<ImportJobType, CsvImportHandler> handlers = new EnumMap<>(ImportJobType.class);
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final int chunkSize;
+    private final int maxStoredErrors;
+    private final String instanceId;
+    private final long leaseMillis;
+
+    public ImportJobExecutor(ImportJobRepository importJobRepository,
+                             ImportJobErrorRepository importJobErrorRepository,
+                             List<CsvImportHandler> csvImportHandlers,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${import-jobs.workers:2}") int workers,
+                             @Value("${import-jobs.queue-capacity:100}") int queueCapacity,
+                             @Value("${import-jobs.chunk-size:500}") int chunkSize,
+                             @Value("${import-jobs.max-stored-errors:1000}") int maxStoredErrors,
+                             @Value("${import-jobs.instance-id:${random.uuid}}") String instanceId,
+                             @Value("${import-jobs.lease-ms:120000}") long leaseMillis) {
+        this.importJobRepository = importJobRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        for (CsvImportHandler handler : csvImportHandlers) {
+            handlers.put(handler.getImportJobType(), handler);
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxStoredErrors = maxStoredErrors;
+        this.instanceId = instanceId;
+        this.leaseMillis = leaseMillis;
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ImportThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public CsvImportHandler getHandler(ImportJobType type) {
+        CsvImportHandler handler = handlers.get(type);
+        if (handler == null) {
+            throw new IllegalStateException("No import handler for " + type);
+        }
+        return handler;
+    }
+
+    /**
+     * Makes this instance the owner of a new job, whose file it has just spooled.
+     */
+    public void takeOwnership(ImportJob job) {
+        job.setOwnerInstance(instanceId);
+        job.setLeaseExpiresAt(leaseDeadline());
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Hands the job to the pool. A saturated pool leaves the job QUEUED; the periodic sweep
+     * picks it up once a worker frees up.
+     */
+    public void dispatch(Long jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(jobId);
+        }
+    }
+
+    // Jobs left RUNNING by this instance were cut off when it stopped; jobs of other instances are theirs.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ImportJob job : importJobRepository.findAllByStatusAndOwnerInstanceOrderById(ImportJobStatus.RUNNING, instanceId)) {
+                job.setStatus(ImportJobStatus.QUEUED);
+            }
+        });
+        dispatchQueuedJobs();
+    }
+
+    @Scheduled(fixedDelayString = "${import-jobs.dispatch-interval-ms:30000}")
+    public void dispatchQueuedJobs() {
+        importJobRepository.renewLeases(instanceId, UNFINISHED, leaseDeadline());
+        adoptAbandonedJobs();
+        for (ImportJob job : importJobRepository.findAllByStatusAndOwnerInstanceOrderById(ImportJobStatus.QUEUED, instanceId)) {
+            dispatch(job.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void adoptAbandonedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ImportJob job : importJobRepository.findAllWithExpiredLease(UNFINISHED, now)) {
+            if (Files.isReadable(Path.of(job.getFilePath()))) {
+                importJobRepository.adopt(job.getId(), instanceId, ImportJobStatus.QUEUED, UNFINISHED, now, leaseDeadline());
+            }
+        }
+    }
+
+    private void run(Long jobId) {
+        ImportJob job = transactionTemplate.execute(status -> importJobRepository.findForUpdateById(jobId)
+                .filter(j -> j.getStatus() == ImportJobStatus.QUEUED && instanceId.equals(j.getOwnerInstance()))
+                .map(j -> {
+                    j.setStatus(ImportJobStatus.RUNNING);
+                    j.setLeaseExpiresAt(leaseDeadline());
+                    if (j.getStartedAt() == null) {
+                        j.setStartedAt(LocalDateTime.now());
+                    }
+                    return j;
+                })
+                .orElse(null));
+        if (job == null) {
+            return;
+        }
+
+        CsvImportHandler handler = getHandler(job.getType());
+        Path file = Path.of(job.getFilePath());
+        boolean finished = false;
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVParser parser = handler.getCsvFormat().parse(reader)) {
+
+            Iterator<CSVRecord> records = parser.iterator();
+            for (long skipped = 0; skipped < job.getRowsProcessed() && records.hasNext(); skipped++) {
+                records.next();
+            }
+
+            List<CSVRecord> chunk = new ArrayList<>(chunkSize);
+            while (records.hasNext()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // Shutting down: the job resumes from its checkpoint and still needs the file.
+                    return;
+                }
+                chunk.add(records.next());
+                if (chunk.size() == chunkSize) {
+                    commitChunk(job, handler, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(job, handler, chunk);
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                ImportChunkResultDto result = handler.completeImport(job.getTargetId());
+                ImportJob current = checkpoint(job.getId(), 0, result);
+                current.setStatus(ImportJobStatus.COMPLETED);
+                current.setFinishedAt(LocalDateTime.now());
+            });
+            finished = true;
+
+        } catch (LeaseLostException e) {
+            // Another instance has taken the job over and goes on from the last checkpoint with the same file.
+        } catch (Exception e) {
+            finished = true;
+            transactionTemplate.executeWithoutResult(status -> importJobRepository.findForUpdateById(jobId)
+                    .filter(current -> instanceId.equals(current.getOwnerInstance()))
+                    .ifPresent(current -> {
+                        current.setStatus(ImportJobStatus.FAILED);
+                        current.setFinishedAt(LocalDateTime.now());
+                        current.setFailureMessage(truncate(String.valueOf(e.getMessage()), 1000));
+                    }));
+        } finally {
+            if (finished) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private void commitChunk(ImportJob job, CsvImportHandler handler, List<CSVRecord> chunk) {
+        ImportJob current = transactionTemplate.execute(status -> {
+            ImportChunkResultDto result = handler.importChunk(job.getTargetId(), chunk);
+            return checkpoint(job.getId(), chunk.size(), result);
+        });
+        job.setRowsProcessed(current.getRowsProcessed());
+    }
+
+    // The row lock and the owner check keep a chunk from committing after another instance took the job over.
+    private ImportJob checkpoint(Long jobId, int recordsConsumed, ImportChunkResultDto result) {
+        ImportJob current = importJobRepository.findForUpdateById(jobId)
+                .orElseThrow(() -> new IllegalStateException("Import job " + jobId + " disappeared"));
+        if (!instanceId.equals(current.getOwnerInstance())) {
+            throw new LeaseLostException();
+        }
+        current.setLeaseExpiresAt(leaseDeadline());
+
+        current.setRowsProcessed(current.getRowsProcessed() + recordsConsumed);
+        current.setRowsFailed(current.getRowsFailed() + result.errors().size());
+        result.counters().forEach((name, value) -> current.getCounters().merge(name, (long) value, Long::sum));
+
+        long stored = importJobErrorRepository.countByJobId(jobId);
+        List<ImportJobError> errors = new ArrayList<>();
+        for (ImportRowErrorDto error : result.errors()) {
+            if (stored + errors.size() >= maxStoredErrors) {
+                break;
+            }
+            errors.add(new ImportJobError(jobId, error.row(), truncate(error.key(), 150), truncate(error.error(), 1000)));
+        }
+        importJobErrorRepository.saveAll(errors);
+
+        return importJobRepository.save(current);
+    }
+
+    private LocalDateTime leaseDeadline() {
+        return LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMillis));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+    }
+
+    private static class ImportThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "import-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
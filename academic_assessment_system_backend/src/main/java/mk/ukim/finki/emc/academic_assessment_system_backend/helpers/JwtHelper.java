@@ -1,11 +1,8 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.*;
 import mk.ukim.finki.emc.academic_assessment_system_backend.constants.JwtConstants;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -18,16 +15,28 @@ import java.util.function.Function;
 @Component
 public class JwtHelper {
 
-    private Key getSignIn() {
-        byte[] keyBytes = Decoders.BASE64.decode(JwtConstants.SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    private final JwtKeyRegistry jwtKeyRegistry;
+    private final JwtParser jwtParser;
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
+    public JwtHelper(JwtKeyRegistry jwtKeyRegistry) {
+        this.jwtKeyRegistry = jwtKeyRegistry;
+        this.jwtParser = Jwts
                 .parserBuilder()
-                .setSigningKey(getSignIn())
-                .build()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = jwtKeyRegistry.resolve(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    public Claims extractAllClaims(String token) {
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -58,7 +67,8 @@ public class JwtHelper {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expMs))
-                .signWith(getSignIn(), SignatureAlgorithm.HS256)
+                .setHeaderParam(JwsHeader.KEY_ID, jwtKeyRegistry.getActiveKeyId())
+                .signWith(jwtKeyRegistry.getActiveKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -68,7 +78,14 @@ public class JwtHelper {
 
     public String generateToken(String email, String role) {
         Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("role", role);
+        extraClaims.put(JwtConstants.ROLE_CLAIM, role);
+        return buildToken(extraClaims, email, JwtConstants.EXPIRATION_TIME);
+    }
+
+    public String generateToken(Long userId, String email, UserRole role) {
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put(JwtConstants.USER_ID_CLAIM, userId);
+        extraClaims.put(JwtConstants.ROLE_CLAIM, role.name());
         return buildToken(extraClaims, email, JwtConstants.EXPIRATION_TIME);
     }
 
@@ -79,6 +96,10 @@ public class JwtHelper {
     }
 
     public boolean isExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        try {
+            return extractExpiration(token).before(new Date());
+        } catch (ExpiredJwtException e) {
+            return true;
+        }
     }
 }
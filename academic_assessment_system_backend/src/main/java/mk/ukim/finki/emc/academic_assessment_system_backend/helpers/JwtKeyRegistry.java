@@ -0,0 +1,69 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import mk.ukim.finki.emc.academic_assessment_system_backend.constants.JwtConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HMAC signing keys indexed by {@code kid}, decoded once at startup.
+ * <p>
+ * Extra keys are configured as {@code jwt.signing-keys=kid1:base64Secret,kid2:base64Secret};
+ * the built-in {@link JwtConstants#SECRET_KEY} is always registered under
+ * {@link JwtConstants#DEFAULT_KEY_ID} and also verifies legacy tokens without a {@code kid} header.
+ */
+@Component
+public class JwtKeyRegistry {
+
+    private final Map<String, Key> keysById;
+    private final String activeKeyId;
+
+    public JwtKeyRegistry(@Value("${jwt.signing-keys:}") String signingKeys,
+                          @Value("${jwt.active-key-id:" + JwtConstants.DEFAULT_KEY_ID + "}") String activeKeyId) {
+        Map<String, Key> keys = new LinkedHashMap<>();
+        keys.put(JwtConstants.DEFAULT_KEY_ID, decode(JwtConstants.SECRET_KEY));
+
+        for (String entry : signingKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("Invalid jwt.signing-keys entry, expected kid:secret");
+            }
+            keys.put(entry.substring(0, separator).trim(), decode(entry.substring(separator + 1).trim()));
+        }
+
+        if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Unknown jwt.active-key-id: " + activeKeyId);
+        }
+
+        this.keysById = Collections.unmodifiableMap(keys);
+        this.activeKeyId = activeKeyId;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public Key getActiveKey() {
+        return keysById.get(activeKeyId);
+    }
+
+    public Key resolve(String keyId) {
+        if (keyId == null) {
+            return keysById.get(JwtConstants.DEFAULT_KEY_ID);
+        }
+        return keysById.get(keyId);
+    }
+
+    private static Key decode(String secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+}
@@ -0,0 +1,125 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of already verified JWT principals, keyed by a SHA-256 digest of the raw token.
+ * An entry lives until the token's {@code exp} or the configured max TTL, whichever comes first.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final BoundedTtlMap<String, JwtUserPrincipal> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final long maxTtlMillis;
+
+    public JwtPrincipalCache(@Value("${jwt.principal-cache.max-entries:10000}") int maxEntries,
+                             @Value("${jwt.principal-cache.max-ttl-ms:300000}") long maxTtlMillis,
+                             MeterRegistry meterRegistry) {
+        this.entries = new BoundedTtlMap<>(maxEntries);
+        this.maxTtlMillis = maxTtlMillis;
+
+        FunctionCounter.builder("jwt.principal.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("jwt.principal.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("jwt.principal.cache.evictions", entries, BoundedTtlMap::getEvictions).register(meterRegistry);
+        Gauge.builder("jwt.principal.cache.size", entries, BoundedTtlMap::size).register(meterRegistry);
+    }
+
+    public JwtUserPrincipal get(String token) {
+        JwtUserPrincipal principal = entries.get(digest(token));
+        if (principal == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return principal;
+    }
+
+    public void put(String token, JwtUserPrincipal principal, Date expiration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maxTtlMillis;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+
+        entries.put(digest(token), principal, expiresAt);
+    }
+
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        entries.removeIf(principal -> userId.equals(principal.id()));
+    }
+
+    /**
+     * Drops the user's entries once the surrounding transaction has finished. Invalidating before
+     * commit would let a request that reads the old row cache the stale principal again.
+     */
+    public void invalidateUserAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateUser(userId);
+                }
+            });
+        } else {
+            invalidateUser(userId);
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return entries.getEvictions();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import jakarta.annotation.PostConstruct;
+import mk.ukim.finki.emc.academic_assessment_system_backend.constants.JwtConstants;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.TokenRevocation;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.TokenRevocationRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of per-user "not-before" timestamps. Tokens issued before a user's
+ * not-before instant are treated as revoked. The Bloom filter answers the common
+ * "never revoked" case without touching the exact map.
+ */
+@Component
+public class JwtRevocationRegistry {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    private final Map<Long, Long> notBeforeByUserId = new ConcurrentHashMap<>();
+    private volatile LongBloomFilter bloomFilter = new LongBloomFilter(0);
+
+    public JwtRevocationRegistry(TokenRevocationRepository tokenRevocationRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:30000}", initialDelayString = "${jwt.revocation.refresh-ms:30000}")
+    public void rebuild() {
+        LocalDateTime horizon = LocalDateTime.now().minus(JwtConstants.EXPIRATION_TIME, ChronoUnit.MILLIS);
+        List<TokenRevocation> revocations = tokenRevocationRepository.findAllByNotBeforeAfter(horizon);
+
+        long horizonMillis = toMillis(horizon);
+        notBeforeByUserId.values().removeIf(notBefore -> notBefore <= horizonMillis);
+        for (TokenRevocation revocation : revocations) {
+            notBeforeByUserId.merge(revocation.getUserId(), toMillis(revocation.getNotBefore()), Math::max);
+        }
+
+        synchronized (this) {
+            LongBloomFilter rebuilt = new LongBloomFilter(notBeforeByUserId.size());
+            notBeforeByUserId.keySet().forEach(rebuilt::add);
+            bloomFilter = rebuilt;
+        }
+    }
+
+    public void revokeUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        // JWT iat is truncated to whole seconds, so a token issued earlier in this same second carries this second
+        // as its iat. The cut-off is rounded up to the next second to revoke it too; a token issued in the rest
+        // of this second is revoked as well, and its client has to sign in again.
+        LocalDateTime notBefore = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+
+        TokenRevocation revocation = tokenRevocationRepository.findByUserId(userId)
+                .orElseGet(() -> new TokenRevocation(userId, notBefore));
+        revocation.setNotBefore(notBefore);
+        tokenRevocationRepository.save(revocation);
+
+        // A revocation that rolls back with the change that caused it must not linger in memory.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, notBefore);
+                }
+            });
+        } else {
+            apply(userId, notBefore);
+        }
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (userId == null || !bloomFilter.mightContain(userId)) {
+            return false;
+        }
+
+        Long notBefore = notBeforeByUserId.get(userId);
+        if (notBefore == null) {
+            return false;
+        }
+
+        return issuedAt == null || issuedAt.getTime() < notBefore;
+    }
+
+    private void apply(Long userId, LocalDateTime notBefore) {
+        notBeforeByUserId.merge(userId, toMillis(notBefore), Math::max);
+        synchronized (this) {
+            bloomFilter.add(userId);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
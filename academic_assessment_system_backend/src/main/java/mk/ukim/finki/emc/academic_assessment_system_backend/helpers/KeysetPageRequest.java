@@ -0,0 +1,7 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+public record KeysetPageRequest(Sort sort, KeysetScrollPosition position, int limit) {
+}
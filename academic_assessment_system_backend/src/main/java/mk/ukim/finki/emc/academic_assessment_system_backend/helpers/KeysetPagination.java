@@ -0,0 +1,218 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns list query parameters into keyset scroll requests and windows back into cursor pages.
+ * The cursor is a Base64 encoding of the sort and the keys of the last returned row, so it only
+ * continues the listing it was issued for.
+ */
+@Component
+public class KeysetPagination {
+
+    private static final int CURSOR_VERSION = 1;
+    private static final String ID = "id";
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public KeysetPagination(@Value("${pagination.default-page-size:50}") int defaultPageSize,
+                            @Value("${pagination.max-page-size:500}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public KeysetPageRequest resolve(PageQueryDto query, SortAllowList allowList) {
+        int limit = resolveLimit(query.limit());
+        Sort requested = parseSort(query.sort(), allowList);
+
+        if (query.cursor() == null || query.cursor().isBlank()) {
+            return new KeysetPageRequest(requested == null ? allowList.defaultSort() : requested, ScrollPosition.keyset(), limit);
+        }
+
+        Cursor cursor = decode(query.cursor());
+        for (Sort.Order order : cursor.sort()) {
+            if (!allowList.fields().containsValue(order.getProperty()) || !cursor.keys().containsKey(order.getProperty())) {
+                throw invalidCursor();
+            }
+        }
+        for (Map.Entry<String, Object> key : cursor.keys().entrySet()) {
+            if (!ID.equals(key.getKey()) && cursor.sort().getOrderFor(key.getKey()) == null) {
+                throw invalidCursor();
+            }
+            // A forged value of another type would only fail inside the query.
+            Class<?> type = allowList.types().get(key.getKey());
+            if (type == null || key.getValue() != null && !type.isInstance(key.getValue())) {
+                throw invalidCursor();
+            }
+        }
+        if (cursor.keys().get(ID) == null) {
+            throw invalidCursor();
+        }
+        if (requested != null && !requested.equals(cursor.sort())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor was issued for a different sort");
+        }
+        return new KeysetPageRequest(cursor.sort(), ScrollPosition.forward(cursor.keys()), limit);
+    }
+
+    public <T> CursorPageDto<T> toPage(Window<T> window, KeysetPageRequest request) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(request.sort(), last.getKeys());
+        }
+        return new CursorPageDto<>(window.getContent(), nextCursor);
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static Sort parseSort(List<String> fields, SortAllowList allowList) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String field : fields) {
+            String name = field.trim();
+            boolean descending = name.startsWith("-");
+            if (descending) {
+                name = name.substring(1);
+            }
+            String property = allowList.fields().get(name);
+            if (property == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unsupported sort field '" + name + "', allowed: " + allowList.fields().keySet());
+            }
+            orders.add(descending ? Sort.Order.desc(property) : Sort.Order.asc(property));
+        }
+        return Sort.by(orders);
+    }
+
+    private record Cursor(Sort sort, Map<String, Object> keys) {
+    }
+
+    private static String encode(Sort sort, Map<String, ?> keys) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(CURSOR_VERSION);
+
+            List<Sort.Order> orders = sort.toList();
+            out.writeShort(orders.size());
+            for (Sort.Order order : orders) {
+                out.writeUTF(order.getProperty());
+                out.writeBoolean(order.isAscending());
+            }
+
+            out.writeShort(keys.size());
+            for (Map.Entry<String, ?> key : keys.entrySet()) {
+                out.writeUTF(key.getKey());
+                writeValue(out, key.getValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private static Cursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != CURSOR_VERSION) {
+                throw invalidCursor();
+            }
+
+            int orderCount = in.readShort();
+            List<Sort.Order> orders = new ArrayList<>(orderCount);
+            for (int i = 0; i < orderCount; i++) {
+                String property = in.readUTF();
+                orders.add(in.readBoolean() ? Sort.Order.asc(property) : Sort.Order.desc(property));
+            }
+
+            int keyCount = in.readShort();
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < keyCount; i++) {
+                keys.put(in.readUTF(), readValue(in));
+            }
+
+            if (orders.isEmpty() || keys.isEmpty() || in.available() > 0) {
+                throw invalidCursor();
+            }
+            return new Cursor(Sort.by(orders), keys);
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case Long l -> {
+                out.writeByte('J');
+                out.writeLong(l);
+            }
+            case Integer i -> {
+                out.writeByte('I');
+                out.writeInt(i);
+            }
+            case String s -> {
+                out.writeByte('S');
+                out.writeUTF(s);
+            }
+            case LocalDate d -> {
+                out.writeByte('D');
+                out.writeLong(d.toEpochDay());
+            }
+            case LocalTime t -> {
+                out.writeByte('T');
+                out.writeLong(t.toNanoOfDay());
+            }
+            case null -> out.writeByte('N');
+            default -> throw new IllegalStateException("Unsupported keyset value: " + value);
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        return switch (in.readByte()) {
+            case 'J' -> in.readLong();
+            case 'I' -> in.readInt();
+            case 'S' -> in.readUTF();
+            case 'D' -> LocalDate.ofEpochDay(in.readLong());
+            case 'T' -> LocalTime.ofNanoOfDay(in.readLong());
+            case 'N' -> null;
+            default -> throw invalidCursor();
+        };
+    }
+
+    private static ResponseStatusException invalidCursor() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+}
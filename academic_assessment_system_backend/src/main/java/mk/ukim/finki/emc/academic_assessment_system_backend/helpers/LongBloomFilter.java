@@ -0,0 +1,60 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimal thread-safe Bloom filter over {@code long} keys. It never yields false negatives,
+ * so callers can skip the exact lookup whenever {@link #mightContain(long)} returns false.
+ */
+public class LongBloomFilter {
+
+    private static final int HASH_FUNCTIONS = 4;
+
+    private final AtomicLongArray words;
+    private final int bitCount;
+
+    public LongBloomFilter(int expectedEntries) {
+        int bits = Math.max(1024, Integer.highestOneBit(Math.max(1, expectedEntries) * 10) << 1);
+        this.bitCount = bits;
+        this.words = new AtomicLongArray(bits >>> 6);
+    }
+
+    public void add(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = index(h1 + i * h2);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(long hash) {
+        return (int) (hash & (bitCount - 1));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
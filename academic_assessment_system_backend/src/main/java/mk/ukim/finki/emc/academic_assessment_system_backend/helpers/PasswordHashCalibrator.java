@@ -0,0 +1,92 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the BCrypt work factor at startup: the highest cost between the configured bounds whose
+ * single hash still fits the target latency on this machine. A fixed strength skips measuring.
+ */
+@Component
+public class PasswordHashCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private final int strength;
+    private final long measuredMillis;
+
+    public PasswordHashCalibrator(@Value("${password-hashing.target-ms:50}") long targetMillis,
+                                  @Value("${password-hashing.min-strength:10}") int minStrength,
+                                  @Value("${password-hashing.max-strength:14}") int maxStrength,
+                                  @Value("${password-hashing.fixed-strength:0}") int fixedStrength,
+                                  MeterRegistry meterRegistry) {
+        if (fixedStrength > 0) {
+            this.strength = fixedStrength;
+            this.measuredMillis = -1;
+        } else {
+            int low = Math.max(4, minStrength);
+            int high = Math.min(31, Math.max(low, maxStrength));
+
+            // Warm up so JIT compilation does not inflate the first measurement.
+            BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(4));
+
+            int chosen = low;
+            long chosenMillis = measure(low);
+            long lastMillis = chosenMillis;
+            // Each extra cost step doubles the work, so stop as soon as the next one would overshoot.
+            while (chosen < high && lastMillis * 2 <= targetMillis) {
+                lastMillis = measure(chosen + 1);
+                if (lastMillis > targetMillis) {
+                    break;
+                }
+                chosen++;
+                chosenMillis = lastMillis;
+            }
+
+            this.strength = chosen;
+            this.measuredMillis = chosenMillis;
+        }
+
+        Gauge.builder("password.hash.strength", this, PasswordHashCalibrator::getStrength).register(meterRegistry);
+        Gauge.builder("password.hash.calibrated.ms", this, PasswordHashCalibrator::getMeasuredMillis).register(meterRegistry);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public long getMeasuredMillis() {
+        return measuredMillis;
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    private static int costOf(String encodedPassword) {
+        // Modular crypt format: $2a$10$<salt+hash>
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int costStart = encodedPassword.indexOf('$', 1) + 1;
+        if (costStart <= 0 || costStart + 2 > encodedPassword.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(costStart, costStart + 2));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long measure(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
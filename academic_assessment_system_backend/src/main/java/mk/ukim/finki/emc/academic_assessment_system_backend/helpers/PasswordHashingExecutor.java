@@ -0,0 +1,195 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.exceptions.PasswordHashingUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs {@link PasswordEncoder} work on a dedicated, size-limited pool so that hashing cannot
+ * starve request threads. Interactive calls fail fast with 503 when the queue is full;
+ * batch calls wait for capacity but never hold more than {@code batch-parallelism} slots.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final long BATCH_SUBMIT_RETRY_MILLIS = 10;
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashCalibrator passwordHashCalibrator;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore batchPermits;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+    private final Counter rehashes;
+    private final Counter skippedRehashes;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   PasswordHashCalibrator passwordHashCalibrator,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${password-hashing.threads:0}") int threads,
+                                   @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${password-hashing.batch-parallelism:0}") int batchParallelism,
+                                   @Value("${password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashCalibrator = passwordHashCalibrator;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.batchPermits = new Semaphore(batchParallelism > 0 ? batchParallelism : Math.max(1, poolSize / 2));
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeTimer = Timer.builder("password.hash.latency").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.latency").tag("operation", "matches").register(meterRegistry);
+        this.rejections = Counter.builder("password.hash.rejected").register(meterRegistry);
+        this.rehashes = Counter.builder("password.hash.rehashed").register(meterRegistry);
+        this.skippedRehashes = Counter.builder("password.hash.rehash.skipped").register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword))));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(() -> matchesTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword))));
+    }
+
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                batchPermits.acquire();
+                futures.add(submitBatch(rawPassword));
+            }
+
+            List<String> encoded = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                encoded.add(await(future));
+            }
+            return encoded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } finally {
+            // After a failure nothing waits for the rest of the chunk; completed hashes ignore this.
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return passwordHashCalibrator.needsRehash(encodedPassword);
+    }
+
+    /**
+     * Re-encodes at the current work factor without blocking the caller. Best effort: when the
+     * pool is saturated the upgrade is skipped and retried on a later login.
+     */
+    public void rehashInBackground(CharSequence rawPassword, Consumer<String> onEncoded) {
+        try {
+            executor.execute(() -> {
+                String encoded = encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
+                onEncoded.accept(encoded);
+                rehashes.increment();
+            });
+        } catch (RejectedExecutionException e) {
+            skippedRehashes.increment();
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // A full queue is for interactive calls to fail fast on; a batch holding a permit waits for room instead.
+    // The permit goes back when the task ends, however it ends, including cancelled before it ran.
+    private Future<String> submitBatch(String rawPassword) throws InterruptedException {
+        FutureTask<String> task = new FutureTask<>(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword))) {
+            @Override
+            protected void done() {
+                batchPermits.release();
+            }
+        };
+        while (true) {
+            try {
+                executor.execute(task);
+                return task;
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    task.cancel(false);
+                    throw new PasswordHashingUnavailableException(retryAfterSeconds);
+                }
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(BATCH_SUBMIT_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                task.cancel(false);
+                throw e;
+            }
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingUnavailableException(retryAfterSeconds);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
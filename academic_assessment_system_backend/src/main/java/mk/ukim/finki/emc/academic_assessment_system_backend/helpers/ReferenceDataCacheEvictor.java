@@ -0,0 +1,69 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import jakarta.persistence.EntityManagerFactory;
+import mk.ukim.finki.emc.academic_assessment_system_backend.config.cache.SecondLevelCacheConfig;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Drops the cached state of a course once the transaction that changed it has finished.
+ * Hibernate keeps its regions in step with changes made through the session; this covers what it
+ * cannot see, such as the course's staff collection when assignments are deleted or saved on their own.
+ */
+@Component
+public class ReferenceDataCacheEvictor {
+
+    private static final String COURSE_STAFF_ROLE = Course.class.getName() + ".courseStaffAssignments";
+
+    private final Cache cache;
+    private final TaskScheduler taskScheduler;
+    private final Duration replicaLag;
+
+    public ReferenceDataCacheEvictor(EntityManagerFactory entityManagerFactory,
+                                     TaskScheduler taskScheduler,
+                                     @Value("${datasource.replica.enabled:false}") boolean replicaEnabled,
+                                     @Value("${datasource.replica.read-your-writes-window-ms:5000}") long replicaLagMillis) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.taskScheduler = taskScheduler;
+        this.replicaLag = replicaEnabled ? Duration.ofMillis(replicaLagMillis) : Duration.ZERO;
+    }
+
+    public void evictCourse(Long courseId) {
+        // Evicting before commit would let a concurrent reader put the old rows straight back.
+        // Evicting after a rollback as well costs one reload and never leaves a stale entry behind.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    doEvictCourse(courseId);
+                    evictAgainAfterReplicaLag(courseId);
+                }
+            });
+        } else {
+            doEvictCourse(courseId);
+            evictAgainAfterReplicaLag(courseId);
+        }
+    }
+
+    // A read-only transaction on a lagging replica can load the old course right after the eviction
+    // and cache it again; a second eviction once the replica has caught up clears that copy.
+    private void evictAgainAfterReplicaLag(Long courseId) {
+        if (!replicaLag.isZero()) {
+            taskScheduler.schedule(() -> doEvictCourse(courseId), Instant.now().plus(replicaLag));
+        }
+    }
+
+    private void doEvictCourse(Long courseId) {
+        cache.evictEntityData(Course.class, courseId);
+        cache.evictCollectionData(COURSE_STAFF_ROLE, courseId);
+        cache.evictQueryRegion(SecondLevelCacheConfig.REFERENCE_QUERIES);
+    }
+}
@@ -0,0 +1,145 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of seat reservations that are not in the database yet, one {@code examId,studentId,crc}
+ * line per reservation. The active segment is rotated whenever its reservations are handed to the database
+ * and a rotated segment is deleted once they are committed, so whatever is left on disk after a crash is
+ * exactly what still has to be written. A line cut short by the crash fails its checksum and ends the segment.
+ */
+final class SeatReservationJournal implements AutoCloseable {
+
+    record Entry(long examId, long studentId) {
+    }
+
+    private static final String PREFIX = "seats-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private long sequence;
+    private Path activePath;
+    private FileChannel active;
+
+    SeatReservationJournal(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create seat journal directory " + directory, e);
+        }
+        this.sequence = segments().stream().mapToLong(SeatReservationJournal::sequenceOf).max().orElse(0);
+    }
+
+    List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .filter(path -> !path.equals(activePath))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list seat journal directory " + directory, e);
+        }
+    }
+
+    static List<Entry> read(Path segment) {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(segment, StandardCharsets.US_ASCII)) {
+                String[] fields = line.split(",");
+                if (fields.length != 3 || !Long.toHexString(checksum(fields[0] + "," + fields[1])).equals(fields[2])) {
+                    break;
+                }
+                entries.add(new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1])));
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("Cannot read seat journal segment " + segment, e);
+        }
+        return entries;
+    }
+
+    synchronized void append(long examId, long studentId) {
+        String record = examId + "," + studentId;
+        ByteBuffer line = ByteBuffer.wrap((record + "," + Long.toHexString(checksum(record)) + "\n").getBytes(StandardCharsets.US_ASCII));
+        try {
+            while (line.hasRemaining()) {
+                active.write(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to seat journal " + activePath, e);
+        }
+    }
+
+    // Closes the active segment, durable on disk, and starts the next one; returns the closed segment.
+    synchronized Path rotate() {
+        Path closed = activePath;
+        if (active != null) {
+            force();
+            closeActive();
+        }
+        sequence++;
+        activePath = directory.resolve(PREFIX + "%019d".formatted(sequence) + SUFFIX);
+        try {
+            active = FileChannel.open(activePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open seat journal segment " + activePath, e);
+        }
+        return closed;
+    }
+
+    synchronized void force() {
+        try {
+            active.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync seat journal " + activePath, e);
+        }
+    }
+
+    void delete(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete seat journal segment " + segment, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (active != null) {
+            force();
+            closeActive();
+            active = null;
+        }
+    }
+
+    private void closeActive() {
+        try {
+            active.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close seat journal segment " + activePath, e);
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static long checksum(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.US_ASCII));
+        return crc.getValue();
+    }
+}
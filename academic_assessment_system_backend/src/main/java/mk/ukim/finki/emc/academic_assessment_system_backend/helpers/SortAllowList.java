@@ -0,0 +1,33 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.core.PropertyPath;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sort fields a list endpoint accepts, mapped to entity properties, plus the order used when the client
+ * sends none. Only indexed, non-null columns belong here, either on the listed entity or across a to-one
+ * association whose column is indexed ({@code student.studentIndex} walks {@code uk_student_index} and joins
+ * back through the student foreign key index): keyset paging is only cheap when the sort is.
+ * The property types are kept so a cursor can be checked against them before it reaches a query.
+ */
+public record SortAllowList(Map<String, String> fields, Map<String, Class<?>> types, Sort defaultSort) {
+
+    private static final String ID = "id";
+
+    public static SortAllowList of(Class<?> domainType, Sort defaultSort, Map<String, String> fields) {
+        Map<String, Class<?>> types = new HashMap<>();
+        for (String property : fields.values()) {
+            types.put(property, propertyType(domainType, property));
+        }
+        types.put(ID, propertyType(domainType, ID));
+        return new SortAllowList(Map.copyOf(fields), Map.copyOf(types), defaultSort);
+    }
+
+    private static Class<?> propertyType(Class<?> domainType, String property) {
+        return ClassUtils.resolvePrimitiveIfNecessary(PropertyPath.from(property, domainType).getLeafType());
+    }
+}
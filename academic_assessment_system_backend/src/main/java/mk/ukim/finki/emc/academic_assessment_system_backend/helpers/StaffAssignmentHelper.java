@@ -18,6 +18,7 @@ public class StaffAssignmentHelper {
 
     private final UserRepository userRepository;
     private final CourseStaffAssignmentRepository courseStaffAssignmentRepository;
+    private final ReferenceDataCacheEvictor referenceDataCacheEvictor;
 
     public void applyStaffAssignments(Course course,
                                       List<Long> professorIds,
@@ -84,6 +85,8 @@ public class StaffAssignmentHelper {
             );
             course.getCourseStaffAssignments().add(saved);
         }
+
+        referenceDataCacheEvictor.evictCourse(course.getId());
     }
 
     private String buildKey(Long userId, StaffRole role) {
@@ -0,0 +1,81 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Free seats of one exam split across stripes that sit on separate cache lines, so concurrent reservations
+ * mostly compare-and-set different memory. A reservation starts at its thread's stripe and moves on to the
+ * others only when that one is empty. Seats taken away by a capacity cut that could not be taken from the
+ * stripes are owed and paid back by the next releases.
+ */
+final class StripedSeatCounter {
+
+    private static final int INTS_PER_CACHE_LINE = 16;
+
+    private final AtomicIntegerArray stripes;
+    private final int stripeCount;
+    private final AtomicInteger owed = new AtomicInteger();
+
+    StripedSeatCounter(int seats, int stripeCount) {
+        this.stripeCount = stripeCount;
+        this.stripes = new AtomicIntegerArray(stripeCount * INTS_PER_CACHE_LINE);
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            stripes.set(slot(stripe), seats / stripeCount + (stripe < seats % stripeCount ? 1 : 0));
+        }
+    }
+
+    boolean tryAcquire() {
+        int home = homeStripe();
+        for (int i = 0; i < stripeCount; i++) {
+            int slot = slot((home + i) % stripeCount);
+            int free;
+            while ((free = stripes.get(slot)) > 0) {
+                if (stripes.compareAndSet(slot, free, free - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void release() {
+        int debt;
+        while ((debt = owed.get()) > 0) {
+            if (owed.compareAndSet(debt, debt - 1)) {
+                return;
+            }
+        }
+        stripes.incrementAndGet(slot(homeStripe()));
+    }
+
+    void add(int seats) {
+        for (int i = 0; i < seats; i++) {
+            release();
+        }
+    }
+
+    void remove(int seats) {
+        for (int i = 0; i < seats; i++) {
+            if (!tryAcquire()) {
+                owed.incrementAndGet();
+            }
+        }
+    }
+
+    int available() {
+        int free = 0;
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            free += stripes.get(slot(stripe));
+        }
+        return Math.max(0, free - owed.get());
+    }
+
+    private int homeStripe() {
+        return (int) (Thread.currentThread().threadId() % stripeCount);
+    }
+
+    private static int slot(int stripe) {
+        return stripe * INTS_PER_CACHE_LINE;
+    }
+}
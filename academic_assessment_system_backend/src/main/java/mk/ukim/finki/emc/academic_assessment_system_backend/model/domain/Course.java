@@ -2,6 +2,8 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.model.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +13,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
 @Table(
         name = "courses",
         uniqueConstraints = {
@@ -18,12 +22,16 @@ import java.util.List;
                         name = "uk_course_code_semester_year",
                         columnNames = {"courseCode", "semester", "academicYear"}
                 )
+        },
+        indexes = {
+                @Index(name = "idx_courses_term", columnList = "academic_year DESC, semester DESC, course_code, id")
         }
 )
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "course_code", nullable = false, length = 30)
@@ -50,6 +58,7 @@ public class Course {
             cascade = CascadeType.ALL,
             orphanRemoval = true
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course-staff-by-course")
     private List<CourseStaffAssignment> courseStaffAssignments = new ArrayList<>();
 
     public Course(String courseCode, String courseName, Integer semester, Integer academicYear) {
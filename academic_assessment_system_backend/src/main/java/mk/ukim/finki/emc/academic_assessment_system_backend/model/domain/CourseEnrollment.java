@@ -8,6 +8,14 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@NamedEntityGraph(
+        name = "CourseEnrollment.studentAndCourse",
+        attributeNodes = {
+                @NamedAttributeNode(value = "student", subgraph = "student"),
+                @NamedAttributeNode("course")
+        },
+        subgraphs = @NamedSubgraph(name = "student", attributeNodes = @NamedAttributeNode("user"))
+)
 @Table(
         name = "course_enrollments",
         uniqueConstraints = {
@@ -15,12 +23,16 @@ import lombok.*;
                         name = "uk_course_student",
                         columnNames = {"course_id", "student_id"}
                 )
+        },
+        indexes = {
+                @Index(name = "idx_course_enrollments_student", columnList = "student_id")
         }
 )
 public class CourseEnrollment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_enrollments_seq")
+    @SequenceGenerator(name = "course_enrollments_seq", sequenceName = "course_enrollments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -3,12 +3,16 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.model.domain;
 import jakarta.persistence.*;
 import lombok.*;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.StaffRole;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course-staff")
 @Table(
         name = "course_staff_assignments",
         uniqueConstraints = {
@@ -16,12 +20,16 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.StaffRol
                         name = "uk_course_user_staffrole",
                         columnNames = {"course_id", "user_id", "staff_role"}
                 )
+        },
+        indexes = {
+                @Index(name = "idx_course_staff_assignments_user", columnList = "user_id")
         }
 )
 public class CourseStaffAssignment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_staff_assignments_seq")
+    @SequenceGenerator(name = "course_staff_assignments_seq", sequenceName = "course_staff_assignments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -2,22 +2,36 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.model.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "exams")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "exams")
+@Table(
+        name = "exams",
+        indexes = {
+                @Index(name = "idx_exams_date_start", columnList = "date_of_exam DESC, start_time, id"),
+                @Index(name = "idx_exams_course", columnList = "course_id")
+        }
+)
 public class Exam {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exams_seq")
+    @SequenceGenerator(name = "exams_seq", sequenceName = "exams_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -29,13 +43,19 @@ public class Exam {
     @Column(name = "capacity_of_students", nullable = false)
     private Integer capacityOfStudents;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // A set rather than a bag, so adding or removing one laboratory writes one row instead of
+    // rewriting the whole collection; uninitialized collections are loaded 50 exams at a time.
+    @ElementCollection
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "exam-laboratories")
+    @OrderBy
     @CollectionTable(
             name = "exam_reserved_labs",
-            joinColumns = @JoinColumn(name = "exam_id")
+            joinColumns = @JoinColumn(name = "exam_id"),
+            indexes = @Index(name = "idx_exam_reserved_labs_laboratory", columnList = "laboratory")
     )
     @Column(name = "laboratory", nullable = false, length = 100)
-    private List<String> reservedLaboratories;
+    private Set<String> reservedLaboratories;
 
     @Column(name = "start_time", nullable = false)
     private LocalTime startTime;
@@ -61,7 +81,7 @@ public class Exam {
         this.startTime = startTime;
         this.endTime = endTime;
         this.course = course;
-        this.reservedLaboratories = new ArrayList<>();
+        this.reservedLaboratories = new LinkedHashSet<>();
         this.studentExamRegistrations = new ArrayList<>();
     }
 
@@ -72,7 +92,7 @@ public class Exam {
         this.startTime = startTime;
         this.endTime = endTime;
         this.course = course;
-        this.reservedLaboratories = reservedLaboratories;
+        this.reservedLaboratories = new LinkedHashSet<>(reservedLaboratories);
         this.studentExamRegistrations = new ArrayList<>();
     }
 }
@@ -0,0 +1,63 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.model.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "exam_waitlist_entries",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_exam_waitlist_student",
+                        columnNames = {"exam_id", "student_id"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_exam_waitlist_entries_queue", columnList = "exam_id, id"),
+                @Index(name = "idx_exam_waitlist_entries_student", columnList = "student_id")
+        }
+)
+public class ExamWaitlistEntry {
+
+    // The id is the place in line, so it comes straight from the sequence instead of a pooled block:
+    // with blocks, two instances would hand out ids out of arrival order.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exam_waitlist_entries_seq")
+    @SequenceGenerator(name = "exam_waitlist_entries_seq", sequenceName = "exam_waitlist_entries_seq", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(
+            name = "student_id",
+            nullable = false,
+            foreignKey = @ForeignKey(name = "fk_waitlist_student")
+    )
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(
+            name = "exam_id",
+            nullable = false,
+            foreignKey = @ForeignKey(name = "fk_waitlist_exam")
+    )
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Exam exam;
+
+    @Column(name = "joined_at", nullable = false)
+    private LocalDateTime joinedAt;
+
+    public ExamWaitlistEntry(Student student, Exam exam) {
+        this.student = student;
+        this.exam = exam;
+        this.joinedAt = LocalDateTime.now();
+    }
+}
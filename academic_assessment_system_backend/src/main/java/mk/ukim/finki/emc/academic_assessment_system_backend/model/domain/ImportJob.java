@@ -0,0 +1,87 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.model.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobStatus;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_jobs_seq")
+    @SequenceGenerator(name = "import_jobs_seq", sequenceName = "import_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 30)
+    private ImportJobType type;
+
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportJobStatus status;
+
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    // Checkpoint: CSV records consumed by committed chunks. A resumed job skips this many records.
+    @Column(name = "rows_processed", nullable = false)
+    private long rowsProcessed;
+
+    @Column(name = "rows_failed", nullable = false)
+    private long rowsFailed;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(
+            name = "import_job_counters",
+            joinColumns = @JoinColumn(name = "job_id")
+    )
+    @MapKeyColumn(name = "counter_name", length = 60)
+    @Column(name = "counter_value", nullable = false)
+    private Map<String, Long> counters = new HashMap<>();
+
+    @Column(name = "failure_message", length = 1000)
+    private String failureMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Only this user and administrators can see the job, since its row errors name the people imported.
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    // The spool file sits on the owner's disk, so only the owner runs the job while its lease is renewed.
+    @Column(name = "owner_instance", length = 100)
+    private String ownerInstance;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    public ImportJob(ImportJobType type, Long targetId, String filePath, Long createdBy) {
+        this.type = type;
+        this.targetId = targetId;
+        this.filePath = filePath;
+        this.createdBy = createdBy;
+        this.status = ImportJobStatus.QUEUED;
+        this.createdAt = LocalDateTime.now();
+    }
+
+}
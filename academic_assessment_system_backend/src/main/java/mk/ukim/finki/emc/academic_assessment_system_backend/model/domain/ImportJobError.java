@@ -0,0 +1,40 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.model.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "import_job_errors", indexes = {
+        @Index(name = "idx_import_job_errors_job", columnList = "job_id, record_number")
+})
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_errors_seq")
+    @SequenceGenerator(name = "import_job_errors_seq", sequenceName = "import_job_errors_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "record_number", nullable = false)
+    private long rowNumber;
+
+    @Column(name = "row_key", length = 150)
+    private String rowKey;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    public ImportJobError(Long jobId, long rowNumber, String rowKey, String message) {
+        this.jobId = jobId;
+        this.rowNumber = rowNumber;
+        this.rowKey = rowKey;
+        this.message = message;
+    }
+
+}
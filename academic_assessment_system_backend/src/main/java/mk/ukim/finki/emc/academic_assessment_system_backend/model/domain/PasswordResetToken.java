@@ -11,12 +11,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "password_reset_tokens", indexes = {
-        @Index(name = "idx_prt_token", columnList = "token", unique = true)
+        @Index(name = "idx_prt_token", columnList = "token", unique = true),
+        @Index(name = "idx_password_reset_tokens_user", columnList = "user_id")
 })
 public class PasswordResetToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_tokens_seq")
+    @SequenceGenerator(name = "password_reset_tokens_seq", sequenceName = "password_reset_tokens_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 80)
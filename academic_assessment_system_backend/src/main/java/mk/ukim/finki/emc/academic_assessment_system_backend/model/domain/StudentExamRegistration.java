@@ -2,6 +2,7 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.model.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ExamSeatReleaseListener;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStatus;
 
 @Getter
@@ -9,6 +10,18 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStat
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(ExamSeatReleaseListener.class)
+@NamedEntityGraph(
+        name = "StudentExamRegistration.studentAndExam",
+        attributeNodes = {
+                @NamedAttributeNode(value = "student", subgraph = "student"),
+                @NamedAttributeNode(value = "exam", subgraph = "exam")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "student", attributeNodes = @NamedAttributeNode("user")),
+                @NamedSubgraph(name = "exam", attributeNodes = @NamedAttributeNode("course"))
+        }
+)
 @Table(
         name = "student_exam_registrations",
         uniqueConstraints = {
@@ -16,12 +29,16 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStat
                         name = "uk_exam_student_registration",
                         columnNames = {"exam_id", "student_id"}
                 )
+        },
+        indexes = {
+                @Index(name = "idx_student_exam_registrations_student", columnList = "student_id")
         }
 )
 public class StudentExamRegistration {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_exam_registrations_seq")
+    @SequenceGenerator(name = "student_exam_registrations_seq", sequenceName = "student_exam_registrations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -0,0 +1,36 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.model.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "token_revocations",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_token_revocation_user", columnNames = "user_id")
+        }
+)
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocations_seq")
+    @SequenceGenerator(name = "token_revocations_seq", sequenceName = "token_revocations_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "not_before", nullable = false)
+    private LocalDateTime notBefore;
+
+    public TokenRevocation(Long userId, LocalDateTime notBefore) {
+        this.userId = userId;
+        this.notBefore = notBefore;
+    }
+}
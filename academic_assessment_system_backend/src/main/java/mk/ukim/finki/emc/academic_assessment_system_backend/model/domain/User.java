@@ -12,16 +12,21 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@NamedEntityGraph(name = "User.student", attributeNodes = @NamedAttributeNode("student"))
 @Table(
         name = "app_users",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_app_users_email", columnNames = "email")
+        },
+        indexes = {
+                @Index(name = "idx_app_users_user_role", columnList = "user_role, id")
         }
 )
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_users_seq")
+    @SequenceGenerator(name = "app_users_seq", sequenceName = "app_users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false, length = 80)
@@ -39,7 +44,7 @@ public class User {
     @Column(name = "user_role", nullable = false, length = 20)
     private UserRole userRole;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Student student;
 
     @OneToMany(
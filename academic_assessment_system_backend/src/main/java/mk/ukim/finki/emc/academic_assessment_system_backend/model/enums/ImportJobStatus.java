@@ -0,0 +1,8 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.model.enums;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
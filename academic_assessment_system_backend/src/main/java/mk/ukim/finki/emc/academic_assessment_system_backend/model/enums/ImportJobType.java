@@ -0,0 +1,7 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.model.enums;
+
+public enum ImportJobType {
+    USERS,
+    COURSE_ENROLLMENTS,
+    EXAM_ATTENDANCE
+}
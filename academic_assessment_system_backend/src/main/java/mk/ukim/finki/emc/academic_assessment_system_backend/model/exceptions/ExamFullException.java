@@ -0,0 +1,11 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.model.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ExamFullException extends ResponseStatusException {
+
+    public ExamFullException() {
+        super(HttpStatus.CONFLICT, "No seats left for this exam");
+    }
+}
@@ -1,11 +1,13 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
 
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseEnrollment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,6 +25,14 @@ public interface CourseEnrollmentRepository extends JpaRepository<CourseEnrollme
             """)
     List<CourseEnrollment> findAllByCourseIdWithStudentAndUser(@Param("courseId") Long courseId);
 
+    @EntityGraph("CourseEnrollment.studentAndCourse")
     List<CourseEnrollment> findAllByStudentId(Long studentId);
 
+    @Query("""
+                SELECT ce.student.id FROM CourseEnrollment ce
+                WHERE ce.course.id = :courseId AND ce.student.id IN :studentIds
+            """)
+    List<Long> findEnrolledStudentIds(@Param("courseId") Long courseId,
+                                      @Param("studentIds") Collection<Long> studentIds);
+
 }
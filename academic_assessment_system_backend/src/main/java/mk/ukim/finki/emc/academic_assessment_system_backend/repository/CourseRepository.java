@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +28,36 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
             """)
     Optional<Course> findByIdWithStaff(@Param("id") Long id);
 
+    @Query("""
+                SELECT DISTINCT c FROM Course c
+                LEFT JOIN FETCH c.courseStaffAssignments csa
+                LEFT JOIN FETCH csa.user
+                WHERE c.id IN (
+                    SELECT a.course.id FROM CourseStaffAssignment a
+                    WHERE a.user.id = :userId
+                )
+                ORDER BY c.academicYear DESC, c.semester DESC, c.courseCode
+            """)
+    List<Course> findAllWithStaffByStaffUserId(@Param("userId") Long userId);
+
+    @Query("""
+                SELECT DISTINCT c FROM Course c
+                LEFT JOIN FETCH c.courseStaffAssignments csa
+                LEFT JOIN FETCH csa.user
+                WHERE c.id IN (
+                    SELECT e.course.id FROM CourseEnrollment e
+                    WHERE e.student.user.id = :userId
+                )
+                ORDER BY c.academicYear DESC, c.semester DESC, c.courseCode
+            """)
+    List<Course> findAllWithStaffByStudentUserId(@Param("userId") Long userId);
+
+    @Query("""
+                SELECT DISTINCT c FROM Course c
+                LEFT JOIN FETCH c.courseStaffAssignments csa
+                LEFT JOIN FETCH csa.user
+                WHERE c.id IN :ids
+            """)
+    List<Course> findAllWithStaffByIdIn(@Param("ids") Collection<Long> ids);
+
 }
@@ -1,10 +1,13 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
 
+import jakarta.persistence.QueryHint;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseEnrollment;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseStaffAssignment;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.StaffRole;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +16,10 @@ import java.util.List;
 @Repository
 public interface CourseStaffAssignmentRepository extends JpaRepository<CourseStaffAssignment, Long> {
 
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     List<CourseStaffAssignment> findByCourseId(Long courseId);
 
     void deleteByCourseId(Long courseId);
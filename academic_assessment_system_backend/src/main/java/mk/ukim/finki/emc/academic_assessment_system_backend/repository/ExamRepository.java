@@ -1,14 +1,65 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
 
+import jakarta.persistence.QueryHint;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface ExamRepository extends JpaRepository<Exam, Long> {
 
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     List<Exam> findAllByCourseId(Long courseId);
 
+    @Query("""
+                SELECT e FROM Exam e
+                JOIN FETCH e.course
+                JOIN e.reservedLaboratories laboratory
+                WHERE laboratory = :laboratory
+                ORDER BY e.dateOfExam DESC, e.startTime
+            """)
+    List<Exam> findAllByReservedLaboratory(@Param("laboratory") String laboratory);
+
+    @Query("""
+                SELECT DISTINCT e FROM Exam e
+                JOIN FETCH e.course c
+                LEFT JOIN FETCH e.reservedLaboratories
+                WHERE c.id IN (
+                    SELECT a.course.id FROM CourseStaffAssignment a
+                    WHERE a.user.id = :userId
+                )
+                AND (:from IS NULL OR e.dateOfExam >= :from)
+                AND (:to IS NULL OR e.dateOfExam <= :to)
+                ORDER BY e.dateOfExam DESC, e.startTime
+            """)
+    List<Exam> findFeedForStaffUser(@Param("userId") Long userId,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to);
+
+    @Query("""
+                SELECT DISTINCT e FROM Exam e
+                JOIN FETCH e.course c
+                LEFT JOIN FETCH e.reservedLaboratories
+                WHERE c.id IN (
+                    SELECT en.course.id FROM CourseEnrollment en
+                    WHERE en.student.user.id = :userId
+                )
+                AND (:from IS NULL OR e.dateOfExam >= :from)
+                AND (:to IS NULL OR e.dateOfExam <= :to)
+                ORDER BY e.dateOfExam DESC, e.startTime
+            """)
+    List<Exam> findFeedForStudentUser(@Param("userId") Long userId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+
 }
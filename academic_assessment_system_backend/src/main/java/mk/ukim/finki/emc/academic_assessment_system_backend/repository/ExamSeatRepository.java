@@ -0,0 +1,84 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Seat counter on {@code exams.registered_count}. Claiming a seat is a single conditional UPDATE, so
+ * concurrent registrations serialize on the exam row for the length of one statement plus the insert,
+ * and the capacity check can never be raced past. The column is not mapped on {@code Exam} and is written
+ * over plain JDBC: a bulk HQL update would invalidate the whole exams cache region on every registration.
+ */
+@Repository
+public class ExamSeatRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExamSeatRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // A plain read that takes no lock: once an exam is full, rejections stop queueing behind the row lock.
+    public boolean hasFreeSeat(Long examId) {
+        return Boolean.TRUE.equals(jdbcTemplate.query(
+                "SELECT registered_count < capacity_of_students FROM exams WHERE id = ?",
+                rs -> rs.next() && rs.getBoolean(1), examId));
+    }
+
+    public boolean tryReserveSeat(Long examId) {
+        return jdbcTemplate.update("""
+                UPDATE exams SET registered_count = registered_count + 1
+                WHERE id = ? AND registered_count < capacity_of_students
+                """, examId) == 1;
+    }
+
+    public void releaseSeat(Long examId) {
+        jdbcTemplate.update("""
+                UPDATE exams SET registered_count = registered_count - 1
+                WHERE id = ? AND registered_count > 0
+                """, examId);
+    }
+
+    /**
+     * Claims as many of {@code seats} as are still free and returns how many it got. The exam row stays locked
+     * until the surrounding transaction ends, so this must run inside one.
+     */
+    public int claimFreeSeats(Long examId, int seats) {
+        int free = jdbcTemplate.query("SELECT capacity_of_students - registered_count FROM exams WHERE id = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getInt(1), examId).stream().findFirst().orElse(0);
+        int claimed = Math.max(0, Math.min(seats, free));
+        if (claimed > 0) {
+            jdbcTemplate.update("UPDATE exams SET registered_count = registered_count + ? WHERE id = ?", claimed, examId);
+        }
+        return claimed;
+    }
+
+    public int findFreeSeats(Long examId) {
+        return jdbcTemplate.query("SELECT capacity_of_students - registered_count FROM exams WHERE id = ?",
+                (rs, rowNum) -> rs.getInt(1), examId).stream().findFirst().map(seats -> Math.max(seats, 0)).orElse(0);
+    }
+
+    public Optional<Integer> findCapacity(Long examId) {
+        return jdbcTemplate.query("SELECT capacity_of_students FROM exams WHERE id = ?",
+                (rs, rowNum) -> rs.getInt(1), examId).stream().findFirst();
+    }
+
+    public List<Long> findRegisteredStudentIds(Long examId) {
+        return jdbcTemplate.queryForList("SELECT student_id FROM student_exam_registrations WHERE exam_id = ?", Long.class, examId);
+    }
+
+    public Optional<Integer> findRegisteredCount(Long examId) {
+        return jdbcTemplate.query("SELECT registered_count FROM exams WHERE id = ?",
+                (rs, rowNum) -> rs.getInt(1), examId).stream().findFirst();
+    }
+
+    public int recountAll() {
+        return jdbcTemplate.update("""
+                UPDATE exams SET registered_count =
+                    (SELECT COUNT(*) FROM student_exam_registrations r WHERE r.exam_id = exams.id)
+                """);
+    }
+}
@@ -0,0 +1,27 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ExamWaitlistEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExamWaitlistEntryRepository extends JpaRepository<ExamWaitlistEntry, Long> {
+
+    Optional<ExamWaitlistEntry> findByStudentIdAndExamId(Long studentId, Long examId);
+
+    @EntityGraph(attributePaths = {"student", "exam"})
+    List<ExamWaitlistEntry> findByExamIdOrderById(Long examId, Limit limit);
+
+    @Query("SELECT w.id FROM ExamWaitlistEntry w WHERE w.exam.id = :examId ORDER BY w.id")
+    List<Long> findIdsByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT DISTINCT w.exam.id FROM ExamWaitlistEntry w")
+    List<Long> findExamIds();
+}
@@ -0,0 +1,79 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency records over plain JDBC: they are written once per request and never read as entities, and
+ * the insert doubles as a lock, with the primary key deciding which instance executes a request.
+ */
+@Repository
+public class IdempotencyRecordRepository {
+
+    public record IdempotencyRecord(String fingerprint, Integer statusCode, String contentType, byte[] body,
+                                    LocalDateTime expiresAt) {
+
+        public boolean isCompleted() {
+            return statusCode != null;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyRecordRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean tryInsertPending(String key, String fingerprint, LocalDateTime expiresAt) {
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_records (idempotency_key, fingerprint, expires_at) VALUES (?, ?, ?)",
+                    key, fingerprint, expiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public Optional<IdempotencyRecord> findByKey(String key) {
+        return jdbcTemplate.query("""
+                        SELECT fingerprint, status_code, content_type, body, body_bytes, expires_at
+                        FROM idempotency_records WHERE idempotency_key = ?
+                        """,
+                (rs, rowNum) -> new IdempotencyRecord(
+                        rs.getString("fingerprint"),
+                        rs.getObject("status_code", Integer.class),
+                        rs.getString("content_type"),
+                        body(rs.getBytes("body_bytes"), rs.getString("body")),
+                        rs.getObject("expires_at", LocalDateTime.class)),
+                key).stream().findFirst();
+    }
+
+    public void complete(String key, int statusCode, String contentType, byte[] body, LocalDateTime expiresAt) {
+        jdbcTemplate.update("""
+                UPDATE idempotency_records SET status_code = ?, content_type = ?, body_bytes = ?, expires_at = ?
+                WHERE idempotency_key = ?
+                """, statusCode, contentType, body, expiresAt, key);
+    }
+
+    public void delete(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_records WHERE idempotency_key = ?", key);
+    }
+
+    public int deleteExpired(String key, LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_records WHERE idempotency_key = ? AND expires_at <= ?", key, now);
+    }
+
+    public int deleteAllExpired(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_records WHERE expires_at <= ?", now);
+    }
+
+    // Rows completed before V7 hold the body as text.
+    private static byte[] body(byte[] bytes, String text) {
+        return bytes != null || text == null ? bytes : text.getBytes(StandardCharsets.UTF_8);
+    }
+}
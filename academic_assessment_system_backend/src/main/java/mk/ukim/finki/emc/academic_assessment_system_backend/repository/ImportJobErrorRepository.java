@@ -0,0 +1,16 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ImportJobError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+
+    List<ImportJobError> findAllByJobIdOrderByRowNumber(Long jobId);
+
+    long countByJobId(Long jobId);
+
+}
@@ -0,0 +1,64 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import jakarta.persistence.LockModeType;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ImportJob;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    List<ImportJob> findAllByStatusAndOwnerInstanceOrderById(ImportJobStatus status, String ownerInstance);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ImportJob j WHERE j.id = :id")
+    Optional<ImportJob> findForUpdateById(@Param("id") Long id);
+
+    @Query("""
+                SELECT j FROM ImportJob j
+                WHERE j.status IN :statuses
+                  AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)
+                ORDER BY j.id
+            """)
+    List<ImportJob> findAllWithExpiredLease(@Param("statuses") Collection<ImportJobStatus> statuses,
+                                            @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ImportJob j SET j.leaseExpiresAt = :leaseExpiresAt
+                WHERE j.ownerInstance = :ownerInstance AND j.status IN :statuses
+            """)
+    int renewLeases(@Param("ownerInstance") String ownerInstance,
+                    @Param("statuses") Collection<ImportJobStatus> statuses,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // Matches only while the lease is still expired, so of several instances adopting the job one wins.
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ImportJob j
+                SET j.ownerInstance = :ownerInstance, j.status = :queued, j.leaseExpiresAt = :leaseExpiresAt
+                WHERE j.id = :id
+                  AND j.status IN :statuses
+                  AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)
+            """)
+    int adopt(@Param("id") Long id,
+              @Param("ownerInstance") String ownerInstance,
+              @Param("queued") ImportJobStatus queued,
+              @Param("statuses") Collection<ImportJobStatus> statuses,
+              @Param("now") LocalDateTime now,
+              @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+}
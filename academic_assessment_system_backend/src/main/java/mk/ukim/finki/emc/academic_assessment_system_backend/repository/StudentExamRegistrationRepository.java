@@ -2,9 +2,14 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
 
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,12 +18,39 @@ public interface StudentExamRegistrationRepository extends JpaRepository<Student
 
     boolean existsByStudentIdAndExamId(Long studentId, Long examId);
 
+    @EntityGraph("StudentExamRegistration.studentAndExam")
     List<StudentExamRegistration> findStudentExamRegistrationByStudentId(Long studentId);
 
+    @EntityGraph("StudentExamRegistration.studentAndExam")
     List<StudentExamRegistration> findAllByExamId(Long examId);
 
     Optional<StudentExamRegistration> findByStudentIdAndExamId(Long studentId, Long examId);
 
+    @EntityGraph("StudentExamRegistration.studentAndExam")
     List<StudentExamRegistration> findAllByExamIdAndExamStatus(Long examId, ExamStatus examStatus);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+                UPDATE StudentExamRegistration r SET r.examStatus = :newStatus
+                WHERE r.exam.id = :examId
+                AND r.examStatus = :oldStatus
+                AND r.student.id IN (
+                    SELECT s.id FROM Student s WHERE s.studentIndex IN :studentIndexes
+                )
+            """)
+    int updateStatusForStudentIndexes(@Param("examId") Long examId,
+                                      @Param("oldStatus") ExamStatus oldStatus,
+                                      @Param("newStatus") ExamStatus newStatus,
+                                      @Param("studentIndexes") Collection<String> studentIndexes);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+                UPDATE StudentExamRegistration r SET r.examStatus = :newStatus
+                WHERE r.exam.id = :examId
+                AND r.examStatus = :oldStatus
+            """)
+    int updateStatus(@Param("examId") Long examId,
+                     @Param("oldStatus") ExamStatus oldStatus,
+                     @Param("newStatus") ExamStatus newStatus);
+
 }
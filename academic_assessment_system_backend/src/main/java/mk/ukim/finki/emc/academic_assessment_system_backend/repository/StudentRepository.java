@@ -1,9 +1,14 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
 
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +16,17 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     Optional<Student> findByStudentIndex(String studentIndex);
 
+    @EntityGraph("Student.user")
+    Optional<Student> findWithUserById(Long id);
+
+    @Query("""
+                SELECT s FROM Student s
+                JOIN FETCH s.user
+                WHERE s.studentIndex IN :studentIndexes
+            """)
+    List<Student> findAllByStudentIndexIn(@Param("studentIndexes") Collection<String> studentIndexes);
+
+    @EntityGraph("Student.user")
     Optional<Student> findStudentByUserId(Long userId);
 
 }
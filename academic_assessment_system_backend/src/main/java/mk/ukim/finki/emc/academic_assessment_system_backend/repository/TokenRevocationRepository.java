@@ -0,0 +1,18 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    Optional<TokenRevocation> findByUserId(Long userId);
+
+    List<TokenRevocation> findAllByNotBeforeAfter(LocalDateTime notBefore);
+
+}
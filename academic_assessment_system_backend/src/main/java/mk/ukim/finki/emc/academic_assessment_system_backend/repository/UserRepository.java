@@ -1,18 +1,74 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
 
+import jakarta.persistence.QueryHint;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CsvUserRowDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    @EntityGraph("User.student")
+    Optional<User> findWithStudentByEmail(String email);
+
     List<User> findAllByUserRole(UserRole userRole);
 
+    @Query("""
+                SELECT u FROM User u
+                LEFT JOIN FETCH u.student
+                WHERE u.email IN :emails
+            """)
+    List<User> findAllByEmailInWithStudent(@Param("emails") Collection<String> emails);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+                SELECT new mk.ukim.finki.emc.academic_assessment_system_backend.dto.CsvUserRowDto(
+                    u.firstName, u.lastName, u.email, '', u.userRole, s.studentIndex, s.major)
+                FROM User u
+                LEFT JOIN u.student s
+                ORDER BY u.id
+            """)
+    Stream<CsvUserRowDto> streamCsvRows();
+
+    // Flush mode COMMIT keeps pending changes to these users out of the query, so it sees the stored claims.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("""
+                SELECT new mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal(
+                    u.id, u.email, u.userRole)
+                FROM User u
+                WHERE u.id IN :ids
+            """)
+    List<JwtUserPrincipal> findStoredClaimsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE User u SET u.password = :newPassword
+                WHERE u.id = :id AND u.password = :oldPassword
+            """)
+    int replacePassword(@Param("id") Long id,
+                        @Param("oldPassword") String oldPassword,
+                        @Param("newPassword") String newPassword);
+
 }
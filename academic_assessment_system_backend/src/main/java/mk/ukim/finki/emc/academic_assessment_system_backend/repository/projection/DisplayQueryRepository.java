@@ -0,0 +1,384 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseEnrollmentDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayExamDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentExamRegistrationDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayUserDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayUserStudentDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPageRequest;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseEnrollment;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseStaffAssignment;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStatus;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.StaffRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read side of the list endpoints. Every query selects the display columns straight into records, so no
+ * entity is loaded, no EAGER association fires and the persistence context has nothing to dirty check.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class DisplayQueryRepository {
+
+    private final EntityManager entityManager;
+
+    public DisplayQueryRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Window<DisplayUserDto> findUsers(KeysetPageRequest pageRequest) {
+        KeysetCriteriaQuery<User, DisplayUserDto> query = new KeysetCriteriaQuery<>(entityManager, User.class, DisplayUserDto.class);
+        CriteriaBuilder cb = query.cb();
+        Root<User> user = query.root();
+
+        query.key("id", user.get("id"), DisplayUserDto::id)
+                .key("email", user.get("email"), DisplayUserDto::email);
+        return query.scroll(cb.construct(DisplayUserDto.class,
+                user.get("id"),
+                user.get("firstName"),
+                user.get("lastName"),
+                user.get("email"),
+                user.get("userRole")
+        ), pageRequest);
+    }
+
+    public List<DisplayUserDto> findUsersByRole(UserRole userRole) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DisplayUserDto> query = cb.createQuery(DisplayUserDto.class);
+        Root<User> user = query.from(User.class);
+
+        query.select(cb.construct(DisplayUserDto.class,
+                        user.get("id"),
+                        user.get("firstName"),
+                        user.get("lastName"),
+                        user.get("email"),
+                        user.get("userRole")
+                ))
+                .where(cb.equal(user.get("userRole"), userRole))
+                .orderBy(cb.asc(user.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    public Window<DisplayUserStudentDto> findStudentUsers(KeysetPageRequest pageRequest) {
+        KeysetCriteriaQuery<User, DisplayUserStudentDto> query = new KeysetCriteriaQuery<>(entityManager, User.class, DisplayUserStudentDto.class);
+        CriteriaBuilder cb = query.cb();
+        Root<User> user = query.root();
+        Join<User, Student> student = user.join("student");
+
+        query.where(cb.equal(user.get("userRole"), UserRole.STUDENT))
+                .key("id", user.get("id"), DisplayUserStudentDto::userId)
+                .key("email", user.get("email"), DisplayUserStudentDto::studentEmail)
+                .key("student.studentIndex", student.get("studentIndex"), DisplayUserStudentDto::studentIndex);
+        return query.scroll(cb.construct(DisplayUserStudentDto.class,
+                student.get("id"),
+                student.get("studentIndex"),
+                student.get("major"),
+                user.get("id"),
+                user.get("firstName"),
+                user.get("lastName"),
+                user.get("email")
+        ), pageRequest);
+    }
+
+    public Window<DisplayStudentDto> findStudents(KeysetPageRequest pageRequest) {
+        KeysetCriteriaQuery<Student, DisplayStudentDto> query = new KeysetCriteriaQuery<>(entityManager, Student.class, DisplayStudentDto.class);
+        CriteriaBuilder cb = query.cb();
+        Root<Student> student = query.root();
+        Join<Student, User> user = student.join("user");
+
+        query.key("id", student.get("id"), DisplayStudentDto::id)
+                .key("studentIndex", student.get("studentIndex"), DisplayStudentDto::studentIndex);
+        return query.scroll(cb.construct(DisplayStudentDto.class,
+                student.get("id"),
+                student.get("studentIndex"),
+                student.get("major"),
+                user.get("id"),
+                user.get("firstName"),
+                user.get("lastName"),
+                user.get("email")
+        ), pageRequest);
+    }
+
+    public Window<DisplayCourseDto> findCourses(KeysetPageRequest pageRequest) {
+        KeysetCriteriaQuery<Course, CourseRow> query = new KeysetCriteriaQuery<>(entityManager, Course.class, CourseRow.class);
+        CriteriaBuilder cb = query.cb();
+        Root<Course> course = query.root();
+
+        query.key("id", course.get("id"), CourseRow::id)
+                .key("courseCode", course.get("courseCode"), CourseRow::courseCode)
+                .key("academicYear", course.get("academicYear"), CourseRow::academicYear)
+                .key("semester", course.get("semester"), CourseRow::semester);
+        Window<CourseRow> rows = query.scroll(cb.construct(CourseRow.class,
+                course.get("id"),
+                course.get("courseCode"),
+                course.get("courseName"),
+                course.get("semester"),
+                course.get("academicYear")
+        ), pageRequest);
+
+        Map<Long, CourseStaff> staff = findCourseStaff(rows.stream().map(CourseRow::id).toList());
+        return rows.map(row -> row.toDto(staff.get(row.id())));
+    }
+
+    public Window<DisplayExamDto> findExams(KeysetPageRequest pageRequest) {
+        KeysetCriteriaQuery<Exam, ExamRow> query = new KeysetCriteriaQuery<>(entityManager, Exam.class, ExamRow.class);
+        CriteriaBuilder cb = query.cb();
+        Root<Exam> exam = query.root();
+        Join<Exam, Course> course = exam.join("course");
+
+        query.key("id", exam.get("id"), ExamRow::id)
+                .key("dateOfExam", exam.get("dateOfExam"), ExamRow::dateOfExam)
+                .key("startTime", exam.get("startTime"), ExamRow::startTime);
+        Window<ExamRow> rows = query.scroll(cb.construct(ExamRow.class,
+                exam.get("id"),
+                exam.get("session"),
+                exam.get("dateOfExam"),
+                exam.get("capacityOfStudents"),
+                exam.get("startTime"),
+                exam.get("endTime"),
+                course.get("id"),
+                course.get("courseCode"),
+                course.get("courseName"),
+                course.get("semester"),
+                course.get("academicYear")
+        ), pageRequest);
+
+        Map<Long, List<String>> laboratories = findReservedLaboratories(rows.stream().map(ExamRow::id).toList());
+        Map<Long, CourseStaff> staff = findCourseStaff(rows.stream().map(ExamRow::courseId).distinct().toList());
+        return rows.map(row -> new DisplayExamDto(
+                row.id(),
+                row.session(),
+                row.dateOfExam(),
+                row.capacityOfStudents(),
+                row.course().toDto(staff.get(row.courseId())),
+                laboratories.getOrDefault(row.id(), List.of()),
+                row.startTime(),
+                row.endTime()
+        ));
+    }
+
+    public Window<DisplayCourseEnrollmentDto> findEnrollmentsByCourseId(Long courseId, KeysetPageRequest pageRequest) {
+        KeysetCriteriaQuery<CourseEnrollment, DisplayCourseEnrollmentDto> query =
+                new KeysetCriteriaQuery<>(entityManager, CourseEnrollment.class, DisplayCourseEnrollmentDto.class);
+        CriteriaBuilder cb = query.cb();
+        Root<CourseEnrollment> enrollment = query.root();
+        Join<CourseEnrollment, Student> student = enrollment.join("student");
+        Join<Student, User> user = student.join("user");
+        Join<CourseEnrollment, Course> course = enrollment.join("course");
+
+        query.where(cb.equal(course.get("id"), courseId))
+                .key("id", enrollment.get("id"), DisplayCourseEnrollmentDto::id)
+                .key("student.studentIndex", student.get("studentIndex"), DisplayCourseEnrollmentDto::studentIndex);
+        return query.scroll(cb.construct(DisplayCourseEnrollmentDto.class,
+                enrollment.get("id"),
+                student.get("id"),
+                course.get("id"),
+                course.get("courseName"),
+                course.get("courseCode"),
+                course.get("semester"),
+                user.get("firstName"),
+                user.get("lastName"),
+                user.get("email"),
+                student.get("studentIndex"),
+                student.get("major")
+        ), pageRequest);
+    }
+
+    public List<DisplayCourseEnrollmentDto> findEnrollmentsByStudentId(Long studentId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DisplayCourseEnrollmentDto> query = cb.createQuery(DisplayCourseEnrollmentDto.class);
+        Root<CourseEnrollment> enrollment = query.from(CourseEnrollment.class);
+        Join<CourseEnrollment, Student> student = enrollment.join("student");
+        Join<Student, User> user = student.join("user");
+        Join<CourseEnrollment, Course> course = enrollment.join("course");
+
+        query.select(cb.construct(DisplayCourseEnrollmentDto.class,
+                        enrollment.get("id"),
+                        student.get("id"),
+                        course.get("id"),
+                        course.get("courseName"),
+                        course.get("courseCode"),
+                        course.get("semester"),
+                        user.get("firstName"),
+                        user.get("lastName"),
+                        user.get("email"),
+                        student.get("studentIndex"),
+                        student.get("major")
+                ))
+                .where(cb.equal(student.get("id"), studentId))
+                .orderBy(cb.asc(enrollment.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    public List<DisplayStudentExamRegistrationDto> findRegistrationsByStudentId(Long studentId) {
+        return findRegistrations("student", studentId);
+    }
+
+    public List<DisplayStudentExamRegistrationDto> findRegistrationsByExamId(Long examId) {
+        return findRegistrations("exam", examId);
+    }
+
+    public Window<DisplayStudentExamRegistrationDto> findRegistrationsByExamIdAndStatus(Long examId, ExamStatus examStatus, KeysetPageRequest pageRequest) {
+        KeysetCriteriaQuery<StudentExamRegistration, DisplayStudentExamRegistrationDto> query =
+                new KeysetCriteriaQuery<>(entityManager, StudentExamRegistration.class, DisplayStudentExamRegistrationDto.class);
+        CriteriaBuilder cb = query.cb();
+        Root<StudentExamRegistration> registration = query.root();
+        Join<StudentExamRegistration, Student> student = registration.join("student");
+        Join<StudentExamRegistration, Exam> exam = registration.join("exam");
+        Join<Exam, Course> course = exam.join("course");
+
+        query.where(cb.equal(exam.get("id"), examId))
+                .where(cb.equal(registration.get("examStatus"), examStatus))
+                .key("id", registration.get("id"), DisplayStudentExamRegistrationDto::id)
+                .key("student.studentIndex", student.get("studentIndex"), DisplayStudentExamRegistrationDto::studentIndex);
+        return query.scroll(cb.construct(DisplayStudentExamRegistrationDto.class,
+                registration.get("id"),
+                student.get("id"),
+                exam.get("id"),
+                registration.get("examStatus"),
+                student.get("studentIndex"),
+                course.get("courseCode"),
+                exam.get("session"),
+                exam.get("dateOfExam"),
+                exam.get("startTime")
+        ), pageRequest);
+    }
+
+    private List<DisplayStudentExamRegistrationDto> findRegistrations(String association, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DisplayStudentExamRegistrationDto> query = cb.createQuery(DisplayStudentExamRegistrationDto.class);
+        Root<StudentExamRegistration> registration = query.from(StudentExamRegistration.class);
+        Join<StudentExamRegistration, Student> student = registration.join("student");
+        Join<StudentExamRegistration, Exam> exam = registration.join("exam");
+        Join<Exam, Course> course = exam.join("course");
+
+        query.select(cb.construct(DisplayStudentExamRegistrationDto.class,
+                        registration.get("id"),
+                        student.get("id"),
+                        exam.get("id"),
+                        registration.get("examStatus"),
+                        student.get("studentIndex"),
+                        course.get("courseCode"),
+                        exam.get("session"),
+                        exam.get("dateOfExam"),
+                        exam.get("startTime")
+                ))
+                .where(cb.equal(registration.get(association).get("id"), id))
+                .orderBy(cb.asc(registration.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private Map<Long, CourseStaff> findCourseStaff(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return Map.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<CourseStaffAssignment> assignment = query.from(CourseStaffAssignment.class);
+        Join<CourseStaffAssignment, User> user = assignment.join("user");
+
+        query.multiselect(
+                        assignment.get("course").get("id"),
+                        assignment.get("staffRole"),
+                        cb.construct(DisplayUserDto.class,
+                                user.get("id"),
+                                user.get("firstName"),
+                                user.get("lastName"),
+                                user.get("email"),
+                                user.get("userRole")
+                        )
+                )
+                .where(assignment.get("course").get("id").in(courseIds))
+                .orderBy(cb.asc(assignment.get("id")));
+
+        Map<Long, CourseStaff> staff = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            CourseStaff courseStaff = staff.computeIfAbsent(row.get(0, Long.class), id -> new CourseStaff());
+            DisplayUserDto member = row.get(2, DisplayUserDto.class);
+            switch (row.get(1, StaffRole.class)) {
+                case PROFESSOR -> courseStaff.professors().add(member);
+                case ASSISTANT -> courseStaff.assistants().add(member);
+            }
+        }
+        return staff;
+    }
+
+    private Map<Long, List<String>> findReservedLaboratories(Collection<Long> examIds) {
+        if (examIds.isEmpty()) {
+            return Map.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Exam> exam = query.from(Exam.class);
+        Join<Exam, String> laboratory = exam.join("reservedLaboratories");
+
+        query.multiselect(exam.get("id"), laboratory)
+                .where(exam.get("id").in(examIds));
+
+        Map<Long, List<String>> laboratories = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            laboratories.computeIfAbsent(row.get(0, Long.class), id -> new ArrayList<>()).add(row.get(1, String.class));
+        }
+        return laboratories;
+    }
+
+    record CourseRow(Long id, String courseCode, String courseName, Integer semester, Integer academicYear) {
+
+        DisplayCourseDto toDto(CourseStaff staff) {
+            CourseStaff courseStaff = staff == null ? new CourseStaff() : staff;
+            return new DisplayCourseDto(
+                    id,
+                    courseCode,
+                    courseName,
+                    semester,
+                    academicYear,
+                    List.copyOf(courseStaff.professors()),
+                    List.copyOf(courseStaff.assistants())
+            );
+        }
+    }
+
+    record ExamRow(Long id, String session, LocalDate dateOfExam, Integer capacityOfStudents,
+                   LocalTime startTime, LocalTime endTime, Long courseId, String courseCode, String courseName,
+                   Integer courseSemester, Integer courseAcademicYear) {
+
+        CourseRow course() {
+            return new CourseRow(courseId, courseCode, courseName, courseSemester, courseAcademicYear);
+        }
+    }
+
+    private record CourseStaff(Set<DisplayUserDto> professors, Set<DisplayUserDto> assistants) {
+
+        CourseStaff() {
+            this(new LinkedHashSet<>(), new LinkedHashSet<>());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Nulls;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Criteria query that reads one keyset page of a projection. Each sortable property is registered with the
+ * expression to order by and the accessor that reads it back from the projected row, so the cursor for the
+ * next page comes from the rows themselves.
+ */
+final class KeysetCriteriaQuery<R, T> {
+
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+    private final CriteriaBuilder cb;
+    private final CriteriaQuery<T> query;
+    private final Root<R> root;
+    private final Map<String, Key<T>> keys = new HashMap<>();
+    private final List<Predicate> filters = new ArrayList<>();
+
+    KeysetCriteriaQuery(EntityManager entityManager, Class<R> rootType, Class<T> rowType) {
+        this.entityManager = entityManager;
+        this.cb = entityManager.getCriteriaBuilder();
+        this.query = cb.createQuery(rowType);
+        this.root = query.from(rootType);
+    }
+
+    CriteriaBuilder cb() {
+        return cb;
+    }
+
+    Root<R> root() {
+        return root;
+    }
+
+    KeysetCriteriaQuery<R, T> where(Predicate predicate) {
+        filters.add(predicate);
+        return this;
+    }
+
+    KeysetCriteriaQuery<R, T> key(String property, Expression<?> expression, Function<T, ?> accessor) {
+        keys.put(property, new Key<>(expression, accessor));
+        return this;
+    }
+
+    Window<T> scroll(Selection<T> row, KeysetPageRequest pageRequest) {
+        List<Sort.Order> orders = new ArrayList<>(pageRequest.sort().toList());
+        if (pageRequest.sort().getOrderFor(ID) == null) {
+            orders.add(Sort.Order.asc(ID));
+        }
+
+        // Nulls sort as the largest value, which is PostgreSQL's default, so the indexes still match the order.
+        List<Order> orderBy = new ArrayList<>();
+        for (Sort.Order order : orders) {
+            Expression<?> key = key(order.getProperty()).expression();
+            orderBy.add(order.isAscending() ? cb.asc(key, Nulls.LAST) : cb.desc(key, Nulls.FIRST));
+        }
+
+        List<Predicate> predicates = new ArrayList<>(filters);
+        Map<String, Object> position = pageRequest.position().getKeys();
+        if (!position.isEmpty()) {
+            predicates.add(after(orders, position));
+        }
+
+        query.select(row)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orderBy);
+
+        List<T> rows = entityManager.createQuery(query)
+                .setMaxResults(pageRequest.limit() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageRequest.limit();
+        List<T> items = hasNext ? rows.subList(0, pageRequest.limit()) : rows;
+        return Window.from(items, i -> ScrollPosition.forward(positionOf(items.get(i), orders)), hasNext);
+    }
+
+    private Map<String, Object> positionOf(T row, List<Sort.Order> orders) {
+        Map<String, Object> position = new LinkedHashMap<>();
+        for (Sort.Order order : orders) {
+            position.put(order.getProperty(), key(order.getProperty()).accessor().apply(row));
+        }
+        return position;
+    }
+
+    private Key<T> key(String property) {
+        Key<T> key = keys.get(property);
+        if (key == null) {
+            throw new IllegalStateException("No keyset expression registered for " + property);
+        }
+        return key;
+    }
+
+    // (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ... with the comparison flipped for descending keys and nulls after
+    // every value.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(List<Sort.Order> orders, Map<String, Object> position) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (Sort.Order order : orders) {
+            Expression key = key(order.getProperty()).expression();
+            Comparable value = (Comparable) position.get(order.getProperty());
+
+            List<Predicate> alternative = new ArrayList<>(equalities);
+            alternative.add(order.isAscending() ? greaterThan(key, value) : lessThan(key, value));
+            alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+            equalities.add(value == null ? cb.isNull(key) : cb.equal(key, value));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate greaterThan(Expression key, Comparable value) {
+        return value == null ? cb.disjunction() : cb.or(cb.greaterThan(key, value), cb.isNull(key));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate lessThan(Expression key, Comparable value) {
+        return value == null ? cb.isNotNull(key) : cb.lessThan(key, value);
+    }
+
+    private record Key<T>(Expression<?> expression, Function<T, ?> accessor) {
+    }
+}
@@ -1,5 +1,7 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateCourseDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseDto;
 
@@ -8,7 +10,7 @@ import java.util.Optional;
 
 public interface CourseApplicationService {
 
-    List<DisplayCourseDto> findAll();
+    CursorPageDto<DisplayCourseDto> findAll(PageQueryDto pageQuery);
 
     List<DisplayCourseDto> findAllWithStaff();
 
@@ -16,6 +18,10 @@ public interface CourseApplicationService {
 
     Optional<DisplayCourseDto> findByIdWithStaff(Long id);
 
+    List<DisplayCourseDto> findAllForStaff(Long userId);
+
+    List<DisplayCourseDto> findAllForStudent(Long userId);
+
     DisplayCourseDto save(CreateCourseDto createCourseDto);
 
     Optional<DisplayCourseDto> update(Long id, CreateCourseDto createCourseDto);
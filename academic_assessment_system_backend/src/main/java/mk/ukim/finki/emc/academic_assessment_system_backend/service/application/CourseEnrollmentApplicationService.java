@@ -1,9 +1,10 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateCourseEnrollmentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseEnrollmentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseEnrollment;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,9 +23,7 @@ public interface CourseEnrollmentApplicationService {
 
     byte[] exportStudentsCsv(Long courseId);
 
-    int importStudentsCsv(Long courseId, MultipartFile file);
-
-    List<DisplayCourseEnrollmentDto> findAllByCourseIdWithStudentAndUser(Long courseId);
+    CursorPageDto<DisplayCourseEnrollmentDto> findAllByCourseIdWithStudentAndUser(Long courseId, PageQueryDto pageQuery);
 
     List<DisplayCourseEnrollmentDto> findAllByStudentId(Long studentId);
 
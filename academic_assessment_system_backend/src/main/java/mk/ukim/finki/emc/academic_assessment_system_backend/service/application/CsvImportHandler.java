@@ -0,0 +1,31 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.service.application;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportChunkResultDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One kind of CSV import, processed by the import job engine in chunks. Each chunk runs in the
+ * transaction that also advances the job checkpoint, so a chunk is applied exactly once.
+ */
+public interface CsvImportHandler {
+
+    ImportJobType getImportJobType();
+
+    CSVFormat getCsvFormat();
+
+    void validateImportTarget(Long targetId);
+
+    ImportChunkResultDto importChunk(Long targetId, List<CSVRecord> records);
+
+    /**
+     * Runs after the last chunk, for work that needs the whole file (e.g. marking absentees).
+     */
+    default ImportChunkResultDto completeImport(Long targetId) {
+        return ImportChunkResultDto.of(Map.of());
+    }
+}
@@ -1,15 +1,18 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateExamDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayExamDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface ExamApplicationService {
 
-    List<DisplayExamDto> findAll();
+    CursorPageDto<DisplayExamDto> findAll(PageQueryDto pageQuery);
 
     Optional<DisplayExamDto> findById(Long id);
 
@@ -21,4 +24,10 @@ public interface ExamApplicationService {
 
     List<DisplayExamDto> findAllByCourseId(Long courseId);
 
+    List<DisplayExamDto> findFeedForStaff(Long userId, LocalDate from, LocalDate to);
+
+    List<DisplayExamDto> findFeedForStudent(Long userId, LocalDate from, LocalDate to);
+
+    List<DisplayExamDto> findAllByReservedLaboratory(String laboratory);
+
 }
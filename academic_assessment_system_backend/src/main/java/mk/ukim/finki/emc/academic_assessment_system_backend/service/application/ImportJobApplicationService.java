@@ -0,0 +1,19 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.service.application;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayImportJobDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+
+public interface ImportJobApplicationService {
+
+    DisplayImportJobDto submit(ImportJobType type, Long targetId, MultipartFile file, JwtUserPrincipal requester);
+
+    /**
+     * Empty when the job does not exist or belongs to someone else; only administrators see every job.
+     */
+    Optional<DisplayImportJobDto> findById(Long jobId, JwtUserPrincipal requester);
+
+}
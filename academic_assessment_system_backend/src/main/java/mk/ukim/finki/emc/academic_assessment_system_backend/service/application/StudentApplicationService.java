@@ -1,5 +1,7 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateStudentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
@@ -9,7 +11,7 @@ import java.util.Optional;
 
 public interface StudentApplicationService {
 
-    List<DisplayStudentDto> findAll();
+    CursorPageDto<DisplayStudentDto> findAll(PageQueryDto pageQuery);
 
     Optional<DisplayStudentDto> findById(Long id);
 
@@ -1,9 +1,11 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateStudentExamRegistrationDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayExamWaitlistEntryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentExamRegistrationDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStatus;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,14 +24,16 @@ public interface StudentExamRegistrationApplicationService {
 
     DisplayStudentExamRegistrationDto registerCurrentStudent(String email, Long examId);
 
+    DisplayExamWaitlistEntryDto joinWaitlistForCurrentStudent(String email, Long examId);
+
+    Optional<DisplayExamWaitlistEntryDto> findWaitlistEntryForCurrentStudent(String email, Long examId);
+
     List<DisplayStudentExamRegistrationDto> findStudentExamRegistrationByStudentId(Long studentId);
 
     List<DisplayStudentExamRegistrationDto> findAllByExamId(Long examId);
 
-    List<DisplayStudentExamRegistrationDto> findAllByExamIdAndExamStatus(Long examId, ExamStatus status);
+    CursorPageDto<DisplayStudentExamRegistrationDto> findAllByExamIdAndExamStatus(Long examId, ExamStatus status, PageQueryDto pageQuery);
 
     byte[] exportStudentsByExamStatusCsv(Long courseId, ExamStatus examStatus);
 
-    int importStudentsCsv(Long courseId, MultipartFile file);
-
 }
@@ -1,5 +1,7 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.LoginUserRequestDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.LoginUserResponseDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.RegisterUserRequestDto;
@@ -9,18 +11,18 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.D
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayUserDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayUserStudentDto;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserApplicationService {
 
-    List<DisplayUserDto> findAll();
+    CursorPageDto<DisplayUserDto> findAll(PageQueryDto pageQuery);
 
     List<DisplayUserDto> findAllStaff();
 
-    List<DisplayUserStudentDto> findAllStudents();
+    CursorPageDto<DisplayUserStudentDto> findAllStudents(PageQueryDto pageQuery);
 
     Optional<DisplayUserDto> findById(Long id);
 
@@ -36,9 +38,7 @@ public interface UserApplicationService {
 
     Optional<RegisterUserResponseDto> findByEmail(String email);
 
-    byte[] exportUsersToCsv();
-
-    Object importUsersFromCsv(MultipartFile file);
+    void exportUsersToCsv(OutputStream outputStream);
 
     DisplayMyProfileDto myProfile(Long userId);
 
@@ -1,35 +1,59 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application.implementation;
 
 import jakarta.transaction.Transactional;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateCourseDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPageRequest;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPagination;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ReferenceDataCacheEvictor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.SortAllowList;
 import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.StaffAssignmentHelper;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.projection.DisplayQueryRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.CourseService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.CourseStaffAssignmentService;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class CourseApplicationServiceImpl implements CourseApplicationService {
 
+    private static final SortAllowList COURSE_SORTS = SortAllowList.of(Course.class,
+            Sort.by(Sort.Order.desc("academicYear"), Sort.Order.desc("semester"), Sort.Order.asc("courseCode")),
+            Map.of(
+                    "id", "id",
+                    "courseCode", "courseCode",
+                    "academicYear", "academicYear",
+                    "semester", "semester"
+            ));
+
     private final CourseService courseService;
     private final CourseStaffAssignmentService courseStaffAssignmentService;
     private final StaffAssignmentHelper staffAssignmentHelper;
+    private final KeysetPagination keysetPagination;
+    private final DisplayQueryRepository displayQueryRepository;
+    private final ReferenceDataCacheEvictor referenceDataCacheEvictor;
 
-    public CourseApplicationServiceImpl(CourseService courseService, CourseStaffAssignmentService courseStaffAssignmentService, StaffAssignmentHelper staffAssignmentHelper) {
+    public CourseApplicationServiceImpl(CourseService courseService, CourseStaffAssignmentService courseStaffAssignmentService, StaffAssignmentHelper staffAssignmentHelper, KeysetPagination keysetPagination, DisplayQueryRepository displayQueryRepository, ReferenceDataCacheEvictor referenceDataCacheEvictor) {
         this.courseService = courseService;
         this.courseStaffAssignmentService = courseStaffAssignmentService;
         this.staffAssignmentHelper = staffAssignmentHelper;
+        this.keysetPagination = keysetPagination;
+        this.displayQueryRepository = displayQueryRepository;
+        this.referenceDataCacheEvictor = referenceDataCacheEvictor;
     }
 
     @Override
-    public List<DisplayCourseDto> findAll() {
-        return DisplayCourseDto
-                .from(courseService.findAll());
+    public CursorPageDto<DisplayCourseDto> findAll(PageQueryDto pageQuery) {
+        KeysetPageRequest pageRequest = keysetPagination.resolve(pageQuery, COURSE_SORTS);
+        return keysetPagination.toPage(displayQueryRepository.findCourses(pageRequest), pageRequest);
     }
 
     @Override
@@ -52,6 +76,18 @@ public class CourseApplicationServiceImpl implements CourseApplicationService {
                 .map(DisplayCourseDto::from);
     }
 
+    @Override
+    public List<DisplayCourseDto> findAllForStaff(Long userId) {
+        return DisplayCourseDto
+                .from(courseService.findAllWithStaffByStaffUserId(userId));
+    }
+
+    @Override
+    public List<DisplayCourseDto> findAllForStudent(Long userId) {
+        return DisplayCourseDto
+                .from(courseService.findAllWithStaffByStudentUserId(userId));
+    }
+
     @Override
     @Transactional
     public DisplayCourseDto save(CreateCourseDto createCourseDto) {
@@ -72,6 +108,7 @@ public class CourseApplicationServiceImpl implements CourseApplicationService {
         if (course == null) return Optional.empty();
 
         courseService.update(id, createCourseDto.toCourse());
+        referenceDataCacheEvictor.evictCourse(id);
 
         courseStaffAssignmentService.deleteByCourseId(id);
 
@@ -92,6 +129,7 @@ public class CourseApplicationServiceImpl implements CourseApplicationService {
         courseStaffAssignmentService.deleteByCourseId(id);
 
         courseService.deleteById(id);
+        referenceDataCacheEvictor.evictCourse(id);
         return Optional.of(DisplayCourseDto.from(course));
     }
 }
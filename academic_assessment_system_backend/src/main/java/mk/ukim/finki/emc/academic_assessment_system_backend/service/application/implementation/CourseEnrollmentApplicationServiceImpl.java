@@ -1,38 +1,55 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application.implementation;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportChunkResultDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportRowErrorDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateCourseEnrollmentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseEnrollmentDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPageRequest;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPagination;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.SortAllowList;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseEnrollment;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.projection.DisplayQueryRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseEnrollmentApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CsvImportHandler;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.CourseEnrollmentService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.CourseService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentService;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
-public class CourseEnrollmentApplicationServiceImpl implements CourseEnrollmentApplicationService {
+public class CourseEnrollmentApplicationServiceImpl implements CourseEnrollmentApplicationService, CsvImportHandler {
+
+    private static final SortAllowList ENROLLMENT_SORTS = SortAllowList.of(CourseEnrollment.class, Sort.by("id"), Map.of(
+            "id", "id",
+            "studentIndex", "student.studentIndex"
+    ));
 
     private final CourseEnrollmentService courseEnrollmentService;
     private final StudentService studentService;
     private final CourseService courseService;
+    private final KeysetPagination keysetPagination;
+    private final DisplayQueryRepository displayQueryRepository;
 
-    public CourseEnrollmentApplicationServiceImpl(CourseEnrollmentService courseEnrollmentService, StudentService studentService, CourseService courseService) {
+    public CourseEnrollmentApplicationServiceImpl(CourseEnrollmentService courseEnrollmentService, StudentService studentService, CourseService courseService, KeysetPagination keysetPagination, DisplayQueryRepository displayQueryRepository) {
         this.courseEnrollmentService = courseEnrollmentService;
         this.studentService = studentService;
         this.courseService = courseService;
+        this.keysetPagination = keysetPagination;
+        this.displayQueryRepository = displayQueryRepository;
     }
 
     @Override
@@ -101,73 +118,88 @@ public class CourseEnrollmentApplicationServiceImpl implements CourseEnrollmentA
     }
 
     @Override
-    public int importStudentsCsv(Long courseId, MultipartFile file) {
-        Course course = courseService.findById(courseId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found"));
-
-        if (file == null || file.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV file is required");
-        }
+    public ImportJobType getImportJobType() {
+        return ImportJobType.COURSE_ENROLLMENTS;
+    }
 
-        int created = 0;
+    @Override
+    public CSVFormat getCsvFormat() {
+        return CSVFormat.DEFAULT
+                .builder()
+                .setTrim(true)
+                .setIgnoreEmptyLines(true)
+                .build();
+    }
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)
-        )) {
-            String line;
-            boolean firstLine = true;
+    @Override
+    public void validateImportTarget(Long courseId) {
+        if (courseId == null || courseService.findById(courseId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
+        }
+    }
 
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
+    @Override
+    public ImportChunkResultDto importChunk(Long courseId, List<CSVRecord> records) {
+        Course course = courseService.findById(courseId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found"));
 
-                if (firstLine) {
-                    firstLine = false;
-                    if (line.toLowerCase().contains("studentindex")) {
-                        continue;
-                    }
-                }
+        List<ImportRowErrorDto> errors = new ArrayList<>();
+        Map<String, Long> rowByStudentIndex = new LinkedHashMap<>();
 
-                String[] parts = line.split(",", -1);
-                String studentIndex = parts[0].trim();
+        for (CSVRecord r : records) {
+            String studentIndex = r.get(0);
 
-                if (studentIndex.isEmpty()) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                            "Empty studentIndex in row: " + line);
-                }
+            // Header is optional: only the very first line may be one.
+            if (r.getRecordNumber() == 1 && studentIndex.toLowerCase().contains("studentindex")) {
+                continue;
+            }
 
-                Student student = studentService.findByStudentIndex(studentIndex)
-                        .orElseThrow(() -> new ResponseStatusException(
-                                HttpStatus.BAD_REQUEST, "Student not found for index: " + studentIndex
-                        ));
+            if (studentIndex.isEmpty()) {
+                errors.add(new ImportRowErrorDto(r.getRecordNumber(), null, "Empty studentIndex"));
+                continue;
+            }
 
-                if (courseEnrollmentService.exists(courseId, student.getId())) {
-                    continue;
-                }
+            rowByStudentIndex.putIfAbsent(studentIndex, r.getRecordNumber());
+        }
 
-                CourseEnrollment ce = new CourseEnrollment();
-                ce.setCourse(course);
-                ce.setStudent(student);
+        Map<String, Student> studentsByIndex = new HashMap<>();
+        for (Student student : studentService.findAllByStudentIndexIn(rowByStudentIndex.keySet())) {
+            studentsByIndex.put(student.getStudentIndex(), student);
+        }
 
-                courseEnrollmentService.save(ce);
-                created++;
+        List<Long> studentIds = studentsByIndex.values().stream()
+                .map(Student::getId)
+                .toList();
+        Set<Long> alreadyEnrolled = courseEnrollmentService.findEnrolledStudentIds(courseId, studentIds);
+
+        List<CourseEnrollment> enrollments = new ArrayList<>();
+        int skipped = 0;
+        for (Map.Entry<String, Long> entry : rowByStudentIndex.entrySet()) {
+            Student student = studentsByIndex.get(entry.getKey());
+            if (student == null) {
+                errors.add(new ImportRowErrorDto(entry.getValue(), entry.getKey(), "Student not found for index: " + entry.getKey()));
+                continue;
             }
-
-            return created;
-
-        } catch (IOException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read CSV file");
+            if (alreadyEnrolled.contains(student.getId())) {
+                skipped++;
+                continue;
+            }
+            enrollments.add(new CourseEnrollment(student, course));
         }
+
+        courseEnrollmentService.saveAll(enrollments);
+        return new ImportChunkResultDto(Map.of("enrolled", enrollments.size(), "alreadyEnrolled", skipped), errors);
     }
 
     @Override
-    public List<DisplayCourseEnrollmentDto> findAllByCourseIdWithStudentAndUser(Long courseId) {
-        return DisplayCourseEnrollmentDto.from(courseEnrollmentService.findAllByCourseIdWithStudentAndUser(courseId));
+    public CursorPageDto<DisplayCourseEnrollmentDto> findAllByCourseIdWithStudentAndUser(Long courseId, PageQueryDto pageQuery) {
+        KeysetPageRequest pageRequest = keysetPagination.resolve(pageQuery, ENROLLMENT_SORTS);
+        return keysetPagination.toPage(displayQueryRepository.findEnrollmentsByCourseId(courseId, pageRequest), pageRequest);
     }
 
     @Override
     public List<DisplayCourseEnrollmentDto> findAllByStudentId(Long studentId) {
-        return DisplayCourseEnrollmentDto.from(courseEnrollmentService.findAllByStudentId(studentId));
+        return displayQueryRepository.findEnrollmentsByStudentId(studentId);
     }
 
     private String escapeCsv(String value) {
@@ -1,30 +1,59 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application.implementation;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateExamDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayExamDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPageRequest;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPagination;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.SortAllowList;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.projection.DisplayQueryRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.ExamApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.CourseService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamService;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class ExamApplicationServiceImpl implements ExamApplicationService {
 
+    private static final SortAllowList EXAM_SORTS = SortAllowList.of(Exam.class,
+            Sort.by(Sort.Order.desc("dateOfExam"), Sort.Order.asc("startTime")),
+            Map.of(
+                    "id", "id",
+                    "dateOfExam", "dateOfExam",
+                    "startTime", "startTime"
+            ));
+
     private final ExamService examService;
+    private final CourseService courseService;
+    private final KeysetPagination keysetPagination;
+    private final DisplayQueryRepository displayQueryRepository;
 
-    public ExamApplicationServiceImpl(ExamService examService) {
+    public ExamApplicationServiceImpl(ExamService examService, CourseService courseService, KeysetPagination keysetPagination, DisplayQueryRepository displayQueryRepository) {
         this.examService = examService;
+        this.courseService = courseService;
+        this.keysetPagination = keysetPagination;
+        this.displayQueryRepository = displayQueryRepository;
     }
 
     @Override
-    public List<DisplayExamDto> findAll() {
-        return DisplayExamDto
-                .from(examService.findAll());
+    public CursorPageDto<DisplayExamDto> findAll(PageQueryDto pageQuery) {
+        KeysetPageRequest pageRequest = keysetPagination.resolve(pageQuery, EXAM_SORTS);
+        return keysetPagination.toPage(displayQueryRepository.findExams(pageRequest), pageRequest);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<DisplayExamDto> findById(Long id) {
         return examService
                 .findById(id)
@@ -32,12 +61,14 @@ public class ExamApplicationServiceImpl implements ExamApplicationService {
     }
 
     @Override
+    @Transactional
     public DisplayExamDto save(CreateExamDto createExamDto) {
         return DisplayExamDto
                 .from(examService.save(createExamDto.toExam()));
     }
 
     @Override
+    @Transactional
     public Optional<DisplayExamDto> update(Long id, CreateExamDto createExamDto) {
         return examService
                 .update(id, createExamDto.toExam())
@@ -45,6 +76,7 @@ public class ExamApplicationServiceImpl implements ExamApplicationService {
     }
 
     @Override
+    @Transactional
     public Optional<DisplayExamDto> deleteById(Long id) {
         return examService
                 .deleteById(id)
@@ -52,8 +84,41 @@ public class ExamApplicationServiceImpl implements ExamApplicationService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<DisplayExamDto> findAllByCourseId(Long courseId) {
         return DisplayExamDto.from(examService
                 .findAllByCourseId(courseId));
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DisplayExamDto> findFeedForStaff(Long userId, LocalDate from, LocalDate to) {
+        return toFeed(examService.findFeedForStaffUser(userId, from, to));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DisplayExamDto> findFeedForStudent(Long userId, LocalDate from, LocalDate to) {
+        return toFeed(examService.findFeedForStudentUser(userId, from, to));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DisplayExamDto> findAllByReservedLaboratory(String laboratory) {
+        return toFeed(examService.findAllByReservedLaboratory(laboratory));
+    }
+
+    private List<DisplayExamDto> toFeed(List<Exam> exams) {
+        initializeCourseStaff(exams);
+        return DisplayExamDto.from(exams);
+    }
+
+    private void initializeCourseStaff(List<Exam> exams) {
+        // The exam queries fetch the courses; one more query initializes the staff of all those
+        // courses in the same persistence context, instead of two lazy loads per course.
+        Set<Long> courseIds = exams.stream()
+                .map(exam -> exam.getCourse().getId())
+                .collect(Collectors.toSet());
+        courseService.findAllWithStaffByIdIn(courseIds);
+    }
 }
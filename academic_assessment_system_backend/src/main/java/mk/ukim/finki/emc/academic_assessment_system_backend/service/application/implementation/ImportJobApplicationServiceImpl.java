@@ -0,0 +1,75 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.service.application.implementation;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayImportJobDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ImportJobExecutor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ImportJob;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ImportJobErrorRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ImportJobRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.ImportJobApplicationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class ImportJobApplicationServiceImpl implements ImportJobApplicationService {
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final ImportJobExecutor importJobExecutor;
+    private final Path spoolDirectory;
+
+    public ImportJobApplicationServiceImpl(ImportJobRepository importJobRepository,
+                                           ImportJobErrorRepository importJobErrorRepository,
+                                           ImportJobExecutor importJobExecutor,
+                                           @Value("${import-jobs.spool-dir:${java.io.tmpdir}/academic-assessment-imports}") String spoolDirectory) {
+        this.importJobRepository = importJobRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        this.importJobExecutor = importJobExecutor;
+        this.spoolDirectory = Path.of(spoolDirectory);
+    }
+
+    @Override
+    public DisplayImportJobDto submit(ImportJobType type, Long targetId, MultipartFile file, JwtUserPrincipal requester) {
+        importJobExecutor.getHandler(type).validateImportTarget(targetId);
+
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV file is required");
+        }
+
+        Path spooled;
+        try {
+            Files.createDirectories(spoolDirectory);
+            spooled = spoolDirectory.resolve(type.name().toLowerCase() + "-" + UUID.randomUUID() + ".csv");
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not store uploaded CSV file", e);
+        }
+
+        ImportJob job = new ImportJob(type, targetId, spooled.toAbsolutePath().toString(), requester.id());
+        importJobExecutor.takeOwnership(job);
+        job = importJobRepository.save(job);
+        importJobExecutor.dispatch(job.getId());
+
+        return DisplayImportJobDto.from(job, List.of());
+    }
+
+    @Override
+    public Optional<DisplayImportJobDto> findById(Long jobId, JwtUserPrincipal requester) {
+        return importJobRepository
+                .findById(jobId)
+                .filter(job -> requester.role() == UserRole.ADMINISTRATOR || requester.id().equals(job.getCreatedBy()))
+                .map(job -> DisplayImportJobDto.from(job, importJobErrorRepository.findAllByJobIdOrderByRowNumber(jobId)));
+    }
+}
@@ -1,11 +1,12 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application.implementation;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.AuthRateLimiter;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.PasswordHashingExecutor;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.PasswordResetToken;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
 import mk.ukim.finki.emc.academic_assessment_system_backend.repository.PasswordResetTokenRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.repository.UserRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.PasswordResetApplicationService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,19 +18,24 @@ public class PasswordResetApplicationServiceImpl implements PasswordResetApplica
 
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository tokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AuthRateLimiter authRateLimiter;
 
     public PasswordResetApplicationServiceImpl(UserRepository userRepository,
                                                PasswordResetTokenRepository tokenRepository,
-                                               PasswordEncoder passwordEncoder) {
+                                               PasswordHashingExecutor passwordHashingExecutor,
+                                               AuthRateLimiter authRateLimiter) {
         this.userRepository = userRepository;
         this.tokenRepository = tokenRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.authRateLimiter = authRateLimiter;
     }
 
     @Override
     @Transactional
     public String requestReset(String email) {
+        authRateLimiter.checkEmail(AuthRateLimiter.PASSWORD_RESET, email);
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User with that email does not exist"));
 
@@ -58,7 +64,7 @@ public class PasswordResetApplicationServiceImpl implements PasswordResetApplica
         }
 
         User user = prt.getUser();
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingExecutor.encode(newPassword));
         userRepository.save(user);
 
         prt.setUsed(true);
@@ -1,38 +1,56 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application.implementation;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateStudentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPageRequest;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPagination;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.SortAllowList;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.projection.DisplayQueryRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.StudentApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.UserService;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class StudentApplicationServiceImpl implements StudentApplicationService {
 
+    private static final SortAllowList STUDENT_SORTS = SortAllowList.of(Student.class, Sort.by("id"), Map.of(
+            "id", "id",
+            "studentIndex", "studentIndex"
+    ));
+
     private final StudentService studentService;
     private final UserService userService;
+    private final KeysetPagination keysetPagination;
+    private final DisplayQueryRepository displayQueryRepository;
 
-    public StudentApplicationServiceImpl(StudentService studentService, UserService userService) {
+    public StudentApplicationServiceImpl(StudentService studentService, UserService userService, KeysetPagination keysetPagination, DisplayQueryRepository displayQueryRepository) {
         this.studentService = studentService;
         this.userService = userService;
+        this.keysetPagination = keysetPagination;
+        this.displayQueryRepository = displayQueryRepository;
     }
 
     @Override
-    public List<DisplayStudentDto> findAll() {
-        return DisplayStudentDto
-                .from(studentService.findAll());
+    public CursorPageDto<DisplayStudentDto> findAll(PageQueryDto pageQuery) {
+        KeysetPageRequest pageRequest = keysetPagination.resolve(pageQuery, STUDENT_SORTS);
+        return keysetPagination.toPage(displayQueryRepository.findStudents(pageRequest), pageRequest);
     }
 
     @Override
     public Optional<DisplayStudentDto> findById(Long id) {
         return studentService
-                .findById(id)
+                .findWithUserById(id)
                 .map(DisplayStudentDto::from);
     }
 
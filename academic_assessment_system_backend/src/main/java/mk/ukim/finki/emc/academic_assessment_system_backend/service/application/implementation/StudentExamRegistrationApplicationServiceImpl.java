@@ -1,41 +1,65 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application.implementation;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportChunkResultDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateStudentExamRegistrationDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayExamWaitlistEntryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentExamRegistrationDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPageRequest;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPagination;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.SortAllowList;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ExamWaitlistEntry;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStatus;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.projection.DisplayQueryRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CsvImportHandler;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.StudentExamRegistrationApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamWaitlistService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentExamRegistrationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.UserService;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
-public class StudentExamRegistrationApplicationServiceImpl implements StudentExamRegistrationApplicationService {
+public class StudentExamRegistrationApplicationServiceImpl implements StudentExamRegistrationApplicationService, CsvImportHandler {
+
+    private static final SortAllowList REGISTRATION_SORTS = SortAllowList.of(StudentExamRegistration.class, Sort.by("id"), Map.of(
+            "id", "id",
+            "studentIndex", "student.studentIndex"
+    ));
 
     private final StudentExamRegistrationService studentExamRegistrationService;
     private final StudentService studentService;
     private final ExamService examService;
     private final UserService userService;
+    private final KeysetPagination keysetPagination;
+    private final DisplayQueryRepository displayQueryRepository;
+    private final ExamWaitlistService examWaitlistService;
 
-    public StudentExamRegistrationApplicationServiceImpl(StudentExamRegistrationService studentExamRegistrationService, StudentService studentService, ExamService examService, UserService userService) {
+    public StudentExamRegistrationApplicationServiceImpl(StudentExamRegistrationService studentExamRegistrationService, StudentService studentService, ExamService examService, UserService userService, KeysetPagination keysetPagination, DisplayQueryRepository displayQueryRepository, ExamWaitlistService examWaitlistService) {
         this.studentExamRegistrationService = studentExamRegistrationService;
         this.studentService = studentService;
         this.examService = examService;
         this.userService = userService;
+        this.keysetPagination = keysetPagination;
+        this.displayQueryRepository = displayQueryRepository;
+        this.examWaitlistService = examWaitlistService;
     }
 
     @Override
@@ -79,7 +103,29 @@ public class StudentExamRegistrationApplicationServiceImpl implements StudentExa
 
     @Override
     public DisplayStudentExamRegistrationDto registerCurrentStudent(String email, Long examId) {
-        User user = userService.findByEmail(email)
+        Student student = currentStudent(email);
+        return DisplayStudentExamRegistrationDto.from(studentExamRegistrationService.register(student, examId));
+    }
+
+    @Override
+    public DisplayExamWaitlistEntryDto joinWaitlistForCurrentStudent(String email, Long examId) {
+        Student student = currentStudent(email);
+        return toWaitlistDto(examWaitlistService.join(student.getId(), examId));
+    }
+
+    @Override
+    public Optional<DisplayExamWaitlistEntryDto> findWaitlistEntryForCurrentStudent(String email, Long examId) {
+        Student student = currentStudent(email);
+        return examWaitlistService.findByStudentIdAndExamId(student.getId(), examId)
+                .map(this::toWaitlistDto);
+    }
+
+    private DisplayExamWaitlistEntryDto toWaitlistDto(ExamWaitlistEntry entry) {
+        return DisplayExamWaitlistEntryDto.from(entry, examWaitlistService.position(entry), examWaitlistService.waiting(entry.getExam().getId()));
+    }
+
+    private Student currentStudent(String email) {
+        User user = userService.findWithStudentByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (user.getUserRole() != UserRole.STUDENT) {
@@ -90,23 +136,23 @@ public class StudentExamRegistrationApplicationServiceImpl implements StudentExa
         if (student == null) {
             throw new RuntimeException("Student profile not found for this user");
         }
-
-        return DisplayStudentExamRegistrationDto.from(studentExamRegistrationService.register(student.getId(), examId));
+        return student;
     }
 
     @Override
     public List<DisplayStudentExamRegistrationDto> findStudentExamRegistrationByStudentId(Long studentId) {
-        return DisplayStudentExamRegistrationDto.from(studentExamRegistrationService.findStudentExamRegistrationByStudentId(studentId));
+        return displayQueryRepository.findRegistrationsByStudentId(studentId);
     }
 
     @Override
     public List<DisplayStudentExamRegistrationDto> findAllByExamId(Long examId) {
-        return DisplayStudentExamRegistrationDto.from(studentExamRegistrationService.findAllByExamId(examId));
+        return displayQueryRepository.findRegistrationsByExamId(examId);
     }
 
     @Override
-    public List<DisplayStudentExamRegistrationDto> findAllByExamIdAndExamStatus(Long examId, ExamStatus status) {
-        return DisplayStudentExamRegistrationDto.from(studentExamRegistrationService.findAllByExamIdAndExamStatus(examId, status));
+    public CursorPageDto<DisplayStudentExamRegistrationDto> findAllByExamIdAndExamStatus(Long examId, ExamStatus status, PageQueryDto pageQuery) {
+        KeysetPageRequest pageRequest = keysetPagination.resolve(pageQuery, REGISTRATION_SORTS);
+        return keysetPagination.toPage(displayQueryRepository.findRegistrationsByExamIdAndStatus(examId, status, pageRequest), pageRequest);
     }
 
     @Override
@@ -130,76 +176,67 @@ public class StudentExamRegistrationApplicationServiceImpl implements StudentExa
         return sb.toString().getBytes(StandardCharsets.UTF_8);
     }
 
-    @Transactional
     @Override
-    public int importStudentsCsv(Long examId, MultipartFile file) {
+    public ImportJobType getImportJobType() {
+        return ImportJobType.EXAM_ATTENDANCE;
+    }
 
-        List<StudentExamRegistration> allRegs =
-                studentExamRegistrationService.findAllByExamId(examId);
+    @Override
+    public CSVFormat getCsvFormat() {
+        return CSVFormat.DEFAULT
+                .builder()
+                .setTrim(true)
+                .setIgnoreEmptyLines(true)
+                .build();
+    }
 
-        Map<String, StudentExamRegistration> regByStudentIndex = allRegs.stream()
-                .collect(Collectors.toMap(
-                        r -> r.getStudent().getStudentIndex(),
-                        r -> r
-                ));
+    @Override
+    public void validateImportTarget(Long examId) {
+        if (examId == null || examService.findById(examId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Exam not found");
+        }
+    }
 
+    @Override
+    public ImportChunkResultDto importChunk(Long examId, List<CSVRecord> records) {
         Set<String> attendedIndexes = new HashSet<>();
         int validLines = 0;
 
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)
-        )) {
-            String line = br.readLine();
-            if (line == null) return 0;
-
-            boolean hasHeader = line.toLowerCase().contains("studentindex");
-            if (!hasHeader) {
-                if (consumeLine(line, attendedIndexes)) validLines++;
-            }
-
-            while ((line = br.readLine()) != null) {
-                if (line.isBlank()) continue;
-                if (consumeLine(line, attendedIndexes)) validLines++;
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to import CSV", e);
-        }
-
-        for (String studentIndex : attendedIndexes) {
-            StudentExamRegistration reg = regByStudentIndex.get(studentIndex);
-            if (reg == null) continue;
-            if (reg.getExamStatus() != ExamStatus.ATTENDED) {
-                reg.setExamStatus(ExamStatus.ATTENDED);
-            }
-        }
-
-        for (StudentExamRegistration reg : allRegs) {
-            if (reg.getExamStatus() == ExamStatus.REGISTERED) {
-                String studentIndex = reg.getStudent().getStudentIndex();
-                if (!attendedIndexes.contains(studentIndex)) {
-                    reg.setExamStatus(ExamStatus.ABSENT);
-                }
+        for (CSVRecord r : records) {
+            String first = r.get(0);
+            // Header is optional: only the very first line may be one.
+            if (r.getRecordNumber() == 1 && first.toLowerCase().contains("studentindex")) {
+                continue;
             }
+            if (consumeStudentIndex(first, attendedIndexes)) validLines++;
         }
 
-        for (StudentExamRegistration reg : allRegs) {
-            studentExamRegistrationService.save(reg);
-        }
+        // Each statement only matches rows whose status actually changes, so the update counts
+        // are exactly the per-transition counts.
+        int registeredToAttended = studentExamRegistrationService.updateStatusForStudentIndexes(
+                examId, ExamStatus.REGISTERED, ExamStatus.ATTENDED, attendedIndexes);
+        int absentToAttended = studentExamRegistrationService.updateStatusForStudentIndexes(
+                examId, ExamStatus.ABSENT, ExamStatus.ATTENDED, attendedIndexes);
+
+        return ImportChunkResultDto.of(Map.of(
+                "lines", validLines,
+                "registeredToAttended", registeredToAttended,
+                "absentToAttended", absentToAttended
+        ));
+    }
 
-        return validLines;
+    @Override
+    public ImportChunkResultDto completeImport(Long examId) {
+        int registeredToAbsent = studentExamRegistrationService.updateStatus(
+                examId, ExamStatus.REGISTERED, ExamStatus.ABSENT);
+        return ImportChunkResultDto.of(Map.of("registeredToAbsent", registeredToAbsent));
     }
 
-    private boolean consumeLine(String line, Set<String> attendedIds) {
-        try {
-            String[] parts = line.split(",", -1);
-            String first = parts[0].trim().replace("\"", "");
-            if (first.isBlank()) return false;
-            String studentIndex = first.trim().replace("\"", "");
-            attendedIds.add(studentIndex);
-            return true;
-        } catch (Exception ex) {
-            return false;
-        }
+    private boolean consumeStudentIndex(String value, Set<String> attendedIds) {
+        String studentIndex = value.trim().replace("\"", "");
+        if (studentIndex.isBlank()) return false;
+        attendedIds.add(studentIndex);
+        return true;
     }
 
     private String escapeCsv(String v) {
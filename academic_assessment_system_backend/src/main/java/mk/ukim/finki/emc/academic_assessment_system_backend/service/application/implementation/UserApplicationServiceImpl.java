@@ -1,62 +1,95 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.application.implementation;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CsvUserRowDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportChunkResultDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportRowErrorDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.LoginUserRequestDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.LoginUserResponseDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.RegisterUserRequestDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.RegisterUserResponseDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateUserDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.*;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.AuthRateLimiter;
 import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.JwtHelper;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPageRequest;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPagination;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.PasswordHashingExecutor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.SortAllowList;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.projection.DisplayQueryRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CsvImportHandler;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.UserApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.UserService;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStreamReader;
 import java.util.*;
 
 @Service
-public class UserApplicationServiceImpl implements UserApplicationService {
+public class UserApplicationServiceImpl implements UserApplicationService, CsvImportHandler {
+
+    private static final SortAllowList USER_SORTS = SortAllowList.of(User.class, Sort.by("id"), Map.of(
+            "id", "id",
+            "email", "email"
+    ));
+    private static final SortAllowList STUDENT_USER_SORTS = SortAllowList.of(User.class, Sort.by("id"), Map.of(
+            "id", "id",
+            "email", "email",
+            "studentIndex", "student.studentIndex"
+    ));
+
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
 
     private final UserService userService;
     private final JwtHelper jwtHelper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AuthRateLimiter authRateLimiter;
+    private final KeysetPagination keysetPagination;
+    private final DisplayQueryRepository displayQueryRepository;
 
-    public UserApplicationServiceImpl(UserService userService, JwtHelper jwtHelper, PasswordEncoder passwordEncoder) {
+    public UserApplicationServiceImpl(UserService userService, JwtHelper jwtHelper, PasswordHashingExecutor passwordHashingExecutor, AuthRateLimiter authRateLimiter, KeysetPagination keysetPagination, DisplayQueryRepository displayQueryRepository) {
         this.userService = userService;
         this.jwtHelper = jwtHelper;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.authRateLimiter = authRateLimiter;
+        this.keysetPagination = keysetPagination;
+        this.displayQueryRepository = displayQueryRepository;
     }
 
     @Override
-    public List<DisplayUserDto> findAll() {
-        return DisplayUserDto
-                .from(userService.findAll());
+    public CursorPageDto<DisplayUserDto> findAll(PageQueryDto pageQuery) {
+        KeysetPageRequest pageRequest = keysetPagination.resolve(pageQuery, USER_SORTS);
+        return keysetPagination.toPage(displayQueryRepository.findUsers(pageRequest), pageRequest);
     }
 
     @Override
     public List<DisplayUserDto> findAllStaff() {
-        return DisplayUserDto.from(userService.findAllByUserRole(UserRole.STAFF));
+        return displayQueryRepository.findUsersByRole(UserRole.STAFF);
     }
 
     @Override
-    public List<DisplayUserStudentDto> findAllStudents() {
-        return DisplayUserStudentDto.from(userService.findAllByUserRole(UserRole.STUDENT));
+    public CursorPageDto<DisplayUserStudentDto> findAllStudents(PageQueryDto pageQuery) {
+        KeysetPageRequest pageRequest = keysetPagination.resolve(pageQuery, STUDENT_USER_SORTS);
+        return keysetPagination.toPage(displayQueryRepository.findStudentUsers(pageRequest), pageRequest);
     }
 
     @Override
@@ -95,14 +128,18 @@ public class UserApplicationServiceImpl implements UserApplicationService {
 
     @Override
     public Optional<LoginUserResponseDto> login(LoginUserRequestDto loginUserRequestDto) {
+        authRateLimiter.checkEmail(AuthRateLimiter.LOGIN, loginUserRequestDto.email());
+
         User user = userService.findByEmail(loginUserRequestDto.email())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(loginUserRequestDto.password(), user.getPassword())) {
+        if (!passwordHashingExecutor.matches(loginUserRequestDto.password(), user.getPassword())) {
             throw new RuntimeException("Invalid email or password");
         }
 
-        String token = jwtHelper.generateToken(user.getEmail());
+        userService.rehashPasswordIfNeeded(user, loginUserRequestDto.password());
+
+        String token = jwtHelper.generateToken(user.getId(), user.getEmail(), user.getUserRole());
         return Optional.of(new LoginUserResponseDto(token));
 
     }
@@ -115,155 +152,170 @@ public class UserApplicationServiceImpl implements UserApplicationService {
     }
 
     @Override
-    public byte[] exportUsersToCsv() {
-        List<User> users = userService.findAll();
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             OutputStreamWriter writer = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
-             CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT
-                     .builder()
-                     .setHeader("firstName", "lastName", "email", "password", "academicRole", "studentIndex", "major")
-                     .build())
-        ) {
-            for (User u : users) {
-                Student s = u.getStudent();
-                String studentIndex = (s != null) ? s.getStudentIndex() : "";
-                String major = (s != null) ? s.getMajor() : "";
+    @Transactional(readOnly = true)
+    public void exportUsersToCsv(OutputStream outputStream) {
+        try (Stream<CsvUserRowDto> rows = userService.streamCsvRows()) {
+            OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT
+                    .builder()
+                    .setHeader("firstName", "lastName", "email", "password", "academicRole", "studentIndex", "major")
+                    .build());
 
+            int written = 0;
+            for (Iterator<CsvUserRowDto> it = rows.iterator(); it.hasNext(); ) {
+                CsvUserRowDto row = it.next();
                 printer.printRecord(
-                        u.getFirstName(),
-                        u.getLastName(),
-                        u.getEmail(),
-                        "",
-                        u.getUserRole().name(),
-                        studentIndex,
-                        major
+                        row.firstName(),
+                        row.lastName(),
+                        row.email(),
+                        row.password(),
+                        row.userRole().name(),
+                        Objects.toString(row.studentIndex(), ""),
+                        Objects.toString(row.major(), "")
                 );
+
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    printer.flush();
+                }
             }
 
             printer.flush();
-            return baos.toByteArray();
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to export users to CSV", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export users to CSV", e);
         }
     }
 
     @Override
-    @Transactional
-    public Map<String, Object> importUsersFromCsv(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("CSV file is required");
-        }
+    public ImportJobType getImportJobType() {
+        return ImportJobType.USERS;
+    }
 
+    @Override
+    public CSVFormat getCsvFormat() {
+        return CSVFormat.DEFAULT
+                .builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setTrim(true)
+                .build();
+    }
+
+    @Override
+    public void validateImportTarget(Long targetId) {
+    }
+
+    private record UserImportRow(long rowNumber, String firstName, String lastName, String email, String password,
+                                 UserRole role, String studentIndex, String major) {
+    }
+
+    @Override
+    public ImportChunkResultDto importChunk(Long targetId, List<CSVRecord> records) {
         int created = 0;
         int updated = 0;
 
-        List<Map<String, String>> errors = new ArrayList<>();
+        List<ImportRowErrorDto> errors = new ArrayList<>();
 
-        try (InputStreamReader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+        List<UserImportRow> rows = new ArrayList<>(records.size());
 
-            Iterable<CSVRecord> records = CSVFormat.DEFAULT
-                    .builder()
-                    .setHeader()
-                    .setSkipHeaderRecord(true)
-                    .setTrim(true)
-                    .build()
-                    .parse(reader);
-
-            for (CSVRecord r : records) {
-                try {
-                    String firstName = r.get("firstName");
-                    String lastName = r.get("lastName");
-                    String email = r.get("email");
-                    String password = r.get("password");
-                    String roleStr = r.get("academicRole");
-                    String studentIndex = getOptional(r, "studentIndex");
-                    String major = getOptional(r, "major");
-
-                    UserRole role = UserRole.valueOf(roleStr);
-
-                    if (isBlank(firstName) || isBlank(lastName) || isBlank(email)) {
-                        throw new IllegalArgumentException("firstName/lastName/email are required");
-                    }
+        for (CSVRecord r : records) {
+            try {
+                rows.add(parseImportRow(r));
+            } catch (Exception rowEx) {
+                errors.add(importError(r.getRecordNumber(), safeGet(r, "email"), rowEx.getMessage()));
+            }
+        }
 
-                    boolean isStudent = role == UserRole.STUDENT;
+        Set<String> emails = new HashSet<>();
+        for (UserImportRow row : rows) {
+            emails.add(row.email());
+        }
 
-                    if (isStudent) {
-                        if (isBlank(studentIndex) || isBlank(major)) {
-                            throw new IllegalArgumentException("studentIndex and major are required for STUDENT");
-                        }
-                    }
+        Map<String, User> usersByEmail = new HashMap<>();
+        for (User u : userService.findAllByEmailIn(emails)) {
+            usersByEmail.put(u.getEmail(), u);
+        }
+
+        Map<Long, String> encodedPasswords = encodePasswords(rows);
 
-                    Optional<User> existingOpt = userService.findByEmail(email);
+        Map<String, User> toSave = new LinkedHashMap<>();
+        for (UserImportRow row : rows) {
+            User u = usersByEmail.get(row.email());
+            boolean isStudent = row.role() == UserRole.STUDENT;
 
-                    if (existingOpt.isEmpty()) {
-                        if (isBlank(password)) {
-                            throw new IllegalArgumentException("password is required for new users");
-                        }
+            if (u == null) {
+                if (isBlank(row.password())) {
+                    errors.add(importError(row.rowNumber(), row.email(), "password is required for new users"));
+                    continue;
+                }
 
-                        User u = new User();
-                        u.setFirstName(firstName);
-                        u.setLastName(lastName);
-                        u.setEmail(email);
-                        u.setUserRole(role);
+                u = new User();
+                u.setEmail(row.email());
+                u.setFirstName(row.firstName());
+                u.setLastName(row.lastName());
+                u.setUserRole(row.role());
+                u.setPassword(encodedPasswords.get(row.rowNumber()));
+                u.setStudent(isStudent ? new Student(row.studentIndex(), row.major(), u) : null);
 
-                        u.setPassword(passwordEncoder.encode(password));
+                usersByEmail.put(row.email(), u);
+                created++;
 
-                        if (isStudent) {
-                            Student s = new Student(studentIndex, major, u);
-                            u.setStudent(s);
-                        } else {
-                            u.setStudent(null);
-                        }
+            } else {
+                u.setFirstName(row.firstName());
+                u.setLastName(row.lastName());
+                u.setUserRole(row.role());
 
-                        userService.save(u);
-                        created++;
+                if (!isBlank(row.password())) {
+                    u.setPassword(encodedPasswords.get(row.rowNumber()));
+                }
 
+                if (isStudent) {
+                    if (u.getStudent() == null) {
+                        u.setStudent(new Student(row.studentIndex(), row.major(), u));
                     } else {
-                        User u = existingOpt.get();
-                        u.setFirstName(firstName);
-                        u.setLastName(lastName);
-                        u.setUserRole(role);
-
-                        if (!isBlank(password)) {
-                            u.setPassword(passwordEncoder.encode(password));
-                        }
-
-                        if (isStudent) {
-                            if (u.getStudent() == null) {
-                                Student s = new Student(studentIndex, major, u);
-                                u.setStudent(s);
-                            } else {
-                                u.getStudent().setStudentIndex(studentIndex);
-                                u.getStudent().setMajor(major);
-                            }
-                        } else {
-                            u.setStudent(null);
-                        }
-
-                        userService.save(u);
-                        updated++;
+                        u.getStudent().setStudentIndex(row.studentIndex());
+                        u.getStudent().setMajor(row.major());
                     }
-
-                } catch (Exception rowEx) {
-                    Map<String, String> err = new LinkedHashMap<>();
-                    err.put("row", String.valueOf(r.getRecordNumber()));
-                    err.put("email", safeGet(r, "email"));
-                    err.put("error", rowEx.getMessage());
-                    errors.add(err);
+                } else {
+                    u.setStudent(null);
                 }
+
+                updated++;
             }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to import users from CSV", e);
+            toSave.put(row.email(), u);
+        }
+
+        userService.saveBatch(new ArrayList<>(toSave.values()));
+        return new ImportChunkResultDto(Map.of("created", created, "updated", updated), errors);
+    }
+
+    private static UserImportRow parseImportRow(CSVRecord r) {
+        String firstName = r.get("firstName");
+        String lastName = r.get("lastName");
+        String email = r.get("email");
+        String password = r.get("password");
+        String roleStr = r.get("academicRole");
+        String studentIndex = getOptional(r, "studentIndex");
+        String major = getOptional(r, "major");
+
+        UserRole role = UserRole.valueOf(roleStr);
+
+        if (isBlank(firstName) || isBlank(lastName) || isBlank(email)) {
+            throw new IllegalArgumentException("firstName/lastName/email are required");
+        }
+
+        if (role == UserRole.STUDENT) {
+            if (isBlank(studentIndex) || isBlank(major)) {
+                throw new IllegalArgumentException("studentIndex and major are required for STUDENT");
+            }
         }
 
-        return Map.of(
-                "created", created,
-                "updated", updated,
-                "errors", errors
-        );
+        return new UserImportRow(r.getRecordNumber(), firstName, lastName, email, password, role, studentIndex, major);
+    }
+
+    private static ImportRowErrorDto importError(long rowNumber, String email, String message) {
+        return new ImportRowErrorDto(rowNumber, email, message);
     }
 
     @Override
@@ -271,6 +323,23 @@ public class UserApplicationServiceImpl implements UserApplicationService {
         return null;
     }
 
+    // Every row gets its own hash, and so its own salt, even when two users share a password.
+    private Map<Long, String> encodePasswords(List<UserImportRow> rows) {
+        List<UserImportRow> withPassword = rows.stream()
+                .filter(row -> !isBlank(row.password()))
+                .toList();
+
+        List<String> encoded = passwordHashingExecutor.encodeAll(withPassword.stream()
+                .map(UserImportRow::password)
+                .toList());
+
+        Map<Long, String> encodedByRowNumber = new HashMap<>();
+        for (int i = 0; i < withPassword.size(); i++) {
+            encodedByRowNumber.put(withPassword.get(i).rowNumber(), encoded.get(i));
+        }
+        return encodedByRowNumber;
+    }
+
     private static String getOptional(CSVRecord r, String col) {
         try {
             return r.isMapped(col) ? r.get(col) : "";
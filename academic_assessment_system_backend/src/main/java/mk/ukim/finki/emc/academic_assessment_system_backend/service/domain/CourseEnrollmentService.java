@@ -3,8 +3,10 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseEnrollment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CourseEnrollmentService {
 
@@ -14,6 +16,8 @@ public interface CourseEnrollmentService {
 
     CourseEnrollment save(CourseEnrollment courseEnrollment);
 
+    List<CourseEnrollment> saveAll(List<CourseEnrollment> courseEnrollments);
+
     Optional<CourseEnrollment> update(Long id, CourseEnrollment courseEnrollment);
 
     Optional<CourseEnrollment> deleteById(Long id);
@@ -24,6 +28,8 @@ public interface CourseEnrollmentService {
 
     boolean exists(Long courseId, Long studentId);
 
+    Set<Long> findEnrolledStudentIds(Long courseId, Collection<Long> studentIds);
+
     List<CourseEnrollment> findAllByStudentId(Long studentId);
 
 }
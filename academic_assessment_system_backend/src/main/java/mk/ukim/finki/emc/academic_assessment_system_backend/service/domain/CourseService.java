@@ -2,6 +2,7 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain;
 
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,12 @@ public interface CourseService {
 
     Optional<Course> findByIdWithStaff(Long id);
 
+    List<Course> findAllWithStaffByStaffUserId(Long userId);
+
+    List<Course> findAllWithStaffByStudentUserId(Long userId);
+
+    List<Course> findAllWithStaffByIdIn(Collection<Long> ids);
+
     Course save(Course course);
 
     Optional<Course> update(Long id, Course course);
@@ -2,6 +2,7 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain;
 
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,5 +18,11 @@ public interface ExamService {
 
     Optional<Exam> deleteById(Long id);
 
+    List<Exam> findAllByReservedLaboratory(String laboratory);
+
     List<Exam> findAllByCourseId(Long courseId);
+
+    List<Exam> findFeedForStaffUser(Long userId, LocalDate from, LocalDate to);
+
+    List<Exam> findFeedForStudentUser(Long userId, LocalDate from, LocalDate to);
 }
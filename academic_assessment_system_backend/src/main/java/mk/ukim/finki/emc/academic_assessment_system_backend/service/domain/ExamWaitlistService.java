@@ -0,0 +1,21 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ExamWaitlistEntry;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ExamWaitlistService {
+
+    ExamWaitlistEntry join(Long studentId, Long examId);
+
+    Optional<ExamWaitlistEntry> findByStudentIdAndExamId(Long studentId, Long examId);
+
+    int position(ExamWaitlistEntry entry);
+
+    int waiting(Long examId);
+
+    int promoteNextBatch(Long examId, int batchSize);
+
+    List<Long> findExamIdsWithWaitingStudents();
+}
@@ -1,9 +1,12 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStatus;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,10 +24,18 @@ public interface StudentExamRegistrationService {
 
     StudentExamRegistration register(Long studentId, Long examId);
 
+    StudentExamRegistration register(Student student, Long examId);
+
+    int registerInOrder(Exam exam, List<Student> students);
+
     List<StudentExamRegistration> findStudentExamRegistrationByStudentId(Long studentId);
 
     List<StudentExamRegistration> findAllByExamId(Long examId);
 
     List<StudentExamRegistration> findAllByExamIdAndExamStatus(Long examId, ExamStatus status);
 
+    int updateStatusForStudentIndexes(Long examId, ExamStatus oldStatus, ExamStatus newStatus, Collection<String> studentIndexes);
+
+    int updateStatus(Long examId, ExamStatus oldStatus, ExamStatus newStatus);
+
 }
@@ -2,6 +2,7 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain;
 
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +12,8 @@ public interface StudentService {
 
     Optional<Student> findById(Long id);
 
+    Optional<Student> findWithUserById(Long id);
+
     Student save(Student student);
 
     Optional<Student> update(Long id, Student student);
@@ -21,6 +24,8 @@ public interface StudentService {
 
     Optional<Student> findByStudentIndex(String studentIndex);
 
+    List<Student> findAllByStudentIndexIn(Collection<String> studentIndexes);
+
     Optional<Student> findStudentByUserId(Long userId);
 
 }
@@ -1,10 +1,13 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CsvUserRowDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserService {
 
@@ -16,6 +19,8 @@ public interface UserService {
 
     User save(User user);
 
+    List<User> saveBatch(List<User> users);
+
     Optional<User> update(Long id, User user);
 
     Optional<User> deleteById(Long id);
@@ -24,6 +29,14 @@ public interface UserService {
 
     User login(String email, String password);
 
+    void rehashPasswordIfNeeded(User user, String rawPassword);
+
     Optional<User> findByEmail(String email);
 
+    Optional<User> findWithStudentByEmail(String email);
+
+    List<User> findAllByEmailIn(Collection<String> emails);
+
+    Stream<CsvUserRowDto> streamCsvRows();
+
 }
@@ -5,8 +5,11 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.repository.CourseEnr
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.CourseEnrollmentService;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CourseEnrollmentServiceImpl implements CourseEnrollmentService {
@@ -32,6 +35,11 @@ public class CourseEnrollmentServiceImpl implements CourseEnrollmentService {
         return courseEnrollmentRepository.save(courseEnrollment);
     }
 
+    @Override
+    public List<CourseEnrollment> saveAll(List<CourseEnrollment> courseEnrollments) {
+        return courseEnrollmentRepository.saveAll(courseEnrollments);
+    }
+
     @Override
     public Optional<CourseEnrollment> update(Long id, CourseEnrollment courseEnrollment) {
         return findById(id)
@@ -64,6 +72,14 @@ public class CourseEnrollmentServiceImpl implements CourseEnrollmentService {
         return courseEnrollmentRepository.existsByCourse_IdAndStudent_Id(courseId, studentId);
     }
 
+    @Override
+    public Set<Long> findEnrolledStudentIds(Long courseId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(courseEnrollmentRepository.findEnrolledStudentIds(courseId, studentIds));
+    }
+
     @Override
     public List<CourseEnrollment> findAllByStudentId(Long studentId) {
         return courseEnrollmentRepository.findAllByStudentId(studentId);
@@ -4,6 +4,7 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
 import mk.ukim.finki.emc.academic_assessment_system_backend.repository.CourseRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.CourseService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
@@ -17,25 +18,50 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> findAll() {
         return courseRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> findAllWithStaff() {
         return courseRepository.findAllWithStaff();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Course> findById(Long id) {
         return courseRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Course> findByIdWithStaff(Long id) {
         return courseRepository.findByIdWithStaff(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Course> findAllWithStaffByStaffUserId(Long userId) {
+        return courseRepository.findAllWithStaffByStaffUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Course> findAllWithStaffByStudentUserId(Long userId) {
+        return courseRepository.findAllWithStaffByStudentUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Course> findAllWithStaffByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return courseRepository.findAllWithStaffByIdIn(ids);
+    }
+
     @Override
     public Course save(Course course) {
         return courseRepository.save(course);
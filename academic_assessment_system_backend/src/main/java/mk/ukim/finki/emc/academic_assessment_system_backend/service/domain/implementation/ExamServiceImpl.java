@@ -1,28 +1,39 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.implementation;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ExamSeatInventory;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ExamWaitlistIndex;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
 import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ExamServiceImpl implements ExamService {
 
     private final ExamRepository examRepository;
+    private final ExamSeatInventory examSeatInventory;
+    private final ExamWaitlistIndex examWaitlistIndex;
 
-    public ExamServiceImpl(ExamRepository examRepository) {
+    public ExamServiceImpl(ExamRepository examRepository, ExamSeatInventory examSeatInventory, ExamWaitlistIndex examWaitlistIndex) {
         this.examRepository = examRepository;
+        this.examSeatInventory = examSeatInventory;
+        this.examWaitlistIndex = examWaitlistIndex;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Exam> findAll() {
         return examRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Exam> findById(Long id) {
         return examRepository.findById(id);
     }
@@ -39,23 +50,54 @@ public class ExamServiceImpl implements ExamService {
                     existingExam.setSession(exam.getSession());
                     existingExam.setDateOfExam(exam.getDateOfExam());
                     existingExam.setCapacityOfStudents(exam.getCapacityOfStudents());
-                    existingExam.setReservedLaboratories(exam.getReservedLaboratories());
+                    updateReservedLaboratories(existingExam, exam.getReservedLaboratories());
                     existingExam.setStartTime(exam.getStartTime());
                     existingExam.setEndTime(exam.getEndTime());
                     existingExam.setCourse(exam.getCourse());
+                    examSeatInventory.capacityChangedAfterCommit(id, exam.getCapacityOfStudents());
+                    examWaitlistIndex.requestPromotionAfterCommit(id);
                     return examRepository.save(existingExam);
                 });
     }
 
+    // Changes the managed collection in place, so Hibernate deletes and inserts only the laboratories
+    // that were removed or added instead of replacing every row of the exam.
+    private void updateReservedLaboratories(Exam existingExam, Set<String> laboratories) {
+        Set<String> reserved = existingExam.getReservedLaboratories();
+        reserved.retainAll(laboratories);
+        reserved.addAll(laboratories);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Exam> findAllByReservedLaboratory(String laboratory) {
+        return examRepository.findAllByReservedLaboratory(laboratory);
+    }
+
     @Override
     public Optional<Exam> deleteById(Long id) {
         Optional<Exam> exam = findById(id);
         exam.ifPresent(examRepository::delete);
+        examSeatInventory.forgetAfterCommit(id);
+        examWaitlistIndex.forgetAfterCommit(id);
         return exam;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Exam> findAllByCourseId(Long courseId) {
         return examRepository.findAllByCourseId(courseId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Exam> findFeedForStaffUser(Long userId, LocalDate from, LocalDate to) {
+        return examRepository.findFeedForStaffUser(userId, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Exam> findFeedForStudentUser(Long userId, LocalDate from, LocalDate to) {
+        return examRepository.findFeedForStudentUser(userId, from, to);
+    }
 }
@@ -0,0 +1,112 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.implementation;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ExamWaitlistIndex;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ExamWaitlistEntry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamSeatRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamWaitlistEntryRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamWaitlistService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentExamRegistrationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ExamWaitlistServiceImpl implements ExamWaitlistService {
+
+    private final ExamWaitlistEntryRepository examWaitlistEntryRepository;
+    private final StudentExamRegistrationService studentExamRegistrationService;
+    private final StudentService studentService;
+    private final ExamService examService;
+    private final ExamSeatRepository examSeatRepository;
+    private final ExamWaitlistIndex examWaitlistIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExamWaitlistServiceImpl(ExamWaitlistEntryRepository examWaitlistEntryRepository, StudentExamRegistrationService studentExamRegistrationService, StudentService studentService, ExamService examService, ExamSeatRepository examSeatRepository, ExamWaitlistIndex examWaitlistIndex, TransactionTemplate transactionTemplate) {
+        this.examWaitlistEntryRepository = examWaitlistEntryRepository;
+        this.studentExamRegistrationService = studentExamRegistrationService;
+        this.studentService = studentService;
+        this.examService = examService;
+        this.examSeatRepository = examSeatRepository;
+        this.examWaitlistIndex = examWaitlistIndex;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Joining twice returns the existing entry; of two concurrent joins, uk_exam_waitlist_student keeps one.
+    @Override
+    public ExamWaitlistEntry join(Long studentId, Long examId) {
+        try {
+            return transactionTemplate.execute(status -> findByStudentIdAndExamId(studentId, examId)
+                    .orElseGet(() -> {
+                        Student student = studentService.findById(studentId)
+                                .orElseThrow(() -> new RuntimeException("Student not found"));
+
+                        Exam exam = examService.findById(examId)
+                                .orElseThrow(() -> new RuntimeException("Exam not found"));
+
+                        ExamWaitlistEntry entry = examWaitlistEntryRepository.saveAndFlush(new ExamWaitlistEntry(student, exam));
+                        examWaitlistIndex.joinedAfterCommit(examId, entry.getId());
+                        // A seat may have opened between the failed registration and this join.
+                        examWaitlistIndex.requestPromotionAfterCommit(examId);
+                        return entry;
+                    }));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> findByStudentIdAndExamId(studentId, examId)
+                    .orElseThrow(() -> e));
+        }
+    }
+
+    @Override
+    public Optional<ExamWaitlistEntry> findByStudentIdAndExamId(Long studentId, Long examId) {
+        return examWaitlistEntryRepository.findByStudentIdAndExamId(studentId, examId);
+    }
+
+    @Override
+    public int position(ExamWaitlistEntry entry) {
+        return examWaitlistIndex.position(entry.getExam().getId(), entry.getId());
+    }
+
+    @Override
+    public int waiting(Long examId) {
+        return examWaitlistIndex.waiting(examId);
+    }
+
+    /**
+     * Moves up to {@code batchSize} students from the head of the line into free seats, in one transaction.
+     * Returns how many were promoted; a student who was meanwhile registered directly just leaves the line.
+     * The unlocked free seat count only bounds the batch: the seats themselves are claimed under the exam row
+     * lock, and the students behind the last one that fits stay in line.
+     */
+    @Override
+    @Transactional
+    public int promoteNextBatch(Long examId, int batchSize) {
+        int freeSeats = examSeatRepository.findFreeSeats(examId);
+        if (freeSeats == 0) {
+            return 0;
+        }
+        List<ExamWaitlistEntry> entries = examWaitlistEntryRepository.findByExamIdOrderById(examId, Limit.of(Math.min(freeSeats, batchSize)));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        int promoted = studentExamRegistrationService.registerInOrder(entries.getFirst().getExam(),
+                entries.stream().map(ExamWaitlistEntry::getStudent).toList());
+        List<ExamWaitlistEntry> left = entries.subList(0, promoted);
+        examWaitlistEntryRepository.deleteAllInBatch(left);
+        examWaitlistIndex.leftAfterCommit(examId, left.stream().map(ExamWaitlistEntry::getId).toList());
+        return promoted;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findExamIdsWithWaitingStudents() {
+        return examWaitlistEntryRepository.findExamIds();
+    }
+}
@@ -1,17 +1,23 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.implementation;
 
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ExamSeatInventory;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ExamWaitlistIndex;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStatus;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.exceptions.ExamFullException;
 import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamSeatRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.repository.StudentExamRegistrationRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentExamRegistrationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
@@ -26,11 +32,19 @@ public class StudentExamRegistrationServiceImpl implements StudentExamRegistrati
     private final StudentExamRegistrationRepository studentExamRegistrationRepository;
     private final StudentService studentService;
     private final ExamService examService;
+    private final ExamSeatRepository examSeatRepository;
+    private final ExamSeatInventory examSeatInventory;
+    private final ExamWaitlistIndex examWaitlistIndex;
+    private final TransactionTemplate transactionTemplate;
 
-    public StudentExamRegistrationServiceImpl(StudentExamRegistrationRepository studentExamRegistrationRepository, StudentService studentService, ExamService examService) {
+    public StudentExamRegistrationServiceImpl(StudentExamRegistrationRepository studentExamRegistrationRepository, StudentService studentService, ExamService examService, ExamSeatRepository examSeatRepository, ExamSeatInventory examSeatInventory, ExamWaitlistIndex examWaitlistIndex, TransactionTemplate transactionTemplate) {
         this.studentExamRegistrationRepository = studentExamRegistrationRepository;
         this.studentService = studentService;
         this.examService = examService;
+        this.examSeatRepository = examSeatRepository;
+        this.examSeatInventory = examSeatInventory;
+        this.examWaitlistIndex = examWaitlistIndex;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -44,14 +58,29 @@ public class StudentExamRegistrationServiceImpl implements StudentExamRegistrati
     }
 
     @Override
+    @Transactional
     public StudentExamRegistration save(StudentExamRegistration studentExamRegistration) {
+        claimSeat(studentExamRegistration.getExam().getId(), studentExamRegistration.getStudent().getId());
         return studentExamRegistrationRepository.save(studentExamRegistration);
     }
 
     @Override
+    @Transactional
     public Optional<StudentExamRegistration> update(Long id, StudentExamRegistration studentExamRegistration) {
         return findById(id)
                 .map(existingStudentExamRegistration -> {
+                    Long previousExamId = existingStudentExamRegistration.getExam().getId();
+                    Long previousStudentId = existingStudentExamRegistration.getStudent().getId();
+                    Long examId = studentExamRegistration.getExam().getId();
+                    Long studentId = studentExamRegistration.getStudent().getId();
+                    if (!previousExamId.equals(examId)) {
+                        claimSeat(examId, studentId);
+                        examSeatRepository.releaseSeat(previousExamId);
+                        examSeatInventory.releaseAfterCommit(previousExamId, previousStudentId);
+                        examWaitlistIndex.requestPromotionAfterCommit(previousExamId);
+                    } else if (!previousStudentId.equals(studentId)) {
+                        examSeatInventory.replaceAfterCommit(examId, previousStudentId, studentId);
+                    }
                     existingStudentExamRegistration.setStudent(studentExamRegistration.getStudent());
                     existingStudentExamRegistration.setExam(studentExamRegistration.getExam());
                     existingStudentExamRegistration.setExamStatus(studentExamRegistration.getExamStatus());
@@ -66,22 +95,138 @@ public class StudentExamRegistrationServiceImpl implements StudentExamRegistrati
         return studentExamRegistration;
     }
 
+    // Registering twice returns the existing registration. Two concurrent attempts for the same student both
+    // claim a seat, but the second insert hits uk_exam_student_registration and its rollback returns the seat.
+    // While students are waiting for the exam, a freed seat belongs to the head of the line, not to whoever
+    // asks first, so a new registration is refused as if the exam were full.
     @Override
     public StudentExamRegistration register(Long studentId, Long examId) {
         Student student = studentService.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
+        return register(student, examId);
+    }
+
+    // Callers that already hold the student pass it in, so a registration reads only the exam and the seat.
+    @Override
+    public StudentExamRegistration register(Student student, Long examId) {
+        Long studentId = student.getId();
+        if (examWaitlistIndex.hasWaitingStudents(examId)) {
+            return transactionTemplate.execute(status -> studentExamRegistrationRepository
+                    .findByStudentIdAndExamId(studentId, examId)
+                    .orElseThrow(ExamFullException::new));
+        }
+        if (examSeatInventory.isEnabled()) {
+            return registerThroughInventory(student, examId);
+        }
+        try {
+            return transactionTemplate.execute(status -> reserveSeatAndRegister(student, examId));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> studentExamRegistrationRepository
+                    .findByStudentIdAndExamId(studentId, examId)
+                    .orElseThrow(() -> e));
+        }
+    }
+
+    private StudentExamRegistration reserveSeatAndRegister(Student student, Long examId) {
+        Long studentId = student.getId();
+        if (!examSeatRepository.hasFreeSeat(examId) && !studentExamRegistrationRepository.existsByStudentIdAndExamId(studentId, examId)) {
+            examService.findById(examId).orElseThrow(() -> new RuntimeException("Exam not found"));
+            throw new ExamFullException();
+        }
 
         Exam exam = examService.findById(examId)
                 .orElseThrow(() -> new RuntimeException("Exam not found"));
 
-        boolean exists = studentExamRegistrationRepository.existsByStudentIdAndExamId(studentId, examId);
-        if (exists) {
-            throw new RuntimeException("Already registered for this exam");
+        Optional<StudentExamRegistration> existing = studentExamRegistrationRepository.findByStudentIdAndExamId(studentId, examId);
+        if (existing.isPresent()) {
+            return existing.get();
         }
 
-        StudentExamRegistration reg = new StudentExamRegistration(student, exam);
+        // The exam row stays locked from here to commit, so everything that can be read up front already was.
+        reserveSeat(examId);
+        return studentExamRegistrationRepository.saveAndFlush(new StudentExamRegistration(student, exam));
+    }
 
-        return studentExamRegistrationRepository.save(reg);
+    // The seat is decided in memory and the row is written behind, so the registration has no id yet.
+    private StudentExamRegistration registerThroughInventory(Student student, Long examId) {
+        Long studentId = student.getId();
+        Exam exam = examService.findById(examId)
+                .orElseThrow(() -> new RuntimeException("Exam not found"));
+
+        return switch (examSeatInventory.reserve(examId, studentId)) {
+            case RESERVED -> new StudentExamRegistration(student, exam);
+            case ALREADY_REGISTERED -> studentExamRegistrationRepository.findByStudentIdAndExamId(studentId, examId)
+                    .orElseGet(() -> new StudentExamRegistration(student, exam));
+            case FULL -> throw new ExamFullException();
+            case EXAM_NOT_FOUND -> throw new RuntimeException("Exam not found");
+        };
+    }
+
+    /**
+     * Registers the students in the given order for as long as seats last and returns how many of them, from the
+     * front, now hold a seat; a student who already had one is counted without a second registration. The seats
+     * are claimed together under the exam row lock, so a batch that does not fit registers the ones that do
+     * instead of failing as a whole.
+     */
+    @Override
+    @Transactional
+    public int registerInOrder(Exam exam, List<Student> students) {
+        Long examId = exam.getId();
+        List<Integer> toRegister = new ArrayList<>();
+        int fitting = students.size();
+        for (int i = 0; i < students.size(); i++) {
+            Long studentId = students.get(i).getId();
+            if (studentExamRegistrationRepository.existsByStudentIdAndExamId(studentId, examId)) {
+                continue;
+            }
+            if (examSeatInventory.isEnabled()) {
+                ExamSeatInventory.Reservation reservation = examSeatInventory.claim(examId, studentId);
+                if (reservation == ExamSeatInventory.Reservation.ALREADY_REGISTERED) {
+                    // Registered through the inventory, the row is not written yet.
+                    continue;
+                }
+                if (reservation != ExamSeatInventory.Reservation.RESERVED) {
+                    fitting = i;
+                    break;
+                }
+            }
+            toRegister.add(i);
+        }
+
+        int claimed = examSeatRepository.claimFreeSeats(examId, toRegister.size());
+        if (claimed < toRegister.size()) {
+            fitting = toRegister.get(claimed);
+            if (examSeatInventory.isEnabled()) {
+                // The seats were taken around this node's inventory; start over from the database.
+                examSeatInventory.forgetAfterCommit(examId);
+            }
+        }
+        for (int i : toRegister.subList(0, claimed)) {
+            studentExamRegistrationRepository.save(new StudentExamRegistration(students.get(i), exam));
+        }
+        return fitting;
+    }
+
+    // With the seat inventory on, its count already includes registrations not written yet, so it decides.
+    private void claimSeat(Long examId, Long studentId) {
+        if (!examSeatInventory.isEnabled()) {
+            reserveSeat(examId);
+            return;
+        }
+        if (examSeatInventory.claim(examId, studentId) == ExamSeatInventory.Reservation.FULL) {
+            throw new ExamFullException();
+        }
+        if (!examSeatRepository.tryReserveSeat(examId)) {
+            // The seats were taken around this node's inventory; start over from the database.
+            examSeatInventory.reload(examId);
+            throw new ExamFullException();
+        }
+    }
+
+    private void reserveSeat(Long examId) {
+        if (!examSeatRepository.tryReserveSeat(examId)) {
+            throw new ExamFullException();
+        }
     }
 
     @Override
@@ -99,4 +244,17 @@ public class StudentExamRegistrationServiceImpl implements StudentExamRegistrati
         return studentExamRegistrationRepository.findAllByExamIdAndExamStatus(examId, status);
     }
 
+    @Override
+    public int updateStatusForStudentIndexes(Long examId, ExamStatus oldStatus, ExamStatus newStatus, Collection<String> studentIndexes) {
+        if (studentIndexes.isEmpty()) {
+            return 0;
+        }
+        return studentExamRegistrationRepository.updateStatusForStudentIndexes(examId, oldStatus, newStatus, studentIndexes);
+    }
+
+    @Override
+    public int updateStatus(Long examId, ExamStatus oldStatus, ExamStatus newStatus) {
+        return studentExamRegistrationRepository.updateStatus(examId, oldStatus, newStatus);
+    }
+
 }
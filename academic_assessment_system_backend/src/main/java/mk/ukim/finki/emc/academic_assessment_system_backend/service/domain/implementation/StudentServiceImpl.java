@@ -6,7 +6,9 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.repository.StudentRe
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.UserService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,15 +24,23 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Student> findAll() {
         return studentRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Student> findById(Long id) {
         return studentRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Student> findWithUserById(Long id) {
+        return studentRepository.findWithUserById(id);
+    }
+
     @Override
     public Student save(Student student) {
         return studentRepository.save(student);
@@ -64,11 +74,22 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Student> findByStudentIndex(String studentIndex) {
         return studentRepository.findByStudentIndex(studentIndex);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Student> findAllByStudentIndexIn(Collection<String> studentIndexes) {
+        if (studentIndexes.isEmpty()) {
+            return List.of();
+        }
+        return studentRepository.findAllByStudentIndexIn(studentIndexes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Student> findStudentByUserId(Long userId) {
         return studentRepository.findStudentByUserId(userId);
     }
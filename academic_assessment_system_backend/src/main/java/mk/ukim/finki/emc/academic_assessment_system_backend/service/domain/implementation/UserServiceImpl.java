@@ -1,25 +1,42 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.implementation;
 
+import jakarta.persistence.EntityManager;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CsvUserRowDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.JwtPrincipalCache;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.JwtRevocationRegistry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.PasswordHashingExecutor;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
 import mk.ukim.finki.emc.academic_assessment_system_backend.repository.UserRepository;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.UserService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final JwtPrincipalCache jwtPrincipalCache;
+    private final JwtRevocationRegistry jwtRevocationRegistry;
+    private final EntityManager entityManager;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordHashingExecutor passwordHashingExecutor, JwtPrincipalCache jwtPrincipalCache, JwtRevocationRegistry jwtRevocationRegistry, EntityManager entityManager) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.jwtPrincipalCache = jwtPrincipalCache;
+        this.jwtRevocationRegistry = jwtRevocationRegistry;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -39,19 +56,44 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User save(User user) {
+        jwtPrincipalCache.invalidateUserAfterCommit(user.getId());
         return userRepository.save(user);
     }
 
+    @Override
+    public List<User> saveBatch(List<User> users) {
+        // Read before the flush: the users passed in already carry their new role and email.
+        Map<Long, JwtUserPrincipal> storedClaims = findStoredClaims(users);
+
+        List<User> saved = userRepository.saveAll(users);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (User user : saved) {
+            jwtPrincipalCache.invalidateUserAfterCommit(user.getId());
+            JwtUserPrincipal stored = storedClaims.get(user.getId());
+            if (stored != null && claimsChanged(stored.role(), stored.email(), user)) {
+                jwtRevocationRegistry.revokeUser(user.getId());
+            }
+        }
+        return saved;
+    }
+
     @Override
     public Optional<User> update(Long id, User user) {
         return findById(id)
                 .map(existingUser -> {
+                    boolean claimsChanged = claimsChanged(existingUser.getUserRole(), existingUser.getEmail(), user);
                     existingUser.setFirstName(user.getFirstName());
                     existingUser.setLastName(user.getLastName());
                     existingUser.setEmail(user.getEmail());
-                    existingUser.setPassword(passwordEncoder.encode(user.getPassword()));
+                    existingUser.setPassword(passwordHashingExecutor.encode(user.getPassword()));
                     existingUser.setUserRole(user.getUserRole());
                     existingUser.setStudent(user.getStudent());
+                    jwtPrincipalCache.invalidateUserAfterCommit(id);
+                    if (claimsChanged) {
+                        jwtRevocationRegistry.revokeUser(id);
+                    }
                     return userRepository.save(existingUser);
                 });
     }
@@ -59,7 +101,11 @@ public class UserServiceImpl implements UserService {
     @Override
     public Optional<User> deleteById(Long id) {
         Optional<User> user = findById(id);
-        user.ifPresent(userRepository::delete);
+        user.ifPresent(value -> {
+            userRepository.delete(value);
+            jwtRevocationRegistry.revokeUser(id);
+        });
+        jwtPrincipalCache.invalidateUserAfterCommit(id);
         return user;
     }
 
@@ -69,7 +115,7 @@ public class UserServiceImpl implements UserService {
                 user.getFirstName(),
                 user.getLastName(),
                 user.getEmail(),
-                passwordEncoder.encode(user.getPassword()),
+                passwordHashingExecutor.encode(user.getPassword()),
                 user.getUserRole()
         ));
     }
@@ -81,8 +127,54 @@ public class UserServiceImpl implements UserService {
         return user;
     }
 
+    @Override
+    public void rehashPasswordIfNeeded(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordHashingExecutor.needsRehash(currentHash)) {
+            return;
+        }
+        Long id = user.getId();
+        passwordHashingExecutor.rehashInBackground(rawPassword,
+                newHash -> userRepository.replacePassword(id, currentHash, newHash));
+    }
+
     @Override
     public Optional<User> findByEmail(String username) {
         return userRepository.findByEmail(username);
     }
+
+    @Override
+    public Optional<User> findWithStudentByEmail(String email) {
+        return userRepository.findWithStudentByEmail(email);
+    }
+
+    @Override
+    public List<User> findAllByEmailIn(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findAllByEmailInWithStudent(emails);
+    }
+
+    @Override
+    public Stream<CsvUserRowDto> streamCsvRows() {
+        return userRepository.streamCsvRows();
+    }
+
+    private Map<Long, JwtUserPrincipal> findStoredClaims(List<User> users) {
+        List<Long> ids = users.stream()
+                .map(User::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findStoredClaimsByIdIn(ids).stream()
+                .collect(Collectors.toMap(JwtUserPrincipal::id, Function.identity()));
+    }
+
+    // Role and email are baked into issued tokens, so changing either revokes them.
+    private static boolean claimsChanged(UserRole storedRole, String storedEmail, User user) {
+        return storedRole != user.getUserRole() || !Objects.equals(storedEmail, user.getEmail());
+    }
 }
@@ -2,16 +2,10 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.web.controllers;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseEnrollmentDto;
-import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseStaffAssignmentDto;
-import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
-import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
-import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseEnrollment;
-import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
-import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseEnrollmentApplicationService;
-import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseStaffAssignmentApplicationService;
-import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.StudentApplicationService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -29,10 +23,7 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.Cr
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseApplicationService;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping(value = "/api/courses", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -46,13 +37,11 @@ import java.util.Optional;
 public class CourseController {
 
     private final CourseApplicationService courseApplicationService;
-    private final CourseStaffAssignmentApplicationService courseStaffAssignmentApplicationService;
-    private final CourseEnrollmentApplicationService courseEnrollmentApplicationService;
-    private final StudentApplicationService studentApplicationService;
 
     @Operation(
             summary = "Get all courses",
-            description = "Returns a list of all available courses."
+            description = "Returns courses, newest academic year and semester first by default." +
+                    " Results are paged by cursor: pass nextCursor back as cursor to get the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -65,14 +54,8 @@ public class CourseController {
             )
     })
     @GetMapping
-    public ResponseEntity<List<DisplayCourseDto>> findAll() {
-        return ResponseEntity.ok(
-                courseApplicationService.findAll().stream()
-                        .sorted(Comparator.comparing(DisplayCourseDto::academicYear).reversed()
-                                .thenComparing(Comparator.comparing(DisplayCourseDto::semester).reversed()
-                                        .thenComparing(DisplayCourseDto::courseCode)))
-                        .toList()
-        );
+    public ResponseEntity<CursorPageDto<DisplayCourseDto>> findAll(@ParameterObject PageQueryDto pageQuery) {
+        return ResponseEntity.ok(courseApplicationService.findAll(pageQuery));
     }
 
     @Operation(
@@ -188,38 +171,13 @@ public class CourseController {
     @GetMapping("/find-by-staffId")
     public ResponseEntity<List<DisplayCourseDto>> findAllForStaff(Authentication authentication) {
         JwtUserPrincipal principal = (JwtUserPrincipal) authentication.getPrincipal();
-        List<Long> courseIdsByStaffId = courseStaffAssignmentApplicationService
-                .findCourseStaffAssignmentByUserId(principal.id())
-                .stream().map(DisplayCourseStaffAssignmentDto::courseId)
-                .toList();
-        List<DisplayCourseDto> coursesByStaffId = courseIdsByStaffId.stream()
-                .map(courseApplicationService::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .sorted(Comparator.comparing(DisplayCourseDto::academicYear).reversed()
-                        .thenComparing(DisplayCourseDto::semester).reversed()
-                        .thenComparing(DisplayCourseDto::courseCode))
-                .toList();
-        return ResponseEntity.ok(coursesByStaffId);
+        return ResponseEntity.ok(courseApplicationService.findAllForStaff(principal.id()));
     }
 
     @GetMapping("/find-by-studentId")
     public ResponseEntity<List<DisplayCourseDto>> findAllForStudent(Authentication authentication) {
         JwtUserPrincipal principal = (JwtUserPrincipal) authentication.getPrincipal();
-        Optional<DisplayStudentDto> studentDto = studentApplicationService.findStudentByUserId(principal.id());
-        List<Long> courseIdsByStudentId = courseEnrollmentApplicationService
-                .findAllByStudentId(studentDto.get().id())
-                .stream().map(DisplayCourseEnrollmentDto::courseId)
-                .toList();
-        List<DisplayCourseDto> coursesByStudentId = courseIdsByStudentId.stream()
-                .map(courseApplicationService::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .sorted(Comparator.comparing(DisplayCourseDto::academicYear).reversed()
-                        .thenComparing(DisplayCourseDto::semester).reversed()
-                        .thenComparing(DisplayCourseDto::courseCode))
-                .toList();
-        return ResponseEntity.ok(coursesByStudentId);
+        return ResponseEntity.ok(courseApplicationService.findAllForStudent(principal.id()));
     }
 
 }
@@ -2,6 +2,7 @@ package mk.ukim.finki.emc.academic_assessment_system_backend.web.controllers;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,15 +10,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateCourseEnrollmentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseEnrollmentDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayImportJobDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseEnrollmentApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.ImportJobApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.web.filters.IdempotencyFilter;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -37,6 +47,7 @@ public class CourseEnrollmentController {
 
     private final CourseEnrollmentApplicationService courseEnrollmentApplicationService;
     private final CourseApplicationService courseApplicationService;
+    private final ImportJobApplicationService importJobApplicationService;
 
     @Operation(
             summary = "Export enrolled students for a course (CSV)",
@@ -73,38 +84,48 @@ public class CourseEnrollmentController {
 
     @Operation(
             summary = "Import enrolled students for a course (CSV)",
-            description = "Imports and enrolls students into the given course from a CSV file. " +
-                    "CSV must contain studentIndex in the first column (header optional)."
+            description = "Queues an import job that enrolls students into the given course from a CSV file. " +
+                    "CSV must contain studentIndex in the first column (header optional). " +
+                    "Poll GET /api/imports/{jobId} for progress."
     )
     @ApiResponses(value = {
             @ApiResponse(
-                    responseCode = "200",
-                    description = "Students successfully imported/enrolled",
+                    responseCode = "202",
+                    description = "Import job queued",
                     content = @Content(
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            schema = @Schema(implementation = String.class)
+                            schema = @Schema(implementation = DisplayImportJobDto.class)
                     )
             ),
-            @ApiResponse(responseCode = "400", description = "Invalid CSV / student index not found / invalid data", content = @Content),
+            @ApiResponse(responseCode = "400", description = "CSV file is missing", content = @Content),
             @ApiResponse(responseCode = "404", description = "Course not found", content = @Content)
     })
+    @Parameter(
+            in = ParameterIn.HEADER,
+            name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER,
+            description = "Optional client-chosen key that makes retries safe: a repeat with the same key gets " +
+                    "the first response back (422 if the request differs, 409 while the first is still running)",
+            schema = @Schema(type = "string", maxLength = 255)
+    )
     @PostMapping(value = "/{courseId}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<String> importEnrolledStudentsCsv(
+    public ResponseEntity<DisplayImportJobDto> importEnrolledStudentsCsv(
             @PathVariable Long courseId,
             @Parameter(
                     description = "CSV file",
                     required = true,
                     schema = @Schema(type = "string", format = "binary")
             )
-            @RequestParam("file") MultipartFile file
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal JwtUserPrincipal principal
     ) {
-        int imported = courseEnrollmentApplicationService.importStudentsCsv(courseId, file);
-        return ResponseEntity.ok("Imported enrollments: " + imported);
+        return ResponseEntity.accepted()
+                .body(importJobApplicationService.submit(ImportJobType.COURSE_ENROLLMENTS, courseId, file, principal));
     }
 
     @Operation(
             summary = "Get enrolled students for a course",
-            description = "Returns a list of all enrolled students in the course with the given ID."
+            description = "Returns the students enrolled in the course with the given ID." +
+                    " Results are paged by cursor: pass nextCursor back as cursor to get the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -122,9 +143,10 @@ public class CourseEnrollmentController {
             )
     })
     @GetMapping("/{courseId}/enrolled-students")
-    public ResponseEntity<List<DisplayCourseEnrollmentDto>> getEnrolledStudents(@PathVariable Long courseId) {
+    public ResponseEntity<CursorPageDto<DisplayCourseEnrollmentDto>> getEnrolledStudents(@PathVariable Long courseId,
+                                                                                      @ParameterObject PageQueryDto pageQuery) {
         return ResponseEntity.ok(courseEnrollmentApplicationService
-                .findAllByCourseIdWithStudentAndUser(courseId));
+                .findAllByCourseIdWithStudentAndUser(courseId, pageQuery));
     }
 
     @Operation(
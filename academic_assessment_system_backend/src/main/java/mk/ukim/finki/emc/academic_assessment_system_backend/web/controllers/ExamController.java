@@ -8,19 +8,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateExamDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.*;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.*;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Comparator;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping(
@@ -38,13 +41,11 @@ public class ExamController {
 
     private final ExamApplicationService examApplicationService;
     private final StudentExamRegistrationApplicationService studentExamRegistrationApplicationService;
-    private final CourseStaffAssignmentApplicationService courseStaffAssignmentApplicationService;
-    private final StudentApplicationService studentApplicationService;
-    private final CourseEnrollmentApplicationService courseEnrollmentApplicationService;
 
     @Operation(
             summary = "Get all exams",
-            description = "Returns a list of all exams."
+            description = "Returns exams, newest first by default." +
+                    " Results are paged by cursor: pass nextCursor back as cursor to get the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -57,11 +58,8 @@ public class ExamController {
             )
     })
     @GetMapping
-    public ResponseEntity<List<DisplayExamDto>> findAll() {
-        return ResponseEntity.ok(examApplicationService.findAll().stream()
-                .sorted(Comparator.comparing(DisplayExamDto::dateOfExam).reversed()
-                        .thenComparing(DisplayExamDto::startTime))
-                .toList());
+    public ResponseEntity<CursorPageDto<DisplayExamDto>> findAll(@ParameterObject PageQueryDto pageQuery) {
+        return ResponseEntity.ok(examApplicationService.findAll(pageQuery));
     }
 
     @Operation(
@@ -174,46 +172,41 @@ public class ExamController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @Operation(
+            summary = "Get the exam feed of the current staff member",
+            description = "Returns exams of all courses the authenticated staff member is assigned to, newest first, optionally limited to a date range."
+    )
     @GetMapping("/find-by-staffId")
-    public ResponseEntity<List<DisplayExamDto>> findAllExamsForStaff(Authentication authentication) {
+    public ResponseEntity<List<DisplayExamDto>> findAllExamsForStaff(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
         JwtUserPrincipal principal = (JwtUserPrincipal) authentication.getPrincipal();
-
-        List<Long> courseIdsByStaffId = courseStaffAssignmentApplicationService
-                .findCourseStaffAssignmentByUserId(principal.id())
-                .stream()
-                .map(DisplayCourseStaffAssignmentDto::courseId)
-                .toList();
-
-        List<DisplayExamDto> examsByStaffId = courseIdsByStaffId.stream()
-                .flatMap(courseId -> examApplicationService
-                        .findAllByCourseId(courseId)
-                        .stream()
-                        .sorted(Comparator.comparing(DisplayExamDto::dateOfExam).reversed()
-                                .thenComparing(DisplayExamDto::startTime)))
-                .toList();
-
-        return ResponseEntity.ok(examsByStaffId);
+        return ResponseEntity.ok(examApplicationService.findFeedForStaff(principal.id(), from, to));
     }
 
+    @Operation(
+            summary = "Get the exam feed of the current student",
+            description = "Returns exams of all courses the authenticated student is enrolled in, newest first, optionally limited to a date range."
+    )
     @GetMapping("/find-by-studentId")
-    public ResponseEntity<List<DisplayExamDto>> findAllExamsForStudent(Authentication authentication) {
+    public ResponseEntity<List<DisplayExamDto>> findAllExamsForStudent(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
         JwtUserPrincipal principal = (JwtUserPrincipal) authentication.getPrincipal();
-        Optional<DisplayStudentDto> studentDto = studentApplicationService.findStudentByUserId(principal.id());
-        List<Long> courseIdsByStudentId = courseEnrollmentApplicationService
-                .findAllByStudentId(studentDto.get().id())
-                .stream()
-                .map(DisplayCourseEnrollmentDto::courseId)
-                .toList();
-
-        List<DisplayExamDto> examsByStudentId = courseIdsByStudentId.stream()
-                .flatMap(courseId -> examApplicationService
-                        .findAllByCourseId(courseId)
-                        .stream()
-                        .sorted(Comparator.comparing(DisplayExamDto::dateOfExam).reversed()
-                                .thenComparing(DisplayExamDto::startTime)))
-                .toList();
+        return ResponseEntity.ok(examApplicationService.findFeedForStudent(principal.id(), from, to));
+    }
 
-        return ResponseEntity.ok(examsByStudentId);
+    @Operation(
+            summary = "Get exams by reserved laboratory",
+            description = "Returns all exams that have the given laboratory reserved, newest first."
+    )
+    @GetMapping("/find-by-laboratory")
+    public ResponseEntity<List<DisplayExamDto>> findAllByReservedLaboratory(@RequestParam String laboratory) {
+        return ResponseEntity.ok(examApplicationService.findAllByReservedLaboratory(laboratory));
     }
 
 }
@@ -0,0 +1,57 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.web.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayImportJobDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.ImportJobApplicationService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(
+        value = "/api/imports",
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+@Tag(
+        name = "Imports",
+        description = "Progress of asynchronous CSV import jobs"
+)
+public class ImportJobController {
+
+    private final ImportJobApplicationService importJobApplicationService;
+
+    @Operation(
+            summary = "Get import job status",
+            description = "Returns the status, processed rows, throughput, counters and per-row errors of an import job. " +
+                    "Only the user who submitted the job and administrators can see it."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import job found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = DisplayImportJobDto.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "404", description = "Import job not found, or submitted by another user", content = @Content)
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<DisplayImportJobDto> findById(@PathVariable Long jobId,
+                                                        @AuthenticationPrincipal JwtUserPrincipal principal) {
+        return importJobApplicationService
+                .findById(jobId, principal)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
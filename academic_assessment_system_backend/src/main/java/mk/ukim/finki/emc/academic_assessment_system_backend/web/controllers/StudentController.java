@@ -8,6 +8,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateStudentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseEnrollmentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentDto;
@@ -15,6 +17,7 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.D
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseEnrollmentApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.StudentApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.StudentExamRegistrationApplicationService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -42,7 +45,8 @@ public class StudentController {
 
     @Operation(
             summary = "Get all students",
-            description = "Returns a list of all students."
+            description = "Returns students." +
+                    " Results are paged by cursor: pass nextCursor back as cursor to get the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -55,8 +59,8 @@ public class StudentController {
             )
     })
     @GetMapping
-    public ResponseEntity<List<DisplayStudentDto>> findAll() {
-        return ResponseEntity.ok(studentApplicationService.findAll());
+    public ResponseEntity<CursorPageDto<DisplayStudentDto>> findAll(@ParameterObject PageQueryDto pageQuery) {
+        return ResponseEntity.ok(studentApplicationService.findAll(pageQuery));
     }
 
     @Operation(
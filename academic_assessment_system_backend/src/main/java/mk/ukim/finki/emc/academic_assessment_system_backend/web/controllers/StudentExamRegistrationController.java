@@ -1,6 +1,8 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.web.controllers;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,19 +10,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateStudentExamRegistrationDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayExamDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayExamWaitlistEntryDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayImportJobDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayStudentExamRegistrationDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStatus;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.exceptions.ExamFullException;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.ExamApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.ImportJobApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.StudentExamRegistrationApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.web.filters.IdempotencyFilter;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -43,6 +55,7 @@ public class StudentExamRegistrationController {
 
     private final StudentExamRegistrationApplicationService studentExamRegistrationApplicationService;
     private final ExamApplicationService examApplicationService;
+    private final ImportJobApplicationService importJobApplicationService;
 
     @Operation(
             summary = "Register logged-in student for exam",
@@ -51,15 +64,25 @@ public class StudentExamRegistrationController {
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "Student successfully registered for exam",
+                    description = "Student registered for exam, or was already registered. With the seat inventory " +
+                            "enabled, the id stays null until the registration is written to the database.",
                     content = @Content(
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = DisplayStudentExamRegistrationDto.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Exam is full; the student was put on its waitlist, or already was, and is " +
+                            "registered automatically when a seat opens up",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = DisplayExamWaitlistEntryDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Student already registered or invalid request",
+                    description = "Invalid request",
                     content = @Content
             ),
             @ApiResponse(
@@ -73,19 +96,71 @@ public class StudentExamRegistrationController {
                     content = @Content
             )
     })
+    @Parameter(
+            in = ParameterIn.HEADER,
+            name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER,
+            description = "Optional client-chosen key that makes retries safe: a repeat with the same key gets " +
+                    "the first response back (422 if the request differs, 409 while the first is still running)",
+            schema = @Schema(type = "string", maxLength = 255)
+    )
     @PreAuthorize("hasRole('STUDENT')")
     @PostMapping("/{examId}/register")
-    public ResponseEntity<DisplayStudentExamRegistrationDto> registerForExam(
+    public ResponseEntity<?> registerForExam(
             @PathVariable Long examId,
             Authentication authentication
     ) {
         JwtUserPrincipal principal = (JwtUserPrincipal) authentication.getPrincipal();
         String email = principal.email();
 
-        return ResponseEntity.ok(
-                studentExamRegistrationApplicationService
-                        .registerCurrentStudent(email, examId)
-        );
+        try {
+            return ResponseEntity.ok(
+                    studentExamRegistrationApplicationService
+                            .registerCurrentStudent(email, examId)
+            );
+        } catch (ExamFullException e) {
+            return ResponseEntity.accepted().body(
+                    studentExamRegistrationApplicationService
+                            .joinWaitlistForCurrentStudent(email, examId)
+            );
+        }
+    }
+
+    @Operation(
+            summary = "Waitlist position of logged-in student",
+            description = "Returns the place of the currently authenticated STUDENT in the waitlist of a full exam."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Student is waiting for a seat",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = DisplayExamWaitlistEntryDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "User is not a STUDENT",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Student is not on the waitlist of this exam",
+                    content = @Content
+            )
+    })
+    @PreAuthorize("hasRole('STUDENT')")
+    @GetMapping("/{examId}/waitlist/me")
+    public ResponseEntity<DisplayExamWaitlistEntryDto> findMyWaitlistEntry(
+            @PathVariable Long examId,
+            Authentication authentication
+    ) {
+        JwtUserPrincipal principal = (JwtUserPrincipal) authentication.getPrincipal();
+
+        return studentExamRegistrationApplicationService
+                .findWaitlistEntryForCurrentStudent(principal.email(), examId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(
@@ -117,12 +192,17 @@ public class StudentExamRegistrationController {
 
     @Operation(
             summary = "Import attended students for exam",
-            description = "Imports a CSV file containing students who attended the exam and updates their status."
+            description = "Queues an import job for a CSV file containing students who attended the exam. " +
+                    "Poll GET /api/imports/{jobId} for progress and per-transition counts."
     )
     @ApiResponses(value = {
             @ApiResponse(
-                    responseCode = "200",
-                    description = "Students successfully imported"
+                    responseCode = "202",
+                    description = "Import job queued",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = DisplayImportJobDto.class)
+                    )
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -135,13 +215,21 @@ public class StudentExamRegistrationController {
                     content = @Content
             )
     })
+    @Parameter(
+            in = ParameterIn.HEADER,
+            name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER,
+            description = "Optional client-chosen key that makes retries safe: a repeat with the same key gets " +
+                    "the first response back (422 if the request differs, 409 while the first is still running)",
+            schema = @Schema(type = "string", maxLength = 255)
+    )
     @PostMapping(value = "/{examId}/attended-students/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<String> importAttendedStudents(
+    public ResponseEntity<DisplayImportJobDto> importAttendedStudents(
             @PathVariable Long examId,
-            @RequestPart("file") MultipartFile file
+            @RequestPart("file") MultipartFile file,
+            @AuthenticationPrincipal JwtUserPrincipal principal
     ) {
-        int importedLines = studentExamRegistrationApplicationService.importStudentsCsv(examId, file);
-        return ResponseEntity.ok("Imported students who attended the exam: " + importedLines);
+        return ResponseEntity.accepted()
+                .body(importJobApplicationService.submit(ImportJobType.EXAM_ATTENDANCE, examId, file, principal));
     }
 
     @Operation(
@@ -200,7 +288,8 @@ public class StudentExamRegistrationController {
 
     @Operation(
             summary = "Get registered students for an exam",
-            description = "Returns a list of all students registered for the exam with the given ID."
+            description = "Returns the students registered for the exam with the given ID." +
+                    " Results are paged by cursor: pass nextCursor back as cursor to get the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -218,13 +307,15 @@ public class StudentExamRegistrationController {
             )
     })
     @GetMapping("/{examId}/registered-students")
-    public ResponseEntity<List<DisplayStudentExamRegistrationDto>> getRegisteredStudents(@PathVariable Long examId) {
-        return ResponseEntity.ok(studentExamRegistrationApplicationService.findAllByExamIdAndExamStatus(examId, ExamStatus.REGISTERED));
+    public ResponseEntity<CursorPageDto<DisplayStudentExamRegistrationDto>> getRegisteredStudents(@PathVariable Long examId,
+                                                                                           @ParameterObject PageQueryDto pageQuery) {
+        return ResponseEntity.ok(studentExamRegistrationApplicationService.findAllByExamIdAndExamStatus(examId, ExamStatus.REGISTERED, pageQuery));
     }
 
     @Operation(
             summary = "Get attended students for an exam",
-            description = "Returns a list of all students who attended the exam with the given ID."
+            description = "Returns the students who attended the exam with the given ID." +
+                    " Results are paged by cursor: pass nextCursor back as cursor to get the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -242,13 +333,15 @@ public class StudentExamRegistrationController {
             )
     })
     @GetMapping("/{examId}/attended-students")
-    public ResponseEntity<List<DisplayStudentExamRegistrationDto>> getAttendedStudents(@PathVariable Long examId) {
-        return ResponseEntity.ok(studentExamRegistrationApplicationService.findAllByExamIdAndExamStatus(examId, ExamStatus.ATTENDED));
+    public ResponseEntity<CursorPageDto<DisplayStudentExamRegistrationDto>> getAttendedStudents(@PathVariable Long examId,
+                                                                                           @ParameterObject PageQueryDto pageQuery) {
+        return ResponseEntity.ok(studentExamRegistrationApplicationService.findAllByExamIdAndExamStatus(examId, ExamStatus.ATTENDED, pageQuery));
     }
 
     @Operation(
             summary = "Get absent students for an exam",
-            description = "Returns a list of all students who were absent from the exam with the given ID."
+            description = "Returns the students who were absent from the exam with the given ID." +
+                    " Results are paged by cursor: pass nextCursor back as cursor to get the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -266,7 +359,8 @@ public class StudentExamRegistrationController {
             )
     })
     @GetMapping("/{examId}/absent-students")
-    public ResponseEntity<List<DisplayStudentExamRegistrationDto>> getAbsentStudents(@PathVariable Long examId) {
-        return ResponseEntity.ok(studentExamRegistrationApplicationService.findAllByExamIdAndExamStatus(examId, ExamStatus.ABSENT));
+    public ResponseEntity<CursorPageDto<DisplayStudentExamRegistrationDto>> getAbsentStudents(@PathVariable Long examId,
+                                                                                           @ParameterObject PageQueryDto pageQuery) {
+        return ResponseEntity.ok(studentExamRegistrationApplicationService.findAllByExamIdAndExamStatus(examId, ExamStatus.ABSENT, pageQuery));
     }
 }
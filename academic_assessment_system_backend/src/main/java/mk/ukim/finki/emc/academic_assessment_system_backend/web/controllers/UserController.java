@@ -1,6 +1,8 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.web.controllers;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -9,6 +11,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.LoginUserRequestDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.LoginUserResponseDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.RegisterUserRequestDto;
@@ -16,13 +20,17 @@ import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.RegisterU
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateUserDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseEnrollmentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseStaffAssignmentDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayImportJobDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayUserDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayUserStudentDto;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseStaffAssignmentApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.ImportJobApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.PasswordResetApplicationService;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.UserApplicationService;
-import org.springframework.core.io.ByteArrayResource;
+import mk.ukim.finki.emc.academic_assessment_system_backend.web.filters.IdempotencyFilter;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +38,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -49,11 +58,13 @@ public class UserController {
 
     private final UserApplicationService userApplicationService;
     private final PasswordResetApplicationService passwordResetApplicationService;
+    private final ImportJobApplicationService importJobApplicationService;
     private final CourseStaffAssignmentApplicationService courseStaffAssignmentApplicationService;
 
     @Operation(
             summary = "Get all users",
-            description = "Returns a list of all users in the system."
+            description = "Returns users of the system." +
+                    " Results are paged by cursor: pass nextCursor back as cursor to get the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -66,8 +77,8 @@ public class UserController {
             )
     })
     @GetMapping
-    public ResponseEntity<List<DisplayUserDto>> findAll() {
-        return ResponseEntity.ok(userApplicationService.findAll());
+    public ResponseEntity<CursorPageDto<DisplayUserDto>> findAll(@ParameterObject PageQueryDto pageQuery) {
+        return ResponseEntity.ok(userApplicationService.findAll(pageQuery));
     }
 
     @GetMapping("/staff")
@@ -76,8 +87,8 @@ public class UserController {
     }
 
     @GetMapping("/students")
-    public ResponseEntity<List<DisplayUserStudentDto>> findAllStudents() {
-        return ResponseEntity.ok(userApplicationService.findAllStudents());
+    public ResponseEntity<CursorPageDto<DisplayUserStudentDto>> findAllStudents(@ParameterObject PageQueryDto pageQuery) {
+        return ResponseEntity.ok(userApplicationService.findAllStudents(pageQuery));
     }
 
     @Operation(
@@ -180,7 +191,8 @@ public class UserController {
     @Operation(
             summary = "Import users from CSV",
             description = """
-                    Upload a CSV file (multipart/form-data) to import users.
+                    Upload a CSV file (multipart/form-data) to queue a user import job.
+                    Poll GET /api/imports/{jobId} for progress, created/updated counters and per-row errors.
                     
                     Required header:
                     firstName,lastName,email,password,userRole,studentIndex,major
@@ -193,38 +205,32 @@ public class UserController {
                     """)
     @ApiResponses(value = {
             @ApiResponse(
-                    responseCode = "200",
-                    description = "Import finished (created/updated/errors returned)",
+                    responseCode = "202",
+                    description = "Import job queued",
                     content = @Content(
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            schema = @Schema(type = "object"),
-                            examples = @ExampleObject(
-                                    value = """
-                                            {
-                                              "created": 2,
-                                              "updated": 1,
-                                              "errors": [
-                                                {
-                                                  "row": "5",
-                                                  "email": "bad@finki.mk",
-                                                  "error": "studentIndex and major are required for STUDENT"
-                                                }
-                                              ]
-                                            }
-                                            """
-                            )
+                            schema = @Schema(implementation = DisplayImportJobDto.class)
                     )
             ),
             @ApiResponse(responseCode = "400", description = "Invalid file or CSV format", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized (if endpoint protected)", content = @Content)
     })
+    @Parameter(
+            in = ParameterIn.HEADER,
+            name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER,
+            description = "Optional client-chosen key that makes retries safe: a repeat with the same key gets " +
+                    "the first response back (422 if the request differs, 409 while the first is still running)",
+            schema = @Schema(type = "string", maxLength = 255)
+    )
     @PostMapping(
             value = "/import",
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<?> importUsers(@RequestPart("file") MultipartFile file) {
-        return ResponseEntity.ok(userApplicationService.importUsersFromCsv(file));
+    public ResponseEntity<DisplayImportJobDto> importUsers(@RequestPart("file") MultipartFile file,
+                                                           @AuthenticationPrincipal JwtUserPrincipal principal) {
+        return ResponseEntity.accepted()
+                .body(importJobApplicationService.submit(ImportJobType.USERS, null, file, principal));
     }
 
     @Operation(
@@ -259,16 +265,13 @@ public class UserController {
             @ApiResponse(responseCode = "401", description = "Unauthorized (if endpoint protected)", content = @Content)
     })
     @GetMapping(value = "/export", produces = "text/csv")
-    public ResponseEntity<ByteArrayResource> exportUsers() {
-        byte[] csv = userApplicationService.exportUsersToCsv();
-
-        ByteArrayResource resource = new ByteArrayResource(csv);
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userApplicationService::exportUsersToCsv;
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users.csv")
                 .contentType(MediaType.parseMediaType("text/csv"))
-                .contentLength(csv.length)
-                .body(resource);
+                .body(body);
     }
 
     @Operation(
@@ -0,0 +1,67 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.web.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.AuthRateLimiter;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.exceptions.RateLimitExceededException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Throttles login and password-reset requests per client address. Behind a reverse proxy the address comes from
+ * {@code X-Forwarded-For}, which Tomcat applies before any filter runs and only for connections from the proxies
+ * listed in {@code server.tomcat.remoteip.internal-proxies}; a client talking to the app directly cannot pick its
+ * own bucket by sending the header.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/users/login";
+    private static final String PASSWORD_RESET_PATH = "/api/users/password-reset/request";
+
+    private final AuthRateLimiter authRateLimiter;
+
+    public AuthRateLimitFilter(AuthRateLimiter authRateLimiter) {
+        this.authRateLimiter = authRateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || endpointFor(request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        try {
+            authRateLimiter.checkIp(endpointFor(request.getServletPath()), request.getRemoteAddr());
+        } catch (RateLimitExceededException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getReason());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String endpointFor(String path) {
+        if (LOGIN_PATH.equals(path)) {
+            return AuthRateLimiter.LOGIN;
+        }
+        if (PASSWORD_RESET_PATH.equals(path)) {
+            return AuthRateLimiter.PASSWORD_RESET;
+        }
+        return null;
+    }
+}
@@ -1,5 +1,6 @@
 package mk.ukim.finki.emc.academic_assessment_system_backend.web.filters;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,8 +10,12 @@ import lombok.NonNull;
 import mk.ukim.finki.emc.academic_assessment_system_backend.constants.JwtConstants;
 import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
 import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.JwtHelper;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.JwtPrincipalCache;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.JwtRevocationRegistry;
 import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
 import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.UserService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -28,15 +33,24 @@ import java.util.Optional;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtHelper jwtHelper;
+    private final JwtPrincipalCache jwtPrincipalCache;
+    private final JwtRevocationRegistry jwtRevocationRegistry;
     private final UserService userService;
     private final HandlerExceptionResolver handlerExceptionResolver;
+    private final boolean statelessPrincipal;
 
     public JwtFilter(JwtHelper jwtHelper,
+                     JwtPrincipalCache jwtPrincipalCache,
+                     JwtRevocationRegistry jwtRevocationRegistry,
                      UserService userService,
-                     HandlerExceptionResolver handlerExceptionResolver) {
+                     HandlerExceptionResolver handlerExceptionResolver,
+                     @Value("${jwt.stateless-principal.enabled:false}") boolean statelessPrincipal) {
         this.jwtHelper = jwtHelper;
+        this.jwtPrincipalCache = jwtPrincipalCache;
+        this.jwtRevocationRegistry = jwtRevocationRegistry;
         this.userService = userService;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -77,24 +91,16 @@ public class JwtFilter extends OncePerRequestFilter {
                 return;
             }
 
-            String email = jwtHelper.extractUsername(token);
-            if (email == null || email.isBlank()) {
-                filterChain.doFilter(request, response);
-                return;
+            JwtUserPrincipal principal = statelessPrincipal ? null : jwtPrincipalCache.get(token);
+            if (principal == null) {
+                principal = resolvePrincipal(token);
+                if (principal == null) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
             }
 
-            if (jwtHelper.isExpired(token)) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            Optional<User> userOpt = userService.findByEmail(email);
-            if (userOpt.isEmpty()) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            UsernamePasswordAuthenticationToken authToken = getUsernamePasswordAuthenticationToken(userOpt);
+            UsernamePasswordAuthenticationToken authToken = getUsernamePasswordAuthenticationToken(principal);
 
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -106,17 +112,44 @@ public class JwtFilter extends OncePerRequestFilter {
         }
     }
 
-    private static UsernamePasswordAuthenticationToken getUsernamePasswordAuthenticationToken(Optional<User> userOpt) {
-        User user = userOpt.get();
+    private JwtUserPrincipal resolvePrincipal(String token) {
+        Claims claims = jwtHelper.extractAllClaims(token);
 
+        String email = claims.getSubject();
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+
+        if (statelessPrincipal) {
+            Long userId = claims.get(JwtConstants.USER_ID_CLAIM, Long.class);
+            String role = claims.get(JwtConstants.ROLE_CLAIM, String.class);
+            if (userId != null && role != null) {
+                if (jwtRevocationRegistry.isRevoked(userId, claims.getIssuedAt())) {
+                    return null;
+                }
+                return new JwtUserPrincipal(userId, email, UserRole.valueOf(role));
+            }
+        }
+
+        Optional<User> userOpt = userService.findByEmail(email);
+        if (userOpt.isEmpty()) {
+            return null;
+        }
+
+        User user = userOpt.get();
         JwtUserPrincipal principal = new JwtUserPrincipal(
                 user.getId(),
                 user.getEmail(),
                 user.getUserRole()
         );
 
+        jwtPrincipalCache.put(token, principal, claims.getExpiration());
+        return principal;
+    }
+
+    private static UsernamePasswordAuthenticationToken getUsernamePasswordAuthenticationToken(JwtUserPrincipal principal) {
         List<SimpleGrantedAuthority> authorities = List.of(
-                new SimpleGrantedAuthority("ROLE_" + user.getUserRole().name())
+                new SimpleGrantedAuthority("ROLE_" + principal.role().name())
         );
 
         return new UsernamePasswordAuthenticationToken(principal, null, authorities);
@@ -0,0 +1,106 @@
+-- Runs once, right after Flyway baselines a database that predates versioned migrations at version 1.
+-- Such a database may come from any earlier database/init.sql: IDENTITY ids without sequences, and
+-- without the tables and indexes added since. Every statement is a no-op where the schema already
+-- matches V1, so a database that had database/migrations 001-003 applied is converted just as well.
+-- Stop every instance of the application before starting the first one that runs this.
+
+-- =========================
+-- TABLES ADDED SINCE THE FIRST init.sql
+-- =========================
+CREATE TABLE IF NOT EXISTS token_revocations
+(
+    id         BIGINT PRIMARY KEY,
+    user_id    BIGINT    NOT NULL,
+    not_before TIMESTAMP NOT NULL,
+    CONSTRAINT uk_token_revocation_user UNIQUE (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS import_jobs
+(
+    id              BIGINT PRIMARY KEY,
+    job_type        VARCHAR(30)   NOT NULL,
+    target_id       BIGINT,
+    status          VARCHAR(20)   NOT NULL,
+    file_path       VARCHAR(500)  NOT NULL,
+    rows_processed  BIGINT        NOT NULL,
+    rows_failed     BIGINT        NOT NULL,
+    failure_message VARCHAR(1000),
+    created_at      TIMESTAMP     NOT NULL,
+    started_at      TIMESTAMP,
+    finished_at     TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS import_job_counters
+(
+    job_id        BIGINT      NOT NULL,
+    counter_name  VARCHAR(60) NOT NULL,
+    counter_value BIGINT      NOT NULL,
+    CONSTRAINT fk_import_job_counters_job
+        FOREIGN KEY (job_id) REFERENCES import_jobs (id),
+    CONSTRAINT pk_import_job_counters PRIMARY KEY (job_id, counter_name)
+);
+
+CREATE TABLE IF NOT EXISTS import_job_errors
+(
+    id            BIGINT PRIMARY KEY,
+    job_id        BIGINT        NOT NULL,
+    record_number BIGINT        NOT NULL,
+    row_key       VARCHAR(150),
+    message       VARCHAR(1000) NOT NULL
+);
+
+-- =========================
+-- ID SEQUENCES
+-- =========================
+-- Hibernate's pooled optimizer hands out (value - 49 .. value] for each nextval, so every sequence is
+-- positioned so that the first block starts right after the current max id.
+CREATE SEQUENCE IF NOT EXISTS app_users_seq INCREMENT BY 50;
+ALTER SEQUENCE app_users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM app_users);
+ALTER TABLE app_users ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS students_seq INCREMENT BY 50;
+ALTER SEQUENCE students_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM students);
+ALTER TABLE students ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS courses_seq INCREMENT BY 50;
+ALTER SEQUENCE courses_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM courses);
+ALTER TABLE courses ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS course_enrollments_seq INCREMENT BY 50;
+ALTER SEQUENCE course_enrollments_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM course_enrollments);
+ALTER TABLE course_enrollments ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS course_staff_assignments_seq INCREMENT BY 50;
+ALTER SEQUENCE course_staff_assignments_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM course_staff_assignments);
+ALTER TABLE course_staff_assignments ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS exams_seq INCREMENT BY 50;
+ALTER SEQUENCE exams_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM exams);
+ALTER TABLE exams ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS student_exam_registrations_seq INCREMENT BY 50;
+ALTER SEQUENCE student_exam_registrations_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM student_exam_registrations);
+ALTER TABLE student_exam_registrations ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS password_reset_tokens_seq INCREMENT BY 50;
+ALTER SEQUENCE password_reset_tokens_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM password_reset_tokens);
+ALTER TABLE password_reset_tokens ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS token_revocations_seq INCREMENT BY 50;
+ALTER SEQUENCE token_revocations_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM token_revocations);
+ALTER TABLE token_revocations ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS import_jobs_seq INCREMENT BY 50;
+ALTER SEQUENCE import_jobs_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM import_jobs);
+ALTER TABLE import_jobs ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS import_job_errors_seq INCREMENT BY 50;
+ALTER SEQUENCE import_job_errors_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM import_job_errors);
+ALTER TABLE import_job_errors ALTER COLUMN id DROP IDENTITY;
+
+-- =========================
+-- INDEXES ADDED SINCE THE FIRST init.sql
+-- =========================
+CREATE INDEX IF NOT EXISTS idx_courses_term ON courses (academic_year DESC, semester DESC, course_code, id);
+CREATE INDEX IF NOT EXISTS idx_exams_date_start ON exams (date_of_exam DESC, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_exam_reserved_labs_laboratory ON exam_reserved_labs (laboratory);
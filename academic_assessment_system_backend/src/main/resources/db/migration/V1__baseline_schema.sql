@@ -0,0 +1,210 @@
+-- Schema as it stood before versioned migrations, written to run on both PostgreSQL and H2.
+-- Databases created from the old database/init.sql, with database/migrations 001-003 applied,
+-- already match this version and are baselined at 1 instead of re-running it.
+
+-- =========================
+-- ID SEQUENCES
+-- =========================
+-- Hibernate uses the pooled optimizer with allocationSize = 50, so increments must match.
+CREATE SEQUENCE app_users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE students_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE courses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE course_enrollments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE course_staff_assignments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE exams_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE student_exam_registrations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE password_reset_tokens_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE token_revocations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE import_jobs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE import_job_errors_seq START WITH 1 INCREMENT BY 50;
+
+-- =========================
+-- USERS
+-- =========================
+CREATE TABLE app_users
+(
+    id         BIGINT PRIMARY KEY,
+    first_name VARCHAR(80)  NOT NULL,
+    last_name  VARCHAR(80)  NOT NULL,
+    email      VARCHAR(150) NOT NULL,
+    password   VARCHAR(255),
+    user_role  VARCHAR(20)  NOT NULL,
+    CONSTRAINT uk_app_users_email UNIQUE (email)
+);
+
+-- =========================
+-- STUDENTS
+-- =========================
+CREATE TABLE students
+(
+    id            BIGINT PRIMARY KEY,
+    student_index VARCHAR(30)  NOT NULL,
+    major         VARCHAR(120) NOT NULL,
+    user_id       BIGINT       NOT NULL,
+    CONSTRAINT uk_student_index UNIQUE (student_index),
+    CONSTRAINT uk_student_user UNIQUE (user_id),
+    CONSTRAINT fk_student_user
+        FOREIGN KEY (user_id) REFERENCES app_users (id)
+);
+
+-- =========================
+-- COURSES
+-- =========================
+CREATE TABLE courses
+(
+    id            BIGINT PRIMARY KEY,
+    course_code   VARCHAR(30)  NOT NULL,
+    course_name   VARCHAR(200) NOT NULL,
+    semester      INTEGER      NOT NULL,
+    academic_year INTEGER      NOT NULL,
+    CONSTRAINT uk_course_code_semester_year
+        UNIQUE (course_code, semester, academic_year)
+);
+
+CREATE INDEX idx_courses_term ON courses (academic_year DESC, semester DESC, course_code, id);
+
+-- =========================
+-- COURSE ENROLLMENTS
+-- =========================
+CREATE TABLE course_enrollments
+(
+    id         BIGINT PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    course_id  BIGINT NOT NULL,
+    CONSTRAINT uk_course_student UNIQUE (course_id, student_id),
+    CONSTRAINT fk_enrollment_student
+        FOREIGN KEY (student_id) REFERENCES students (id),
+    CONSTRAINT fk_enrollment_course
+        FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+-- =========================
+-- COURSE STAFF ASSIGNMENTS
+-- =========================
+CREATE TABLE course_staff_assignments
+(
+    id         BIGINT PRIMARY KEY,
+    user_id    BIGINT      NOT NULL,
+    course_id  BIGINT      NOT NULL,
+    staff_role VARCHAR(20) NOT NULL,
+    CONSTRAINT uk_course_user_staffrole
+        UNIQUE (course_id, user_id, staff_role),
+    CONSTRAINT fk_course_staff_user
+        FOREIGN KEY (user_id) REFERENCES app_users (id),
+    CONSTRAINT fk_course_staff_course
+        FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+-- =========================
+-- EXAMS
+-- =========================
+CREATE TABLE exams
+(
+    id                   BIGINT PRIMARY KEY,
+    session              VARCHAR(100) NOT NULL,
+    date_of_exam         DATE         NOT NULL,
+    capacity_of_students INTEGER      NOT NULL,
+    start_time           TIME         NOT NULL,
+    end_time             TIME         NOT NULL,
+    course_id            BIGINT       NOT NULL,
+    CONSTRAINT fk_exam_course
+        FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+CREATE INDEX idx_exams_date_start ON exams (date_of_exam DESC, start_time, id);
+
+-- =========================
+-- EXAM RESERVED LABORATORIES
+-- =========================
+CREATE TABLE exam_reserved_labs
+(
+    exam_id    BIGINT       NOT NULL,
+    laboratory VARCHAR(100) NOT NULL,
+    CONSTRAINT fk_exam_reserved_labs_exam
+        FOREIGN KEY (exam_id) REFERENCES exams (id),
+    CONSTRAINT pk_exam_reserved_labs PRIMARY KEY (exam_id, laboratory)
+);
+
+CREATE INDEX idx_exam_reserved_labs_laboratory ON exam_reserved_labs (laboratory);
+
+-- =========================
+-- STUDENT EXAM REGISTRATIONS
+-- =========================
+CREATE TABLE student_exam_registrations
+(
+    id          BIGINT PRIMARY KEY,
+    student_id  BIGINT      NOT NULL,
+    exam_id     BIGINT      NOT NULL,
+    exam_status VARCHAR(20) NOT NULL,
+    CONSTRAINT uk_exam_student_registration
+        UNIQUE (exam_id, student_id),
+    CONSTRAINT fk_ser_student
+        FOREIGN KEY (student_id) REFERENCES students (id),
+    CONSTRAINT fk_ser_exam
+        FOREIGN KEY (exam_id) REFERENCES exams (id)
+);
+
+-- =========================
+-- PASSWORD RESET TOKENS
+-- =========================
+CREATE TABLE password_reset_tokens
+(
+    id         BIGINT PRIMARY KEY,
+    token      VARCHAR(80) NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    expires_at TIMESTAMP   NOT NULL,
+    used       BOOLEAN     NOT NULL DEFAULT FALSE,
+    CONSTRAINT uk_prt_token UNIQUE (token),
+    CONSTRAINT fk_prt_user
+        FOREIGN KEY (user_id) REFERENCES app_users (id)
+);
+
+CREATE UNIQUE INDEX idx_prt_token ON password_reset_tokens (token);
+
+-- =========================
+-- TOKEN REVOCATIONS
+-- =========================
+CREATE TABLE token_revocations
+(
+    id         BIGINT PRIMARY KEY,
+    user_id    BIGINT    NOT NULL,
+    not_before TIMESTAMP NOT NULL,
+    CONSTRAINT uk_token_revocation_user UNIQUE (user_id)
+);
+
+-- =========================
+-- IMPORT JOBS
+-- =========================
+CREATE TABLE import_jobs
+(
+    id              BIGINT PRIMARY KEY,
+    job_type        VARCHAR(30)   NOT NULL,
+    target_id       BIGINT,
+    status          VARCHAR(20)   NOT NULL,
+    file_path       VARCHAR(500)  NOT NULL,
+    rows_processed  BIGINT        NOT NULL,
+    rows_failed     BIGINT        NOT NULL,
+    failure_message VARCHAR(1000),
+    created_at      TIMESTAMP     NOT NULL,
+    started_at      TIMESTAMP,
+    finished_at     TIMESTAMP
+);
+
+CREATE TABLE import_job_counters
+(
+    job_id        BIGINT      NOT NULL,
+    counter_name  VARCHAR(60) NOT NULL,
+    counter_value BIGINT      NOT NULL,
+    CONSTRAINT fk_import_job_counters_job
+        FOREIGN KEY (job_id) REFERENCES import_jobs (id),
+    CONSTRAINT pk_import_job_counters PRIMARY KEY (job_id, counter_name)
+);
+
+CREATE TABLE import_job_errors
+(
+    id            BIGINT PRIMARY KEY,
+    job_id        BIGINT        NOT NULL,
+    record_number BIGINT        NOT NULL,
+    row_key       VARCHAR(150),
+    message       VARCHAR(1000) NOT NULL
+);
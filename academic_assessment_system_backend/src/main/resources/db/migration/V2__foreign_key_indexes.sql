@@ -0,0 +1,12 @@
+-- Indexes for foreign keys and filter columns that no primary key or unique constraint leads with.
+-- Without them, a lookup by student or user, or the delete of a parent row, scans the child table.
+
+CREATE INDEX IF NOT EXISTS idx_student_exam_registrations_student ON student_exam_registrations (student_id);
+CREATE INDEX IF NOT EXISTS idx_course_enrollments_student ON course_enrollments (student_id);
+CREATE INDEX IF NOT EXISTS idx_exams_course ON exams (course_id);
+CREATE INDEX IF NOT EXISTS idx_course_staff_assignments_user ON course_staff_assignments (user_id);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_user ON password_reset_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_import_job_errors_job ON import_job_errors (job_id, record_number);
+
+-- Listings by role page by id, so the id rides along in the index.
+CREATE INDEX IF NOT EXISTS idx_app_users_user_role ON app_users (user_role, id);
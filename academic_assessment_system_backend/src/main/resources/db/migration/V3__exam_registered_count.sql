@@ -0,0 +1,9 @@
+-- Seats taken per exam, kept next to the capacity so a registration can claim a seat with one
+-- conditional UPDATE instead of counting registrations under a lock.
+
+ALTER TABLE exams ADD COLUMN registered_count INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE exams
+SET registered_count = (SELECT COUNT(*) FROM student_exam_registrations r WHERE r.exam_id = exams.id);
+
+ALTER TABLE exams ADD CONSTRAINT ck_exams_registered_count CHECK (registered_count >= 0);
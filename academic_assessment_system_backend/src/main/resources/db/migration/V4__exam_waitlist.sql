@@ -0,0 +1,22 @@
+-- Students waiting for a seat on a full exam. The id is the place in line, so the sequence hands out
+-- one value per call instead of blocks of 50.
+
+CREATE SEQUENCE exam_waitlist_entries_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE exam_waitlist_entries
+(
+    id         BIGINT PRIMARY KEY,
+    student_id BIGINT    NOT NULL,
+    exam_id    BIGINT    NOT NULL,
+    joined_at  TIMESTAMP NOT NULL,
+    CONSTRAINT uk_exam_waitlist_student
+        UNIQUE (exam_id, student_id),
+    CONSTRAINT fk_waitlist_student
+        FOREIGN KEY (student_id) REFERENCES students (id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_exam
+        FOREIGN KEY (exam_id) REFERENCES exams (id) ON DELETE CASCADE
+);
+
+-- Promotion reads the head of one exam's line in id order.
+CREATE INDEX idx_exam_waitlist_entries_queue ON exam_waitlist_entries (exam_id, id);
+CREATE INDEX idx_exam_waitlist_entries_student ON exam_waitlist_entries (student_id);
@@ -0,0 +1,15 @@
+-- Responses stored under a client-supplied Idempotency-Key, shared by every instance when
+-- idempotency.persistence.enabled=true. A row without a status is a request still being executed;
+-- its expiry is a short lease, so a crashed instance does not block the key for the full TTL.
+
+CREATE TABLE idempotency_records
+(
+    idempotency_key VARCHAR(300) PRIMARY KEY,
+    fingerprint     VARCHAR(64)  NOT NULL,
+    status_code     INTEGER,
+    content_type    VARCHAR(255),
+    body            TEXT,
+    expires_at      TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX idx_idempotency_records_expires ON idempotency_records (expires_at);
@@ -0,0 +1,7 @@
+-- An import job belongs to the instance that spooled its file and runs only there. The owner keeps
+-- renewing the lease while the job is unfinished; once the lease runs out, any instance that can read
+-- the spool file may take the job over. created_by limits who can see the job's progress and row errors.
+
+ALTER TABLE import_jobs ADD COLUMN created_by BIGINT;
+ALTER TABLE import_jobs ADD COLUMN owner_instance VARCHAR(100);
+ALTER TABLE import_jobs ADD COLUMN lease_expires_at TIMESTAMP;
@@ -0,0 +1,4 @@
+-- Stored responses are kept as the bytes that were sent, so a body that is not UTF-8 text replays
+-- unchanged. Rows completed before this change keep their text in body until they expire.
+
+ALTER TABLE idempotency_records ADD COLUMN body_bytes BYTEA;
@@ -0,0 +1,111 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.config.datasource;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.CourseService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; a course that exists only in
+ * the replica shows which one answered.
+ */
+@SpringBootTest(properties = {
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=" + ReadWriteRoutingTests.REPLICA_URL,
+        "datasource.replica.read-your-writes-window-ms=" + ReadWriteRoutingTests.WINDOW_MILLIS
+})
+class ReadWriteRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:academic_assessment_system_replica;DB_CLOSE_DELAY=-1";
+    static final long WINDOW_MILLIS = 500;
+
+    private static final long REPLICA_COURSE_ID = 90_000_001L;
+    private static final String REPLICA_COURSE_CODE = "REPLICA-ONLY";
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    // A real replica starts as a copy of the primary; the data initializer already reads from it on startup.
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "admin", "admin").load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("DELETE FROM courses WHERE id = ?", REPLICA_COURSE_ID);
+        replica.update("""
+                INSERT INTO courses (id, course_code, course_name, semester, academic_year)
+                VALUES (?, ?, 'Replica course', 1, 2094)
+                """, REPLICA_COURSE_ID, REPLICA_COURSE_CODE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        replica.update("DELETE FROM courses WHERE id = ?", REPLICA_COURSE_ID);
+    }
+
+    @Test
+    void readOnlyServiceReadsGoToTheReplica() {
+        assertTrue(answeredByReplica(courseService.findAll()));
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        assertFalse(answeredByReplica(transactionTemplate.execute(status -> courseService.findAll())));
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimaryUntilTheWindowCloses() throws InterruptedException {
+        authenticate(42L);
+        transactionTemplate.executeWithoutResult(status -> courseService.findAll());
+
+        assertFalse(answeredByReplica(courseService.findAll()));
+
+        authenticate(43L);
+        assertTrue(answeredByReplica(courseService.findAll()));
+
+        authenticate(42L);
+        Thread.sleep(WINDOW_MILLIS + 100);
+        assertTrue(answeredByReplica(courseService.findAll()));
+    }
+
+    private static boolean answeredByReplica(List<Course> courses) {
+        return courses.stream().anyMatch(course -> REPLICA_COURSE_CODE.equals(course.getCourseCode()));
+    }
+
+    private static void authenticate(Long userId) {
+        JwtUserPrincipal principal = new JwtUserPrincipal(userId, "user" + userId + "@test.mk", UserRole.STUDENT);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
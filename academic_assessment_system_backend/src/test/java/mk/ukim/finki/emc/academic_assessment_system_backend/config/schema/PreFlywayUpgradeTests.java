@@ -0,0 +1,68 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.config.schema;
+
+import org.h2.tools.RunScript;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the application on a database built from the first init.sql, as an existing deployment would be:
+ * the context only comes up if Flyway converted it into a schema the entities and index check accept.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + PreFlywayUpgradeTests.URL)
+class PreFlywayUpgradeTests {
+
+    static final String URL = "jdbc:h2:mem:pre_flyway;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void createPreFlywayDatabase() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "admin", "admin");
+             Reader script = new InputStreamReader(PreFlywayUpgradeTests.class.getResourceAsStream("/db/pre-flyway-init.sql"),
+                     StandardCharsets.UTF_8);
+             Statement statement = connection.createStatement()) {
+            RunScript.execute(connection, script);
+            statement.execute("INSERT INTO app_users (first_name, last_name, email, user_role) VALUES "
+                    + "('Ana', 'First', 'ana@legacy.mk', 'STAFF'), ('Ivan', 'Second', 'ivan@legacy.mk', 'STUDENT')");
+            statement.execute("INSERT INTO courses (course_code, course_name, semester, academic_year) VALUES ('LEG', 'Legacy', 1, 2020)");
+        }
+    }
+
+    @Test
+    void existingDatabaseIsBaselinedAndMigrated() {
+        List<String> versions = jdbcTemplate.queryForList("""
+                SELECT "version" || ':' || "type" FROM "flyway_schema_history"
+                WHERE "version" IS NOT NULL AND "success" ORDER BY "installed_rank"
+                """, String.class);
+
+        assertEquals("1:BASELINE", versions.getFirst());
+        assertEquals("7:SQL", versions.getLast());
+    }
+
+    @Test
+    void sequencesContinueAfterTheExistingIds() {
+        long maxUserId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM app_users", Long.class);
+        long maxCourseId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM courses", Long.class);
+
+        // The pooled optimizer's first block is (value - 49 .. value].
+        assertTrue(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR app_users_seq", Long.class) - 49 > maxUserId);
+        assertTrue(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR courses_seq", Long.class) - 49 > maxCourseId);
+        assertEquals("NO", jdbcTemplate.queryForObject(
+                "SELECT IS_IDENTITY FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'APP_USERS' AND COLUMN_NAME = 'ID'", String.class));
+    }
+}
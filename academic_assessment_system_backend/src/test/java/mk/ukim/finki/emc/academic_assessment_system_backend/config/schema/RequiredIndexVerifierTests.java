@@ -0,0 +1,39 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.config.schema;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class RequiredIndexVerifierTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migratedSchemaHasEveryRequiredIndex() {
+        assertDoesNotThrow(() -> new RequiredIndexVerifier(dataSource, true).afterPropertiesSet());
+    }
+
+    @Test
+    void missingIndexFailsVerification() {
+        jdbcTemplate.execute("DROP INDEX idx_exams_date_start");
+        try {
+            IllegalStateException failure = assertThrows(IllegalStateException.class,
+                    () -> new RequiredIndexVerifier(dataSource, true).afterPropertiesSet());
+            assertTrue(failure.getMessage().contains("exams.idx_exams_date_start"));
+        } finally {
+            jdbcTemplate.execute("CREATE INDEX idx_exams_date_start ON exams (date_of_exam DESC, start_time, id)");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.fixtures;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Rows a test writes over JDBC in its own id range: a course with id {@code baseId}, its exams and users
+ * (optionally students) {@code baseId + 1 .. baseId + count}. The tests run without a test transaction, so
+ * {@link #deleteAll} removes exactly these rows and everything registered against the exams afterwards.
+ */
+public final class RegistrationFixture {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long baseId;
+    private final int count;
+    private final List<Long> examIds = new ArrayList<>();
+
+    public RegistrationFixture(JdbcTemplate jdbcTemplate, long baseId, int count) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.baseId = baseId;
+        this.count = count;
+    }
+
+    public long courseId() {
+        return baseId;
+    }
+
+    public long studentId(long i) {
+        return baseId + i;
+    }
+
+    public void insertCourse(String code) {
+        jdbcTemplate.update("INSERT INTO courses (id, course_code, course_name, semester, academic_year) VALUES (?, ?, ?, 1, 2091)",
+                courseId(), code, code);
+    }
+
+    public void insertExam(long examId, int capacity) {
+        jdbcTemplate.update("""
+                INSERT INTO exams (id, session, date_of_exam, capacity_of_students, start_time, end_time, course_id)
+                VALUES (?, 'Fixture', DATE '2091-01-15', ?, TIME '08:00:00', TIME '10:00:00', ?)
+                """, examId, capacity, courseId());
+        examIds.add(examId);
+    }
+
+    // Emails are label + i + emailDomain, so a test can address the users the way its input does.
+    public void insertUsers(String label, String emailDomain, String role) {
+        List<Object[]> users = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            users.add(new Object[]{studentId(i), label, "No" + i, label + i + emailDomain, role});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO app_users (id, first_name, last_name, email, user_role) VALUES (?, ?, ?, ?, ?)", users);
+    }
+
+    public void insertStudents(String label) {
+        insertUsers(label, "@test.mk", "STUDENT");
+        List<Object[]> students = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            students.add(new Object[]{studentId(i), label.toUpperCase(Locale.ROOT) + "-" + i, studentId(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO students (id, student_index, major, user_id) VALUES (?, ?, 'SIIS', ?)", students);
+    }
+
+    public void deleteAll() {
+        for (Long examId : examIds) {
+            jdbcTemplate.update("DELETE FROM exam_waitlist_entries WHERE exam_id = ?", examId);
+            jdbcTemplate.update("DELETE FROM student_exam_registrations WHERE exam_id = ?", examId);
+            jdbcTemplate.update("DELETE FROM exams WHERE id = ?", examId);
+        }
+        examIds.clear();
+        jdbcTemplate.update("DELETE FROM students WHERE id > ? AND id <= ?", baseId, baseId + count);
+        jdbcTemplate.update("DELETE FROM app_users WHERE id > ? AND id <= ?", baseId, baseId + count);
+        jdbcTemplate.update("DELETE FROM courses WHERE id = ?", courseId());
+    }
+
+    /**
+     * Runs the attempts from a pool of {@code threads} and returns, in order, each result or the exception
+     * it ended with.
+     */
+    public static <T> List<Object> runConcurrently(List<Callable<T>> attempts, int threads) throws InterruptedException {
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<T> future : executor.invokeAll(attempts)) {
+                try {
+                    outcomes.add(future.get());
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                }
+            }
+            return outcomes;
+        }
+    }
+}
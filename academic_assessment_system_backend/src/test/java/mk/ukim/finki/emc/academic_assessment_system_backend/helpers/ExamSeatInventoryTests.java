@@ -0,0 +1,229 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.fixtures.RegistrationFixture;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamSeatRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.StudentExamRegistrationRepository;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentExamRegistrationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.StudentService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.implementation.StudentExamRegistrationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.LongStream;
+import java.util.zip.CRC32;
+
+import static mk.ukim.finki.emc.academic_assessment_system_backend.fixtures.RegistrationFixture.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The scheduled flush is pushed out of the way, so each test decides when registrations reach the database.
+ */
+@SpringBootTest(properties = {
+        "registration.seat-inventory.enabled=true",
+        "registration.seat-inventory.journal-dir=target/seat-journal-tests",
+        "registration.seat-inventory.flush-interval-ms=3600000"
+})
+class ExamSeatInventoryTests {
+
+    private static final long BASE_ID = 60_000_000L;
+    private static final long EXAM_ID = BASE_ID;
+    private static final long SECOND_EXAM_ID = BASE_ID + 1;
+    private static final int STUDENTS = 2_000;
+
+    @Autowired
+    private ExamSeatInventory examSeatInventory;
+
+    @Autowired
+    private StudentExamRegistrationService studentExamRegistrationService;
+
+    @Autowired
+    private StudentExamRegistrationRepository studentExamRegistrationRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ExamService examService;
+
+    @Autowired
+    private ExamSeatRepository examSeatRepository;
+
+    @Autowired
+    private ExamWaitlistIndex examWaitlistIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${registration.seat-inventory.journal-dir}")
+    private Path journalDirectory;
+
+    private RegistrationFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new RegistrationFixture(jdbcTemplate, BASE_ID, STUDENTS);
+        fixture.insertCourse("INV");
+        fixture.insertStudents("inventory");
+    }
+
+    @AfterEach
+    void tearDown() {
+        examSeatInventory.flush();
+        examSeatInventory.forgetAfterCommit(EXAM_ID);
+        examSeatInventory.forgetAfterCommit(SECOND_EXAM_ID);
+        fixture.deleteAll();
+    }
+
+    @Test
+    void burstIsDecidedInMemoryAndWrittenBehind() throws InterruptedException {
+        fixture.insertExam(EXAM_ID, 200);
+
+        List<Object> outcomes = runConcurrently(LongStream.rangeClosed(1, STUDENTS)
+                .mapToObj(i -> (Callable<StudentExamRegistration>) () -> studentExamRegistrationService.register(BASE_ID + i, EXAM_ID))
+                .toList(), 32);
+
+        List<StudentExamRegistration> accepted = outcomes.stream()
+                .filter(StudentExamRegistration.class::isInstance)
+                .map(StudentExamRegistration.class::cast)
+                .toList();
+        assertEquals(200, accepted.size());
+        accepted.forEach(registration -> assertNull(registration.getId()));
+        outcomes.stream().filter(outcome -> !(outcome instanceof StudentExamRegistration)).forEach(outcome ->
+                assertEquals(HttpStatus.CONFLICT, assertInstanceOf(ResponseStatusException.class, outcome).getStatusCode()));
+        assertEquals(0, registrationRows(EXAM_ID));
+
+        examSeatInventory.flush();
+
+        assertEquals(200, registrationRows(EXAM_ID));
+        assertEquals(200, examSeatRepository.findRegisteredCount(EXAM_ID).orElseThrow());
+        Long registeredStudent = accepted.getFirst().getStudent().getId();
+        assertNotNull(studentExamRegistrationService.register(registeredStudent, EXAM_ID).getId());
+    }
+
+    @Test
+    void deletedRegistrationAndRaisedCapacityFreeSeats() {
+        fixture.insertExam(EXAM_ID, 1);
+        studentExamRegistrationService.register(BASE_ID + 1, EXAM_ID);
+        assertFull(BASE_ID + 2);
+        examSeatInventory.flush();
+
+        Long id = studentExamRegistrationRepository.findByStudentIdAndExamId(BASE_ID + 1, EXAM_ID).orElseThrow().getId();
+        studentExamRegistrationService.deleteById(id);
+        studentExamRegistrationService.register(BASE_ID + 2, EXAM_ID);
+        assertFull(BASE_ID + 3);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Exam exam = examService.findById(EXAM_ID).orElseThrow();
+            examService.update(EXAM_ID, new Exam(exam.getSession(), exam.getDateOfExam(), 2, exam.getStartTime(),
+                    exam.getEndTime(), exam.getCourse(), List.copyOf(exam.getReservedLaboratories())));
+        });
+        studentExamRegistrationService.register(BASE_ID + 3, EXAM_ID);
+        assertFull(BASE_ID + 4);
+    }
+
+    @Test
+    void flushNeverWritesMoreRegistrationsThanTheExamHasSeats() {
+        fixture.insertExam(EXAM_ID, 2);
+        studentExamRegistrationService.register(BASE_ID + 1, EXAM_ID);
+
+        // Another instance takes a seat the inventory here cannot see.
+        jdbcTemplate.update("INSERT INTO student_exam_registrations (id, student_id, exam_id, exam_status) VALUES (?, ?, ?, 'REGISTERED')", BASE_ID, BASE_ID + 3, EXAM_ID);
+        jdbcTemplate.update("UPDATE exams SET registered_count = 1 WHERE id = ?", EXAM_ID);
+        studentExamRegistrationService.register(BASE_ID + 2, EXAM_ID);
+
+        examSeatInventory.flush();
+
+        assertEquals(2, registrationRows(EXAM_ID));
+        assertEquals(2, examSeatRepository.findRegisteredCount(EXAM_ID).orElseThrow());
+        assertTrue(studentExamRegistrationRepository.existsByStudentIdAndExamId(BASE_ID + 1, EXAM_ID));
+        assertFalse(studentExamRegistrationRepository.existsByStudentIdAndExamId(BASE_ID + 2, EXAM_ID));
+        assertFull(BASE_ID + 4);
+    }
+
+    @Test
+    void journalLeftByACrashIsReplayed() throws IOException {
+        fixture.insertExam(SECOND_EXAM_ID, 10);
+        String torn = SECOND_EXAM_ID + "," + (BASE_ID + 4) + ",deadbeef";
+        Path segment = journalDirectory.resolve("seats-0000000000000000000.journal");
+        Files.write(segment, List.of(line(BASE_ID + 1), line(BASE_ID + 2), line(BASE_ID + 3), torn, line(BASE_ID + 5)));
+
+        examSeatInventory.replay();
+
+        assertFalse(Files.exists(segment));
+        assertEquals(3, registrationRows(SECOND_EXAM_ID));
+        assertEquals(3, examSeatRepository.findRegisteredCount(SECOND_EXAM_ID).orElseThrow());
+        assertTrue(studentExamRegistrationRepository.existsByStudentIdAndExamId(BASE_ID + 3, SECOND_EXAM_ID));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void inventoryOutrunsTheSynchronousPath() throws InterruptedException {
+        ExamSeatInventory disabled = new ExamSeatInventory(false, journalDirectory, 1, null, null, null, null, null, new SimpleMeterRegistry());
+        StudentExamRegistrationService synchronous = new StudentExamRegistrationServiceImpl(studentExamRegistrationRepository,
+                studentService, examService, examSeatRepository, disabled, examWaitlistIndex, transactionTemplate);
+        fixture.insertExam(EXAM_ID, STUDENTS / 2);
+        fixture.insertExam(SECOND_EXAM_ID, STUDENTS / 2);
+
+        long synchronousMillis = measure(synchronous, EXAM_ID);
+        long inventoryMillis = measure(studentExamRegistrationService, SECOND_EXAM_ID);
+
+        System.out.printf("%d attempts at %d seats, synchronous: %d ms (%d/s)%n",
+                STUDENTS, STUDENTS / 2, synchronousMillis, STUDENTS * 1000L / Math.max(1, synchronousMillis));
+        System.out.printf("%d attempts at %d seats, inventory:   %d ms (%d/s)%n",
+                STUDENTS, STUDENTS / 2, inventoryMillis, STUDENTS * 1000L / Math.max(1, inventoryMillis));
+        assertTrue(inventoryMillis < synchronousMillis);
+    }
+
+    private long measure(StudentExamRegistrationService service, long examId) throws InterruptedException {
+        List<Callable<StudentExamRegistration>> attempts = LongStream.rangeClosed(1, STUDENTS)
+                .mapToObj(i -> (Callable<StudentExamRegistration>) () -> service.register(BASE_ID + i, examId))
+                .toList();
+        long start = System.nanoTime();
+        runConcurrently(attempts, 64);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void assertFull(long studentId) {
+        ResponseStatusException full = assertThrows(ResponseStatusException.class,
+                () -> studentExamRegistrationService.register(studentId, EXAM_ID));
+        assertEquals(HttpStatus.CONFLICT, full.getStatusCode());
+    }
+
+    private static String line(long studentId) {
+        String record = SECOND_EXAM_ID + "," + studentId;
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes());
+        return record + "," + Long.toHexString(crc.getValue());
+    }
+
+    private int registrationRows(long examId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_exam_registrations WHERE exam_id = ?", Integer.class, examId);
+    }
+}
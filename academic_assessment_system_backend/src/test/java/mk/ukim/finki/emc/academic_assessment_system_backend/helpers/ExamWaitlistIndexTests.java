@@ -0,0 +1,47 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamWaitlistEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExamWaitlistIndexTests {
+
+    private static final Long EXAM_ID = 1L;
+
+    // The load reads the line before the join commits and finishes after it; the join must still count.
+    @Test
+    void joinCommittedDuringALoadIsNotLost() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(1);
+        ExamWaitlistEntryRepository repository = mock(ExamWaitlistEntryRepository.class);
+        when(repository.findIdsByExamId(EXAM_ID)).thenAnswer(invocation -> {
+            loading.countDown();
+            joined.await(200, TimeUnit.MILLISECONDS);
+            return List.of(10L);
+        });
+        ExamWaitlistIndex index = new ExamWaitlistIndex(repository, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        CompletableFuture<Integer> load = CompletableFuture.supplyAsync(() -> index.waiting(EXAM_ID));
+        loading.await();
+        CompletableFuture<Void> join = CompletableFuture.runAsync(() -> index.joinedAfterCommit(EXAM_ID, 11L));
+        Thread.sleep(50);
+        assertFalse(join.isDone());
+        joined.countDown();
+
+        load.get(5, TimeUnit.SECONDS);
+        join.get(5, TimeUnit.SECONDS);
+        assertEquals(2, index.waiting(EXAM_ID));
+        assertEquals(2, index.position(EXAM_ID, 11L));
+    }
+}
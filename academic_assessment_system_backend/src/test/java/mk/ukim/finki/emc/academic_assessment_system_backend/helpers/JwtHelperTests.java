@@ -0,0 +1,97 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import mk.ukim.finki.emc.academic_assessment_system_backend.constants.JwtConstants;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtHelperTests {
+
+    private static final String ROTATED_KEY = "c2VjcmV0LWZvci10aGUtcm90YXRlZC1zaWduaW5nLWtleS0wMTIzNDU2Nzg5";
+
+    @Test
+    void tokensSignedWithThePreviousKeyStillVerifyAfterRotation() {
+        JwtHelper before = new JwtHelper(new JwtKeyRegistry("", JwtConstants.DEFAULT_KEY_ID));
+        JwtHelper after = new JwtHelper(new JwtKeyRegistry("rotated:" + ROTATED_KEY, "rotated"));
+
+        String oldToken = before.generateToken(1L, "ana@test.mk", UserRole.STAFF);
+        String newToken = after.generateToken(1L, "ana@test.mk", UserRole.STAFF);
+
+        assertEquals("ana@test.mk", after.extractAllClaims(oldToken).getSubject());
+        assertEquals("rotated", Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(ROTATED_KEY)))
+                .build().parseClaimsJws(newToken).getHeader().getKeyId());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void throughputOfGenerationAndVerification() throws Exception {
+        JwtHelper jwtHelper = new JwtHelper(new JwtKeyRegistry("", JwtConstants.DEFAULT_KEY_ID));
+        String token = jwtHelper.generateToken(1L, "ana@test.mk", UserRole.STAFF);
+        int operations = 40_000;
+
+        for (int threads : new int[]{1, 8, 64}) {
+            // The first pass warms up the JIT.
+            measure(threads, operations, () -> jwtHelper.generateToken(1L, "ana@test.mk", UserRole.STAFF));
+            report("generate", threads, operations, measure(threads, operations,
+                    () -> jwtHelper.generateToken(1L, "ana@test.mk", UserRole.STAFF)));
+
+            measure(threads, operations, () -> jwtHelper.extractAllClaims(token));
+            long verifyNanos = measure(threads, operations, () -> jwtHelper.extractAllClaims(token));
+            report("verify", threads, operations, verifyNanos);
+
+            // What every verification used to do: decode the secret and build a parser.
+            measure(threads, operations, () -> verifyWithoutReuse(token));
+            long withoutReuseNanos = measure(threads, operations, () -> verifyWithoutReuse(token));
+            report("verify, no reuse", threads, operations, withoutReuseNanos);
+
+            assertTrue(verifyNanos < withoutReuseNanos);
+        }
+    }
+
+    private static Claims verifyWithoutReuse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtConstants.SECRET_KEY)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static long measure(int threads, int operations, Runnable operation) throws Exception {
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers.add(() -> {
+                for (int i = offset; i < operations; i += threads) {
+                    operation.run();
+                }
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String operation, int threads, int operations, long nanos) {
+        System.out.printf("%-16s %2d threads: %,d ops/s%n", operation, threads, operations * 1_000_000_000L / Math.max(1, nanos));
+    }
+}
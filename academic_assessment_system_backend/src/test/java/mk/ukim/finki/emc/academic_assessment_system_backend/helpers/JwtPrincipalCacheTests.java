@@ -0,0 +1,110 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtPrincipalCacheTests {
+
+    private static final JwtUserPrincipal ANA = new JwtUserPrincipal(1L, "ana@test.mk", UserRole.STAFF);
+    private static final JwtUserPrincipal IVAN = new JwtUserPrincipal(2L, "ivan@test.mk", UserRole.STUDENT);
+
+    @Test
+    void cachedPrincipalIsReturnedForTheSameToken() {
+        JwtPrincipalCache cache = cache(10, 60_000);
+        cache.put("token-a", ANA, inMillis(60_000));
+
+        assertEquals(ANA, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void entriesExpireWithTheTokenOrTheMaxTtl() throws InterruptedException {
+        JwtPrincipalCache cache = cache(10, 50);
+        cache.put("short-ttl", ANA, inMillis(60_000));
+        cache.put("short-exp", IVAN, inMillis(20));
+        cache.put("already-expired", IVAN, inMillis(-1_000));
+
+        assertEquals(2, cache.size());
+        Thread.sleep(100);
+
+        assertNull(cache.get("short-ttl"));
+        assertNull(cache.get("short-exp"));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    void invalidationDropsEveryTokenOfTheUser() {
+        JwtPrincipalCache cache = cache(10, 60_000);
+        cache.put("ana-laptop", ANA, inMillis(60_000));
+        cache.put("ana-phone", ANA, inMillis(60_000));
+        cache.put("ivan", IVAN, inMillis(60_000));
+
+        cache.invalidateUser(ANA.id());
+
+        assertNull(cache.get("ana-laptop"));
+        assertNull(cache.get("ana-phone"));
+        assertEquals(IVAN, cache.get("ivan"));
+    }
+
+    @Test
+    void invalidationInsideATransactionWaitsForItToFinish() {
+        JwtPrincipalCache cache = cache(10, 60_000);
+        cache.put("ana", ANA, inMillis(60_000));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateUserAfterCommit(ANA.id());
+            assertEquals(ANA, cache.get("ana"));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cache.get("ana"));
+    }
+
+    @Test
+    void fullCacheDropsExpiredEntriesFirstThenMakesRoom() throws InterruptedException {
+        JwtPrincipalCache cache = cache(10, 60_000);
+        cache.put("expiring", IVAN, inMillis(20));
+        for (int i = 0; i < 9; i++) {
+            cache.put("token-" + i, ANA, inMillis(60_000));
+        }
+        Thread.sleep(50);
+
+        cache.put("after-expiry", ANA, inMillis(60_000));
+        assertNotNull(cache.get("token-0"));
+        assertEquals(10, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        for (int i = 0; i < 20; i++) {
+            cache.put("overflow-" + i, ANA, inMillis(60_000));
+        }
+        assertTrue(cache.size() <= 10);
+        assertNotNull(cache.get("overflow-19"));
+    }
+
+    private static JwtPrincipalCache cache(int maxEntries, long maxTtlMillis) {
+        return new JwtPrincipalCache(maxEntries, maxTtlMillis, new SimpleMeterRegistry());
+    }
+
+    private static Date inMillis(long millis) {
+        return new Date(System.currentTimeMillis() + millis);
+    }
+}
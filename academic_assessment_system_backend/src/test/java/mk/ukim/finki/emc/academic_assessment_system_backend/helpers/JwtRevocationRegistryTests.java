@@ -0,0 +1,44 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class JwtRevocationRegistryTests {
+
+    private static final long USER_ID = 75_000_001L;
+
+    @Autowired
+    private JwtRevocationRegistry jwtRevocationRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM token_revocations WHERE user_id = ?", USER_ID);
+    }
+
+    // A parsed token's iat has whole seconds, so a token issued just before the revocation looks like one
+    // issued at the start of the revocation's second.
+    @Test
+    void tokenIssuedEarlierInTheSameSecondIsRevoked() {
+        Date issuedThisSecond = Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+        jwtRevocationRegistry.revokeUser(USER_ID);
+
+        assertTrue(jwtRevocationRegistry.isRevoked(USER_ID, issuedThisSecond));
+        assertFalse(jwtRevocationRegistry.isRevoked(USER_ID, Date.from(Instant.now().plusSeconds(2))));
+        assertFalse(jwtRevocationRegistry.isRevoked(USER_ID + 1, issuedThisSecond));
+    }
+}
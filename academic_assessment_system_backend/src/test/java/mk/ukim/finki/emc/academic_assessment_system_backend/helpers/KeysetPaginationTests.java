@@ -0,0 +1,123 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.CursorPageDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.PageQueryDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetPaginationTests {
+
+    private static final SortAllowList EXAM_SORTS = SortAllowList.of(Exam.class,
+            Sort.by(Sort.Order.desc("dateOfExam"), Sort.Order.asc("startTime")),
+            Map.of(
+                    "id", "id",
+                    "dateOfExam", "dateOfExam",
+                    "startTime", "startTime"
+            ));
+
+    private final KeysetPagination pagination = new KeysetPagination(50, 500);
+
+    @Test
+    void theNextCursorContinuesAfterTheLastRow() {
+        KeysetPageRequest first = pagination.resolve(new PageQueryDto(List.of("-dateOfExam", "startTime"), null, 2), EXAM_SORTS);
+
+        String cursor = nextCursor(first, keys(LocalDate.of(2091, 1, 15), LocalTime.of(8, 0), 7L));
+        KeysetPageRequest second = pagination.resolve(new PageQueryDto(null, cursor, 2), EXAM_SORTS);
+
+        assertEquals(first.sort(), second.sort());
+        assertEquals(keys(LocalDate.of(2091, 1, 15), LocalTime.of(8, 0), 7L), second.position().getKeys());
+    }
+
+    @Test
+    void aNullKeySurvivesTheRoundTrip() {
+        KeysetPageRequest first = pagination.resolve(new PageQueryDto(null, null, 2), EXAM_SORTS);
+
+        String cursor = nextCursor(first, keys(LocalDate.of(2091, 1, 15), null, 7L));
+
+        assertNull(pagination.resolve(new PageQueryDto(null, cursor, 2), EXAM_SORTS).position().getKeys().get("startTime"));
+    }
+
+    @Test
+    void aCursorWithAKeyOfTheWrongTypeIsRejected() throws IOException {
+        // The date written as a string: every name matches the allow-list, only the value type does not.
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(1);
+            out.writeShort(1);
+            out.writeUTF("dateOfExam");
+            out.writeBoolean(false);
+            out.writeShort(2);
+            out.writeUTF("dateOfExam");
+            out.writeByte('S');
+            out.writeUTF("2091-01-15");
+            out.writeUTF("id");
+            out.writeByte('J');
+            out.writeLong(7);
+        }
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+
+        assertBadRequest(new PageQueryDto(null, forged, 2));
+    }
+
+    @Test
+    void aTamperedCursorIsRejected() {
+        String cursor = nextCursor(pagination.resolve(new PageQueryDto(null, null, 2), EXAM_SORTS),
+                keys(LocalDate.of(2091, 1, 15), LocalTime.of(8, 0), 7L));
+
+        assertBadRequest(new PageQueryDto(null, cursor.substring(0, cursor.length() - 3), 2));
+        assertBadRequest(new PageQueryDto(null, "not a cursor", 2));
+    }
+
+    @Test
+    void aCursorSentWithAnotherSortIsRejected() {
+        String cursor = nextCursor(pagination.resolve(new PageQueryDto(null, null, 2), EXAM_SORTS),
+                keys(LocalDate.of(2091, 1, 15), LocalTime.of(8, 0), 7L));
+
+        assertBadRequest(new PageQueryDto(List.of("id"), cursor, 2));
+    }
+
+    @Test
+    void theLimitIsCappedAndMustBePositive() {
+        assertEquals(50, pagination.resolve(new PageQueryDto(null, null, null), EXAM_SORTS).limit());
+        assertEquals(500, pagination.resolve(new PageQueryDto(null, null, 10_000), EXAM_SORTS).limit());
+        assertBadRequest(new PageQueryDto(null, null, 0));
+    }
+
+    private String nextCursor(KeysetPageRequest request, Map<String, Object> lastKeys) {
+        Window<String> window = Window.from(List.of("row"), i -> ScrollPosition.forward(lastKeys), true);
+        CursorPageDto<String> page = pagination.toPage(window, request);
+        return page.nextCursor();
+    }
+
+    private void assertBadRequest(PageQueryDto query) {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> pagination.resolve(query, EXAM_SORTS));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    private static Map<String, Object> keys(LocalDate dateOfExam, LocalTime startTime, Long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("dateOfExam", dateOfExam);
+        keys.put("startTime", startTime);
+        keys.put("id", id);
+        return keys;
+    }
+}
@@ -0,0 +1,58 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.BCryptVersion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashCalibratorTests {
+
+    @Test
+    void aFixedStrengthOverridesTheCalibration() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // The bounds alone would pick 4 or 5; the fixed strength is taken without measuring.
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator(50, 4, 5, 12, meterRegistry);
+
+        assertEquals(12, calibrator.getStrength());
+        assertEquals(-1, calibrator.getMeasuredMillis());
+        assertEquals(12, meterRegistry.get("password.hash.strength").gauge().value());
+    }
+
+    @Test
+    void theCalibrationStaysWithinTheBounds() {
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator(60_000, 4, 5, 0, new SimpleMeterRegistry());
+
+        assertEquals(5, calibrator.getStrength());
+        assertTrue(calibrator.getMeasuredMillis() >= 0);
+    }
+
+    @Test
+    void hashesOfAnotherCostNeedRehashing() {
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator(50, 4, 4, 5, new SimpleMeterRegistry());
+
+        for (BCryptVersion version : new BCryptVersion[]{BCryptVersion.$2A, BCryptVersion.$2B}) {
+            String current = new BCryptPasswordEncoder(version, 5).encode("secret");
+            String weaker = new BCryptPasswordEncoder(version, 4).encode("secret");
+
+            assertFalse(calibrator.needsRehash(current), current);
+            assertTrue(calibrator.needsRehash(weaker), weaker);
+        }
+        assertTrue(calibrator.needsRehash("$2b$12$" + "a".repeat(53)));
+    }
+
+    @Test
+    void malformedHashesAreLeftAlone() {
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator(50, 4, 4, 5, new SimpleMeterRegistry());
+
+        assertFalse(calibrator.needsRehash(null));
+        assertFalse(calibrator.needsRehash(""));
+        assertFalse(calibrator.needsRehash("$2a$1"));
+        assertFalse(calibrator.needsRehash("plain-text-password"));
+        assertFalse(calibrator.needsRehash("$2a$xx$" + "a".repeat(53)));
+        assertFalse(calibrator.needsRehash("$nodelimiter"));
+    }
+}
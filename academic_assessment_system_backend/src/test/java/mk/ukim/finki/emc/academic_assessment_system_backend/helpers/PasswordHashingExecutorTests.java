@@ -0,0 +1,85 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingExecutorTests {
+
+    @Test
+    void aBatchWaitsForQueueSpaceInsteadOfFailing() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator(50, 4, 4, 4, meterRegistry);
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(calibrator.getStrength());
+        // One thread and one queue slot, but four batch permits: the third hash finds the queue full.
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(passwordEncoder, calibrator, meterRegistry, 1, 1, 4, 2);
+
+        try {
+            List<String> encoded = executor.encodeAll(Collections.nCopies(20, "import-secret"));
+
+            assertEquals(20, encoded.size());
+            assertTrue(passwordEncoder.matches("import-secret", encoded.getLast()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void loginsKeepGoingWhileAnImportHashes() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator(50, 10, 14, 10, meterRegistry);
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(calibrator.getStrength());
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(passwordEncoder, calibrator, meterRegistry, 2, 64, 1, 2);
+        String stored = passwordEncoder.encode("login-secret");
+        int importRows = 100;
+
+        try {
+            List<Long> idle = logins(executor, stored, 20, null);
+
+            long start = System.nanoTime();
+            CompletableFuture<List<String>> batch = CompletableFuture.supplyAsync(
+                    () -> executor.encodeAll(Collections.nCopies(importRows, "import-secret")));
+            List<Long> busy = logins(executor, stored, Integer.MAX_VALUE, batch);
+            assertEquals(importRows, batch.get().size());
+            long importNanos = System.nanoTime() - start;
+
+            System.out.printf("import: %d hashes in %d ms (%d/s)%n",
+                    importRows, importNanos / 1_000_000, importRows * 1_000_000_000L / importNanos);
+            System.out.printf("login idle:          avg %d ms over %d logins%n", average(idle), idle.size());
+            System.out.printf("login during import: avg %d ms, max %d ms over %d logins%n",
+                    average(busy), Collections.max(busy) / 1_000_000, busy.size());
+
+            // The import holds only its share of the pool, so logins are served throughout instead of queueing behind it.
+            assertTrue(busy.size() > 1);
+            assertTrue(Collections.max(busy) < importNanos / 4);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<Long> logins(PasswordHashingExecutor executor, String stored, int count, CompletableFuture<?> until) {
+        List<Long> latencies = new ArrayList<>();
+        while (latencies.size() < count && (until == null || !until.isDone())) {
+            long start = System.nanoTime();
+            assertTrue(executor.matches("login-secret", stored));
+            latencies.add(System.nanoTime() - start);
+        }
+        return latencies;
+    }
+
+    private static long average(List<Long> latencies) {
+        return TimeUnit.NANOSECONDS.toMillis((long) latencies.stream().mapToLong(Long::longValue).average().orElse(0));
+    }
+}
@@ -0,0 +1,140 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.helpers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTests {
+
+    // Slow enough that no token comes back while a test runs.
+    private static final double NO_REFILL = 0.001;
+
+    @Test
+    void burstUpToTheCapacityThenWaitForTheNextToken() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 6, 4, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("client"));
+        }
+        long waitNanos = limiter.tryAcquire("client");
+
+        // Six tokens a minute: the next one is at most ten seconds away.
+        assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(9) && waitNanos <= TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, limiter.tryAcquire("other-client"));
+    }
+
+    @Test
+    void tokensComeBackWithTime() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60_000, 4, 100);
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0);
+        Thread.sleep(5);
+
+        assertEquals(0, limiter.tryAcquire("client"));
+    }
+
+    @Test
+    void concurrentCallersNeverTakeMoreThanTheCapacity() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(50, NO_REFILL, 8, 10_000);
+        List<Callable<Integer>> callers = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            int caller = t;
+            callers.add(() -> {
+                int allowed = 0;
+                for (int i = 0; i < 100; i++) {
+                    // Every caller hits the shared key and its own key, so the stripes see both contention and spread.
+                    allowed += limiter.tryAcquire("shared") == 0 ? 1 : 0;
+                    limiter.tryAcquire("caller-" + caller + "-" + i);
+                }
+                return allowed;
+            });
+        }
+
+        int allowed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (Future<Integer> future : executor.invokeAll(callers)) {
+                allowed += future.get();
+            }
+        }
+
+        assertEquals(50, allowed);
+        assertEquals(1 + 16 * 100, limiter.size());
+    }
+
+    @Test
+    void fullStripeForgetsTheLeastRecentlyUsedBucket() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, NO_REFILL, 1, 2);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("a");
+
+        limiter.tryAcquire("c");
+
+        assertEquals(2, limiter.size());
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void idleBucketsAreEvicted() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, NO_REFILL, 4, 100);
+        limiter.tryAcquire("idle");
+        Thread.sleep(20);
+        limiter.tryAcquire("active");
+
+        assertEquals(1, limiter.evictIdle(TimeUnit.MILLISECONDS.toNanos(10)));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void acquireTakesLessThanAMicrosecond() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 20, 64, 100_000);
+        int threads = Runtime.getRuntime().availableProcessors();
+        int calls = 2_000_000;
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "login|10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        // Warm up the JIT and create every bucket before measuring.
+        measure(limiter, keys, threads, calls);
+        long nanos = measure(limiter, keys, threads, calls);
+
+        double perCall = (double) nanos * threads / calls;
+        System.out.printf("%d threads, %d calls over %d keys: %.1f ns per call%n", threads, calls, keys.length, perCall);
+        assertTrue(perCall < 1_000);
+    }
+
+    private static long measure(TokenBucketRateLimiter limiter, String[] keys, int threads, int calls) throws Exception {
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers.add(() -> {
+                for (int i = offset; i < calls; i += threads) {
+                    limiter.tryAcquire(keys[i % keys.length]);
+                }
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,138 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayExamDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseEnrollment;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseStaffAssignment;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.StaffRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.ExamApplicationService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class CourseDashboardQueryCountTests {
+
+    private static final int COURSES = 12;
+
+    @Autowired
+    private CourseApplicationService courseApplicationService;
+
+    @Autowired
+    private ExamApplicationService examApplicationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User professor;
+    private User studentUser;
+
+    @BeforeEach
+    void setUp() {
+        professor = new User("Dash", "Professor", "dash.professor@test.mk", "x", UserRole.STAFF);
+        entityManager.persist(professor);
+        studentUser = new User("Dash", "Student", "dash.student@test.mk", "x", UserRole.STUDENT);
+        Student student = new Student("DASH-1", "Computer Science", studentUser);
+        studentUser.setStudent(student);
+        entityManager.persist(studentUser);
+
+        for (int i = 0; i < COURSES; i++) {
+            User assistant = new User("Dash", "Assistant" + i, "dash.assistant" + i + "@test.mk", "x", UserRole.STAFF);
+            entityManager.persist(assistant);
+            Course course = new Course("DASH-" + i, "Dashboard course " + i, i % 2 + 1, 2090 + i / 2);
+            entityManager.persist(course);
+            entityManager.persist(new CourseStaffAssignment(professor, course, StaffRole.PROFESSOR));
+            entityManager.persist(new CourseStaffAssignment(assistant, course, StaffRole.ASSISTANT));
+            entityManager.persist(new CourseEnrollment(student, course));
+            entityManager.persist(new Exam("June", LocalDate.of(2090, 6, 1).plusDays(i), 100,
+                    LocalTime.of(9, 0), LocalTime.of(11, 0), course, new ArrayList<>(List.of("117", "138"))));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void staffDashboardLoadsInOneStatement() {
+        Statistics statistics = statistics();
+
+        List<DisplayCourseDto> courses = courseApplicationService.findAllForStaff(professor.getId());
+
+        assertDashboard(courses);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void studentDashboardLoadsInOneStatement() {
+        Statistics statistics = statistics();
+
+        List<DisplayCourseDto> courses = courseApplicationService.findAllForStudent(studentUser.getId());
+
+        assertDashboard(courses);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void studentExamFeedLoadsInConstantStatements() {
+        Statistics statistics = statistics();
+
+        List<DisplayExamDto> exams = studentExamFeed(null, null);
+
+        assertEquals(COURSES, exams.size());
+        assertEquals(LocalDate.of(2090, 6, 1).plusDays(COURSES - 1), exams.get(0).dateOfExam());
+        exams.forEach(exam -> {
+            assertEquals(List.of("117", "138"), exam.reservedLaboratories());
+            assertEquals(1, exam.course().professors().size());
+        });
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        List<DisplayExamDto> ranged = studentExamFeed(LocalDate.of(2090, 6, 2), LocalDate.of(2090, 6, 4));
+        assertEquals(3, ranged.size());
+    }
+
+    private List<DisplayExamDto> studentExamFeed(LocalDate from, LocalDate to) {
+        entityManager.clear();
+        return examApplicationService.findFeedForStudent(studentUser.getId(), from, to);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static void assertDashboard(List<DisplayCourseDto> courses) {
+        assertEquals(COURSES, courses.size());
+        courses.forEach(course -> {
+            assertEquals(1, course.professors().size());
+            assertEquals(1, course.assistants().size());
+        });
+        // Newest academic year first, then the later semester, then course code.
+        assertEquals("DASH-11", courses.get(0).courseCode());
+        assertEquals("DASH-10", courses.get(1).courseCode());
+        assertEquals("DASH-1", courses.get(COURSES - 2).courseCode());
+        assertEquals("DASH-0", courses.get(COURSES - 1).courseCode());
+    }
+}
@@ -0,0 +1,79 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.ImportChunkResultDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ImportJobExecutor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CsvImportHandler;
+import org.apache.commons.csv.CSVRecord;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class CourseEnrollmentBatchInsertTests {
+
+    private static final int STUDENTS = 200;
+
+    @Autowired
+    private ImportJobExecutor importJobExecutor;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void enrollmentImportInsertsInBatches() throws IOException {
+        StringBuilder csv = new StringBuilder("studentIndex\n");
+        for (int i = 0; i < STUDENTS; i++) {
+            User user = new User("Batch", "Student" + i, "batch.student" + i + "@test.mk", "x", UserRole.STUDENT);
+            user.setStudent(new Student("BATCH-" + i, "Computer Science", user));
+            userRepository.save(user);
+            csv.append("BATCH-").append(i).append('\n');
+        }
+        Course course = courseRepository.save(new Course("BATCH", "Batch course", 1, 2099));
+        entityManager.flush();
+        entityManager.clear();
+
+        CsvImportHandler handler = importJobExecutor.getHandler(ImportJobType.COURSE_ENROLLMENTS);
+        List<CSVRecord> records = handler.getCsvFormat().parse(new StringReader(csv.toString())).getRecords();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ImportChunkResultDto result = handler.importChunk(course.getId(), records);
+        entityManager.flush();
+
+        assertEquals(STUDENTS, result.counters().get("enrolled"));
+        assertTrue(result.errors().isEmpty());
+        assertEquals(STUDENTS, statistics.getEntityInsertCount());
+        // Row-by-row import needs several statements per student; the set-based chunk import with pooled
+        // ids and JDBC batching needs a few lookups plus about two statements per 50 rows.
+        assertTrue(statistics.getPrepareStatementCount() <= STUDENTS / 10,
+                "expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements for " + STUDENTS + " rows");
+    }
+}
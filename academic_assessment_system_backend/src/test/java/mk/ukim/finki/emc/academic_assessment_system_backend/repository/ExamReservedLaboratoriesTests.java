@@ -0,0 +1,95 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayExamDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.ExamApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.ExamService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ExamReservedLaboratoriesTests {
+
+    private static final int EXAMS = 12;
+
+    @Autowired
+    private ExamService examService;
+
+    @Autowired
+    private ExamApplicationService examApplicationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Course course;
+    private Exam firstExam;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course("LABS-1", "Laboratory course", 1, 2092);
+        entityManager.persist(course);
+        for (int i = 0; i < EXAMS; i++) {
+            Exam exam = new Exam("June", LocalDate.of(2092, 6, 1).plusDays(i), 100,
+                    LocalTime.of(9, 0), LocalTime.of(11, 0), course, List.of("LAB-117", "LAB-138"));
+            entityManager.persist(exam);
+            if (i == 0) {
+                firstExam = exam;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void updateWritesOnlyTheChangedLaboratories() {
+        Exam changes = new Exam("June", firstExam.getDateOfExam(), 100, LocalTime.of(9, 0), LocalTime.of(11, 0),
+                entityManager.getReference(Course.class, course.getId()), List.of("LAB-117", "LAB-215"));
+        examService.update(firstExam.getId(), changes).orElseThrow();
+
+        Statistics statistics = statistics();
+        entityManager.flush();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        entityManager.clear();
+        assertEquals(List.of("LAB-117", "LAB-215"),
+                new ArrayList<>(examService.findById(firstExam.getId()).orElseThrow().getReservedLaboratories()));
+    }
+
+    @Test
+    void laboratoryLookupBatchLoadsTheReservations() {
+        Statistics statistics = statistics();
+
+        List<DisplayExamDto> exams = examApplicationService.findAllByReservedLaboratory("LAB-138");
+
+        assertEquals(EXAMS, exams.size());
+        assertEquals(List.of("LAB-117", "LAB-138"), exams.getFirst().reservedLaboratories());
+        // exams with their course, the course staff, and one batch of reservations
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,144 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Course;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.CourseEnrollment;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Student;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ExamStatus;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseEnrollmentApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.StudentApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.StudentExamRegistrationApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.UserApplicationService;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Statements issued by the service call behind each endpoint, with enough rows that a per-row lazy load
+ * would show up in the count.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class FetchPlanQueryCountTests {
+
+    private static final int ROWS = 3;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserApplicationService userApplicationService;
+
+    @Autowired
+    private StudentApplicationService studentApplicationService;
+
+    @Autowired
+    private StudentExamRegistrationApplicationService studentExamRegistrationApplicationService;
+
+    @Autowired
+    private CourseEnrollmentApplicationService courseEnrollmentApplicationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User studentUser;
+    private Student student;
+    private Exam firstExam;
+
+    @BeforeEach
+    void setUp() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            User user = new User("Plan", "Student" + i, "plan.student" + i + "@test.mk", "x", UserRole.STUDENT);
+            user.setStudent(new Student("PLAN-" + i, "Computer Science", user));
+            entityManager.persist(user);
+            students.add(user.getStudent());
+        }
+        studentUser = students.getFirst().getUser();
+        student = students.getFirst();
+
+        for (int i = 0; i < ROWS; i++) {
+            Course course = new Course("PLAN-" + i, "Plan course " + i, 1, 2091);
+            entityManager.persist(course);
+            Exam exam = new Exam("June", LocalDate.of(2091, 6, 1).plusDays(i), 100,
+                    LocalTime.of(9, 0), LocalTime.of(11, 0), course, new ArrayList<>(List.of("117", "138")));
+            entityManager.persist(exam);
+            entityManager.persist(new CourseEnrollment(student, course));
+            entityManager.persist(new StudentExamRegistration(student, exam));
+            if (i == 0) {
+                firstExam = exam;
+            }
+        }
+        for (Student other : students.subList(1, ROWS)) {
+            entityManager.persist(new StudentExamRegistration(other, firstExam));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void jwtPrincipalLookupDoesNotLoadTheStudent() {
+        User user = statements(1, () -> userService.findByEmail(studentUser.getEmail()).orElseThrow());
+        assertFalse(Persistence.getPersistenceUtil().isLoaded(user, "student"));
+    }
+
+    @Test
+    void userByIdLoadsInOneStatement() {
+        statements(1, () -> userApplicationService.findById(studentUser.getId()).orElseThrow());
+    }
+
+    @Test
+    void studentByIdLoadsWithItsUserInOneStatement() {
+        statements(1, () -> studentApplicationService.findById(student.getId()).orElseThrow());
+    }
+
+    @Test
+    void studentExamRegistrationsLoadInOneStatement() {
+        assertEquals(ROWS, statements(1, () ->
+                studentExamRegistrationApplicationService.findStudentExamRegistrationByStudentId(student.getId())).size());
+    }
+
+    @Test
+    void studentCourseEnrollmentsLoadInOneStatement() {
+        assertEquals(ROWS, statements(1, () ->
+                courseEnrollmentApplicationService.findAllByStudentId(student.getId())).size());
+    }
+
+    @Test
+    void registeredStudentsExportLoadsInOneStatement() {
+        statements(1, () -> studentExamRegistrationApplicationService.exportStudentsByExamStatusCsv(firstExam.getId(), ExamStatus.REGISTERED));
+    }
+
+    private <T> T statements(long expected, Supplier<T> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        T result = call.get();
+
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        return result;
+    }
+}
@@ -0,0 +1,126 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.create.CreateCourseDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayCourseDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayUserDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.application.CourseApplicationService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs without a test transaction: cache entries are only written and evicted when a transaction commits.
+ */
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private CourseApplicationService courseApplicationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> courseIds = new ArrayList<>();
+    private User firstProfessor;
+    private User secondProfessor;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            firstProfessor = new User("Cache", "First", "cache.first@test.mk", "x", UserRole.STAFF);
+            secondProfessor = new User("Cache", "Second", "cache.second@test.mk", "x", UserRole.STAFF);
+            entityManager.persist(firstProfessor);
+            entityManager.persist(secondProfessor);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseIds.forEach(courseApplicationService::deleteById);
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("DELETE FROM User u WHERE u.id IN :ids")
+                .setParameter("ids", List.of(firstProfessor.getId(), secondProfessor.getId()))
+                .executeUpdate());
+    }
+
+    @Test
+    void courseIsReadFromTheCacheAfterTheFirstLoad() {
+        Long id = createCourse("CACHE-1", List.of());
+
+        read(() -> courseApplicationService.findById(id).orElseThrow());
+        Statistics statistics = statistics();
+        DisplayCourseDto course = read(() -> courseApplicationService.findById(id).orElseThrow());
+
+        assertEquals("CACHE-1", course.courseCode());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "courses", "result", "hit")
+                .functionCounter()
+                .count() > 0);
+    }
+
+    @Test
+    void updateAndDeleteEvictTheCachedCourseAndStaff() {
+        Long id = createCourse("CACHE-2", List.of(firstProfessor.getId()));
+        assertEquals(List.of(firstProfessor.getId()), professorIds(id));
+
+        courseApplicationService.update(id, new CreateCourseDto("CACHE-2", "Renamed", 1, 2093,
+                List.of(secondProfessor.getId()), List.of()));
+
+        assertEquals("Renamed", read(() -> courseApplicationService.findById(id).orElseThrow()).courseName());
+        assertEquals(List.of(secondProfessor.getId()), professorIds(id));
+
+        courseApplicationService.deleteById(id);
+        courseIds.remove(id);
+
+        assertTrue(read(() -> courseApplicationService.findById(id)).isEmpty());
+    }
+
+    private Long createCourse(String code, List<Long> professorIds) {
+        Long id = courseApplicationService.save(new CreateCourseDto(code, "Cached course", 1, 2093, professorIds, List.of())).id();
+        courseIds.add(id);
+        return id;
+    }
+
+    private List<Long> professorIds(Long courseId) {
+        return read(() -> courseApplicationService.findById(courseId).orElseThrow()).professors().stream()
+                .map(DisplayUserDto::id)
+                .toList();
+    }
+
+    private <T> T read(Supplier<T> call) {
+        return transactionTemplate.execute(status -> call.get());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
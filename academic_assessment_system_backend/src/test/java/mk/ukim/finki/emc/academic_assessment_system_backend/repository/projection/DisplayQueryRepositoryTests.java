@@ -0,0 +1,168 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.repository.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.domain.display.DisplayUserStudentDto;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.KeysetPageRequest;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.User;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class DisplayQueryRepositoryTests {
+
+    private static final long FIRST_ID = 10_000_000L;
+    private static final int BENCHMARK_ROWS = 50_000;
+
+    @Autowired
+    private DisplayQueryRepository displayQueryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesStudentUsersByCursorWithoutLoadingEntities() {
+        insertStudentUsers(25);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<String> indexes = new ArrayList<>();
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Sort sort = Sort.by(Sort.Order.desc("student.studentIndex"));
+        int pages = 0;
+        Window<DisplayUserStudentDto> window;
+        do {
+            window = displayQueryRepository.findStudentUsers(new KeysetPageRequest(sort, position, 10));
+            window.forEach(student -> {
+                if (student.studentIndex().startsWith("PRJ-")) {
+                    indexes.add(student.studentIndex());
+                }
+            });
+            if (!window.isEmpty()) {
+                position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            }
+            pages++;
+        } while (window.hasNext());
+
+        assertEquals(25, indexes.size());
+        assertEquals(indexes.stream().sorted((a, b) -> b.compareTo(a)).toList(), indexes);
+        assertEquals(pages, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void listsAStudentsRegistrationsAndEnrollmentsWithoutLoadingEntities() {
+        insertStudentUsers(1);
+        jdbcTemplate.update("INSERT INTO courses (id, course_code, course_name, semester, academic_year) VALUES (?, 'PRJ', 'Projection', 1, 2090)", FIRST_ID);
+        jdbcTemplate.update("""
+                INSERT INTO exams (id, session, date_of_exam, capacity_of_students, start_time, end_time, course_id)
+                VALUES (?, 'June', DATE '2090-06-01', 10, TIME '09:00:00', TIME '11:00:00', ?)
+                """, FIRST_ID, FIRST_ID);
+        jdbcTemplate.update("INSERT INTO student_exam_registrations (id, student_id, exam_id, exam_status) VALUES (?, ?, ?, 'REGISTERED')",
+                FIRST_ID, FIRST_ID, FIRST_ID);
+        jdbcTemplate.update("INSERT INTO course_enrollments (id, student_id, course_id) VALUES (?, ?, ?)", FIRST_ID, FIRST_ID, FIRST_ID);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals("PRJ", displayQueryRepository.findRegistrationsByStudentId(FIRST_ID).getFirst().examCourse());
+        assertEquals("PRJ-000000", displayQueryRepository.findRegistrationsByExamId(FIRST_ID).getFirst().studentIndex());
+        assertEquals("Projection", displayQueryRepository.findEnrollmentsByStudentId(FIRST_ID).getFirst().courseName());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void projectionReadsFiftyThousandRowsCheaperThanEntities() {
+        insertStudentUsers(BENCHMARK_ROWS);
+        KeysetPageRequest everything = new KeysetPageRequest(Sort.by("id"), ScrollPosition.keyset(), BENCHMARK_ROWS);
+
+        Measurement entities = measure(() -> entityManager.createQuery("""
+                        SELECT u FROM User u JOIN FETCH u.student
+                        WHERE u.userRole = :role ORDER BY u.id
+                        """, User.class)
+                .setParameter("role", UserRole.STUDENT)
+                .setMaxResults(BENCHMARK_ROWS + 1)
+                .getResultList()
+                .stream()
+                .map(DisplayUserStudentDto::from)
+                .toList());
+        Measurement projection = measure(() -> displayQueryRepository.findStudentUsers(everything).getContent());
+
+        System.out.printf("%d rows, entity graph: %d ms, %d MB allocated%n",
+                BENCHMARK_ROWS, entities.millis(), entities.allocatedBytes() >> 20);
+        System.out.printf("%d rows, projection:   %d ms, %d MB allocated%n",
+                BENCHMARK_ROWS, projection.millis(), projection.allocatedBytes() >> 20);
+        assertTrue(projection.allocatedBytes() < entities.allocatedBytes());
+    }
+
+    private record Measurement(long millis, long allocatedBytes) {
+    }
+
+    // Best of five runs after two warm-up runs, with the persistence context cleared between runs.
+    private Measurement measure(Supplier<List<DisplayUserStudentDto>> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bestMillis = Long.MAX_VALUE;
+        long bestBytes = Long.MAX_VALUE;
+        for (int run = 0; run < 7; run++) {
+            entityManager.clear();
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            List<DisplayUserStudentDto> rows = read.get();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+            assertFalse(rows.size() < BENCHMARK_ROWS);
+            if (run >= 2) {
+                bestMillis = Math.min(bestMillis, millis);
+                bestBytes = Math.min(bestBytes, bytes);
+            }
+        }
+        entityManager.clear();
+        return new Measurement(bestMillis, bestBytes);
+    }
+
+    private void insertStudentUsers(int count) {
+        List<Object[]> users = new ArrayList<>(count);
+        List<Object[]> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = FIRST_ID + i;
+            users.add(new Object[]{id, "First" + i, "Last" + i, "projection" + i + "@test.mk", "x", UserRole.STUDENT.name()});
+            students.add(new Object[]{id, "PRJ-%06d".formatted(i), "Computer Science", id});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO app_users (id, first_name, last_name, email, password, user_role)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, users);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO students (id, student_index, major, user_id)
+                VALUES (?, ?, ?, ?)
+                """, students);
+    }
+}
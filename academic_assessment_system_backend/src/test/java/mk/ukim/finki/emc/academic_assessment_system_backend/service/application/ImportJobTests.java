@@ -0,0 +1,165 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.service.application;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ImportJobExecutor;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.ImportJob;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobStatus;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.ImportJobType;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ImportJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ImportJobTests {
+
+    private static final String EMAIL_DOMAIN = "@jobs.test.mk";
+    private static final String HEADER = "firstName,lastName,email,password,academicRole\n";
+    private static final long SUBMITTER_ID = 74_000_001L;
+
+    @Autowired
+    private ImportJobExecutor importJobExecutor;
+
+    @Autowired
+    private ImportJobApplicationService importJobApplicationService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> jobIds = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Long jobId : jobIds) {
+            jdbcTemplate.update("DELETE FROM import_job_errors WHERE job_id = ?", jobId);
+            jdbcTemplate.update("DELETE FROM import_job_counters WHERE job_id = ?", jobId);
+            jdbcTemplate.update("DELETE FROM import_jobs WHERE id = ?", jobId);
+        }
+        jdbcTemplate.update("DELETE FROM app_users WHERE email LIKE ?", "%" + EMAIL_DOMAIN);
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void interruptedJobResumesAfterItsCheckpoint() throws Exception {
+        Path file = spool(HEADER + rows(1, 4));
+        ImportJob job = save(file, ImportJobStatus.RUNNING, importJobExecutor.getInstanceId(), LocalDateTime.now().plusMinutes(5));
+        // Two records were committed before the instance stopped.
+        jdbcTemplate.update("UPDATE import_jobs SET rows_processed = 2 WHERE id = ?", job.getId());
+
+        importJobExecutor.resumeInterruptedJobs();
+
+        ImportJob finished = awaitFinished(job.getId());
+        assertEquals(ImportJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(4, finished.getRowsProcessed());
+        assertEquals(List.of("user3" + EMAIL_DOMAIN, "user4" + EMAIL_DOMAIN), importedEmails());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void failedJobIsMarkedAndItsFileRemoved() throws Exception {
+        Path file = spool(HEADER + rows(1, 1) + "Broken,Row,\"unterminated" + EMAIL_DOMAIN + ",secret,STAFF\n");
+        ImportJob job = save(file, ImportJobStatus.QUEUED, importJobExecutor.getInstanceId(), LocalDateTime.now().plusMinutes(5));
+
+        importJobExecutor.dispatch(job.getId());
+
+        ImportJob failed = awaitFinished(job.getId());
+        assertEquals(ImportJobStatus.FAILED, failed.getStatus());
+        assertNotNull(failed.getFailureMessage());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void jobsOfOtherInstancesRunOnlyOnceTheirLeaseRunsOut() throws Exception {
+        Path file = spool(HEADER + rows(1, 2));
+        ImportJob job = save(file, ImportJobStatus.RUNNING, "other-instance", LocalDateTime.now().plusMinutes(5));
+
+        importJobExecutor.resumeInterruptedJobs();
+        Thread.sleep(300);
+        assertEquals(ImportJobStatus.RUNNING, importJobRepository.findById(job.getId()).orElseThrow().getStatus());
+        assertTrue(Files.exists(file));
+
+        jdbcTemplate.update("UPDATE import_jobs SET lease_expires_at = ? WHERE id = ?", LocalDateTime.now().minusSeconds(1), job.getId());
+        importJobExecutor.dispatchQueuedJobs();
+
+        ImportJob finished = awaitFinished(job.getId());
+        assertEquals(ImportJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(importJobExecutor.getInstanceId(), finished.getOwnerInstance());
+        assertEquals(2, importedEmails().size());
+    }
+
+    @Test
+    void onlyTheSubmitterAndAdministratorsSeeAJob() throws IOException {
+        ImportJob job = save(spool(HEADER), ImportJobStatus.COMPLETED, importJobExecutor.getInstanceId(), null);
+
+        JwtUserPrincipal submitter = new JwtUserPrincipal(SUBMITTER_ID, "submitter" + EMAIL_DOMAIN, UserRole.STAFF);
+        JwtUserPrincipal colleague = new JwtUserPrincipal(SUBMITTER_ID + 1, "colleague" + EMAIL_DOMAIN, UserRole.STAFF);
+        JwtUserPrincipal administrator = new JwtUserPrincipal(SUBMITTER_ID + 2, "admin" + EMAIL_DOMAIN, UserRole.ADMINISTRATOR);
+
+        assertTrue(importJobApplicationService.findById(job.getId(), submitter).isPresent());
+        assertTrue(importJobApplicationService.findById(job.getId(), administrator).isPresent());
+        assertFalse(importJobApplicationService.findById(job.getId(), colleague).isPresent());
+    }
+
+    private ImportJob save(Path file, ImportJobStatus status, String owner, LocalDateTime leaseExpiresAt) {
+        ImportJob job = new ImportJob(ImportJobType.USERS, null, file.toAbsolutePath().toString(), SUBMITTER_ID);
+        job.setStatus(status);
+        job.setOwnerInstance(owner);
+        job.setLeaseExpiresAt(leaseExpiresAt);
+        job = importJobRepository.save(job);
+        jobIds.add(job.getId());
+        return job;
+    }
+
+    private Path spool(String csv) throws IOException {
+        Path file = Files.createTempFile("import-job-test", ".csv");
+        Files.writeString(file, csv);
+        files.add(file);
+        return file;
+    }
+
+    private ImportJob awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import job " + jobId + " did not finish");
+    }
+
+    private List<String> importedEmails() {
+        return jdbcTemplate.queryForList("SELECT email FROM app_users WHERE email LIKE ? ORDER BY email",
+                String.class, "%" + EMAIL_DOMAIN);
+    }
+
+    private static String rows(int from, int to) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            rows.append("User,No").append(i).append(",user").append(i).append(EMAIL_DOMAIN).append(",secret,STAFF\n");
+        }
+        return rows.toString();
+    }
+}
@@ -0,0 +1,109 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.fixtures.RegistrationFixture;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.ExamSeatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static mk.ukim.finki.emc.academic_assessment_system_backend.fixtures.RegistrationFixture.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Registrations race each other from a thread pool without a test transaction, so every attempt commits or
+ * rolls back on its own as it would under a real burst.
+ */
+@SpringBootTest
+class ExamRegistrationCapacityTests {
+
+    private static final long BASE_ID = 70_000_000L;
+    private static final long EXAM_ID = BASE_ID;
+    private static final int CAPACITY = 200;
+    private static final int STUDENTS = 10_000;
+
+    @Autowired
+    private StudentExamRegistrationService studentExamRegistrationService;
+
+    @Autowired
+    private ExamSeatRepository examSeatRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RegistrationFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new RegistrationFixture(jdbcTemplate, BASE_ID, STUDENTS);
+        fixture.insertCourse("CAP");
+        fixture.insertExam(EXAM_ID, CAPACITY);
+        fixture.insertStudents("burst");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteAll();
+    }
+
+    @Test
+    void burstOfRegistrationsFillsExactlyTheCapacity() throws InterruptedException {
+        List<Callable<StudentExamRegistration>> attempts = LongStream.rangeClosed(1, STUDENTS)
+                .mapToObj(i -> (Callable<StudentExamRegistration>) () -> studentExamRegistrationService.register(BASE_ID + i, EXAM_ID))
+                .toList();
+
+        List<Object> outcomes = runConcurrently(attempts, 32);
+
+        long registered = outcomes.stream().filter(StudentExamRegistration.class::isInstance).count();
+        List<Object> rejected = outcomes.stream().filter(outcome -> !(outcome instanceof StudentExamRegistration)).toList();
+        assertEquals(CAPACITY, registered);
+        assertEquals(STUDENTS - CAPACITY, rejected.size());
+        rejected.forEach(outcome -> assertEquals(HttpStatus.CONFLICT,
+                assertInstanceOf(ResponseStatusException.class, outcome).getStatusCode()));
+        assertEquals(CAPACITY, registrationRows());
+        assertEquals(CAPACITY, examSeatRepository.findRegisteredCount(EXAM_ID).orElseThrow());
+    }
+
+    @Test
+    void concurrentDuplicatesReturnTheSameRegistration() throws InterruptedException {
+        long studentId = BASE_ID + 1;
+        List<Callable<StudentExamRegistration>> attempts = LongStream.range(0, 50)
+                .mapToObj(i -> (Callable<StudentExamRegistration>) () -> studentExamRegistrationService.register(studentId, EXAM_ID))
+                .toList();
+
+        List<Object> outcomes = runConcurrently(attempts, 32);
+
+        Set<Object> ids = outcomes.stream()
+                .map(outcome -> assertInstanceOf(StudentExamRegistration.class, outcome).getId())
+                .collect(Collectors.toSet());
+        assertEquals(1, ids.size());
+        assertEquals(1, registrationRows());
+        assertEquals(1, examSeatRepository.findRegisteredCount(EXAM_ID).orElseThrow());
+    }
+
+    @Test
+    void deletingARegistrationGivesTheSeatBack() {
+        StudentExamRegistration registration = studentExamRegistrationService.register(BASE_ID + 1, EXAM_ID);
+        studentExamRegistrationService.register(BASE_ID + 2, EXAM_ID);
+
+        studentExamRegistrationService.deleteById(registration.getId());
+
+        assertEquals(1, examSeatRepository.findRegisteredCount(EXAM_ID).orElseThrow());
+    }
+
+    private int registrationRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_exam_registrations WHERE exam_id = ?", Integer.class, EXAM_ID);
+    }
+}
@@ -0,0 +1,190 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.service.domain;
+
+import mk.ukim.finki.emc.academic_assessment_system_backend.fixtures.RegistrationFixture;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ExamWaitlistIndex;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.ExamWaitlistPromoter;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.Exam;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.domain.StudentExamRegistration;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.exceptions.ExamFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ExamWaitlistTests {
+
+    private static final long BASE_ID = 71_000_000L;
+    private static final long EXAM_ID = BASE_ID;
+    private static final long OTHER_EXAM_ID = BASE_ID + 1;
+    private static final int STUDENTS = 8;
+
+    @Autowired
+    private StudentExamRegistrationService studentExamRegistrationService;
+
+    @Autowired
+    private ExamWaitlistService examWaitlistService;
+
+    @Autowired
+    private ExamService examService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ExamWaitlistPromoter examWaitlistPromoter;
+
+    @Autowired
+    private ExamWaitlistIndex examWaitlistIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RegistrationFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new RegistrationFixture(jdbcTemplate, BASE_ID, STUDENTS);
+        fixture.insertCourse("WAIT");
+        fixture.insertExam(EXAM_ID, 2);
+        fixture.insertExam(OTHER_EXAM_ID, 2);
+        fixture.insertStudents("waiting");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteAll();
+        // The rows went around the services, so the index has to be told.
+        examWaitlistIndex.forgetAfterCommit(EXAM_ID);
+        examWaitlistIndex.forgetAfterCommit(OTHER_EXAM_ID);
+    }
+
+    @Test
+    void freedSeatsGoToTheWaitlistInJoinOrder() {
+        StudentExamRegistration first = studentExamRegistrationService.register(student(1), EXAM_ID);
+        studentExamRegistrationService.register(student(2), EXAM_ID);
+        for (int i = 3; i <= 6; i++) {
+            long studentId = student(i);
+            assertThrows(ExamFullException.class, () -> studentExamRegistrationService.register(studentId, EXAM_ID));
+            examWaitlistService.join(studentId, EXAM_ID);
+        }
+        assertEquals(List.of(1, 2, 3, 4), positions(3, 6));
+        assertEquals(4, examWaitlistService.waiting(EXAM_ID));
+
+        studentExamRegistrationService.deleteById(first.getId());
+        examWaitlistPromoter.promote();
+
+        assertTrue(registered(3));
+        assertEquals(List.of(0, 1, 2, 3), positions(3, 6));
+
+        raiseCapacityTo(4);
+        examWaitlistPromoter.promote();
+
+        assertTrue(registered(4) && registered(5));
+        assertEquals(List.of(0, 0, 1), positions(4, 6));
+        assertEquals(1, examWaitlistService.waiting(EXAM_ID));
+    }
+
+    @Test
+    void newcomersDoNotOvertakeTheWaitlist() {
+        studentExamRegistrationService.register(student(1), EXAM_ID);
+        StudentExamRegistration second = studentExamRegistrationService.register(student(2), EXAM_ID);
+        assertThrows(ExamFullException.class, () -> studentExamRegistrationService.register(student(3), EXAM_ID));
+        examWaitlistService.join(student(3), EXAM_ID);
+
+        studentExamRegistrationService.deleteById(second.getId());
+
+        assertThrows(ExamFullException.class, () -> studentExamRegistrationService.register(student(4), EXAM_ID));
+        examWaitlistPromoter.promote();
+        assertTrue(registered(3));
+    }
+
+    @Test
+    void movingARegistrationToAnotherExamFreesItsSeat() {
+        StudentExamRegistration first = studentExamRegistrationService.register(student(1), EXAM_ID);
+        studentExamRegistrationService.register(student(2), EXAM_ID);
+        examWaitlistService.join(student(3), EXAM_ID);
+        examWaitlistPromoter.promote();
+        assertEquals(1, examWaitlistService.waiting(EXAM_ID));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            StudentExamRegistration moved = studentExamRegistrationService.findById(first.getId()).orElseThrow();
+            Exam otherExam = examService.findById(OTHER_EXAM_ID).orElseThrow();
+            studentExamRegistrationService.update(first.getId(), new StudentExamRegistration(moved.getStudent(), otherExam));
+        });
+        examWaitlistPromoter.promote();
+
+        assertTrue(registered(3));
+        assertEquals(0, examWaitlistService.waiting(EXAM_ID));
+    }
+
+    @Test
+    void joiningTwiceKeepsThePlaceInLine() {
+        studentExamRegistrationService.register(student(1), EXAM_ID);
+        studentExamRegistrationService.register(student(2), EXAM_ID);
+
+        Long entryId = examWaitlistService.join(student(3), EXAM_ID).getId();
+        examWaitlistService.join(student(4), EXAM_ID);
+
+        assertEquals(entryId, examWaitlistService.join(student(3), EXAM_ID).getId());
+        assertEquals(List.of(1, 2), positions(3, 4));
+    }
+
+    @Test
+    void aBatchLargerThanTheFreeSeatsPromotesTheOnesThatFit() {
+        studentExamRegistrationService.register(student(1), EXAM_ID);
+
+        int promoted = transactionTemplate.execute(status -> studentExamRegistrationService.registerInOrder(
+                examService.findById(EXAM_ID).orElseThrow(),
+                List.of(studentService.findById(student(1)).orElseThrow(),
+                        studentService.findById(student(3)).orElseThrow(),
+                        studentService.findById(student(4)).orElseThrow())));
+
+        assertEquals(2, promoted);
+        assertTrue(registered(3));
+        assertFalse(registered(4));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT registered_count FROM exams WHERE id = ?", Integer.class, EXAM_ID));
+    }
+
+    private void raiseCapacityTo(int capacity) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Exam exam = examService.findById(EXAM_ID).orElseThrow();
+            exam.setCapacityOfStudents(capacity);
+            examService.update(EXAM_ID, exam);
+        });
+    }
+
+    private List<Integer> positions(int from, int to) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            positions.add(examWaitlistService.findByStudentIdAndExamId(student(i), EXAM_ID)
+                    .map(examWaitlistService::position)
+                    .orElse(0));
+        }
+        return positions;
+    }
+
+    private boolean registered(int i) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_exam_registrations WHERE exam_id = ? AND student_id = ?",
+                Integer.class, EXAM_ID, student(i)) == 1;
+    }
+
+    private long student(int i) {
+        return fixture.studentId(i);
+    }
+}
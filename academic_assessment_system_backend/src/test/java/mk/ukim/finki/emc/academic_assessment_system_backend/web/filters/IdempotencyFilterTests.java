@@ -0,0 +1,244 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.web.filters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.IdempotencyStore;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockPart;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The filter runs in front of a stub servlet that counts how often the request really executes.
+ */
+@SpringBootTest(properties = "idempotency.persistence.enabled=true")
+class IdempotencyFilterTests {
+
+    private static final String REGISTER_PATH = "/api/exams/1/register";
+    private static final String IMPORT_PATH = "/api/courses/1/import";
+    private static final String USER_IMPORT_PATH = "/api/users/import";
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMillis;
+
+    private final HttpServlet endpoint = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            int execution = executions.incrementAndGet();
+            sleep(delayMillis);
+            response.setStatus(status);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"execution\":" + execution + "}");
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        authenticate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM idempotency_records");
+    }
+
+    @Test
+    void retryGetsTheStoredResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        MockHttpServletResponse first = send(register(key));
+        MockHttpServletResponse retry = send(register(key));
+
+        assertEquals(1, executions.get());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals(200, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void sameKeyForADifferentRequestIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        send(upload(IMPORT_PATH, key, "index\n201001\n"));
+
+        MockHttpServletResponse other = send(upload(IMPORT_PATH, key, "index\n201002\n"));
+
+        assertEquals(422, other.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void userImportRetryIsNotQueuedTwice() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String csv = "firstName,lastName,email,password,academicRole\nAna,First,ana@test.mk,secret,STAFF\n";
+
+        send(upload(USER_IMPORT_PATH, key, csv));
+        MockHttpServletResponse retry = send(upload(USER_IMPORT_PATH, key, csv));
+
+        assertEquals(1, executions.get());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstResult() throws Exception {
+        String key = UUID.randomUUID().toString();
+        delayMillis = 300;
+
+        List<String> bodies = runConcurrently(8, () -> send(register(key)).getContentAsString());
+
+        assertEquals(1, executions.get());
+        bodies.forEach(body -> assertEquals("{\"execution\":1}", body));
+    }
+
+    @Test
+    void failedResponsesAreNotStored() throws Exception {
+        String key = UUID.randomUUID().toString();
+        status = 500;
+        send(register(key));
+
+        status = 200;
+        MockHttpServletResponse retry = send(register(key));
+
+        assertEquals(2, executions.get());
+        assertEquals("{\"execution\":2}", retry.getContentAsString());
+    }
+
+    // A second store over the same table stands in for another instance or a restart.
+    @Test
+    void otherInstancesReplayFromTheDatabase() throws Exception {
+        String key = UUID.randomUUID().toString();
+        MockHttpServletResponse first = send(register(key));
+
+        IdempotencyStore otherStore = new IdempotencyStore(100, 60_000, 1_000, true, idempotencyRecordRepository, new SimpleMeterRegistry());
+        IdempotencyFilter otherInstance = new IdempotencyFilter(otherStore, List.of("/api/exams/*/register"));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        new MockFilterChain(endpoint, otherInstance).doFilter(register(key), retry);
+
+        assertEquals(1, executions.get());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, retry.getContentType());
+    }
+
+    @Test
+    void binaryResponsesReplayFromTheDatabaseUnchanged() throws Exception {
+        byte[] body = {(byte) 0xC3, 0x28, (byte) 0xFF, 0};
+        HttpServlet binaryEndpoint = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                executions.incrementAndGet();
+                response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+                response.getOutputStream().write(body);
+            }
+        };
+        String key = UUID.randomUUID().toString();
+        new MockFilterChain(binaryEndpoint, idempotencyFilter).doFilter(register(key), new MockHttpServletResponse());
+
+        IdempotencyStore otherStore = new IdempotencyStore(100, 60_000, 1_000, true, idempotencyRecordRepository, new SimpleMeterRegistry());
+        IdempotencyFilter otherInstance = new IdempotencyFilter(otherStore, List.of("/api/exams/*/register"));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        new MockFilterChain(binaryEndpoint, otherInstance).doFilter(register(key), retry);
+
+        assertEquals(1, executions.get());
+        assertArrayEquals(body, retry.getContentAsByteArray());
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(endpoint, idempotencyFilter).doFilter(request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest register(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", REGISTER_PATH);
+        request.setServletPath(REGISTER_PATH);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        return request;
+    }
+
+    private static MockHttpServletRequest upload(String path, String key, String csv) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setContentType(MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=test");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        MockPart file = new MockPart("file", "students.csv", csv.getBytes(StandardCharsets.UTF_8));
+        request.addPart(file);
+        return request;
+    }
+
+    // Each worker thread needs the principal the filter scopes keys by.
+    private static List<String> runConcurrently(int threads, Callable<String> attempt) throws InterruptedException {
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Callable<String>> attempts = IntStream.range(0, threads)
+                    .mapToObj(i -> (Callable<String>) () -> {
+                        authenticate();
+                        return attempt.call();
+                    })
+                    .toList();
+            List<String> results = new ArrayList<>();
+            for (Future<String> future : executor.invokeAll(attempts)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return results;
+        }
+    }
+
+    private static void authenticate() {
+        JwtUserPrincipal principal = new JwtUserPrincipal(7L, "retry@test.mk", UserRole.STUDENT);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package mk.ukim.finki.emc.academic_assessment_system_backend.web.filters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.constants.JwtConstants;
+import mk.ukim.finki.emc.academic_assessment_system_backend.dto.security.JwtUserPrincipal;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.JwtHelper;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.JwtPrincipalCache;
+import mk.ukim.finki.emc.academic_assessment_system_backend.helpers.JwtRevocationRegistry;
+import mk.ukim.finki.emc.academic_assessment_system_backend.model.enums.UserRole;
+import mk.ukim.finki.emc.academic_assessment_system_backend.service.domain.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class JwtFilterTests {
+
+    private static final long USER_ID = 76_000_001L;
+    private static final String EMAIL = "filter@jwt.test.mk";
+
+    @Autowired
+    private JwtFilter jwtFilter;
+
+    @Autowired
+    private JwtHelper jwtHelper;
+
+    @Autowired
+    private JwtPrincipalCache jwtPrincipalCache;
+
+    @Autowired
+    private JwtRevocationRegistry jwtRevocationRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO app_users (id, first_name, last_name, email, user_role) VALUES (?, 'Filter', 'User', ?, 'STAFF')", USER_ID, EMAIL);
+        token = jwtHelper.generateToken(USER_ID, EMAIL, UserRole.STAFF);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jwtPrincipalCache.invalidateUser(USER_ID);
+        jdbcTemplate.update("DELETE FROM app_users WHERE id = ?", USER_ID);
+    }
+
+    @Test
+    void repeatedRequestsWithTheSameTokenHitTheCache() throws Exception {
+        long hits = jwtPrincipalCache.getHits();
+
+        authenticate(jwtFilter);
+        authenticate(jwtFilter);
+
+        assertEquals(hits + 1, jwtPrincipalCache.getHits());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void cachedPrincipalOutrunsParsingAndLookingUpEveryRequest() throws Exception {
+        // A cache that takes nothing leaves the filter on the old path: verify the token and load the user every time.
+        JwtFilter uncached = new JwtFilter(jwtHelper, new JwtPrincipalCache(1, 0, new SimpleMeterRegistry()),
+                jwtRevocationRegistry, userService, handlerExceptionResolver, false);
+        int requests = 20_000;
+
+        measure(uncached, requests);
+        measure(jwtFilter, requests);
+        long uncachedNanos = measure(uncached, requests);
+        long cachedNanos = measure(jwtFilter, requests);
+
+        System.out.printf("%d requests, parse and load: %.1f us per request%n", requests, uncachedNanos / 1_000d / requests);
+        System.out.printf("%d requests, cached:         %.1f us per request%n", requests, cachedNanos / 1_000d / requests);
+        assertTrue(cachedNanos < uncachedNanos);
+    }
+
+    private long measure(JwtFilter filter, int requests) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            authenticate(filter);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void authenticate(JwtFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.setServletPath("/api/courses");
+        request.addHeader(JwtConstants.HEADER, JwtConstants.TOKEN_PREFIX + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        JwtUserPrincipal principal = (JwtUserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(USER_ID, principal.id());
+    }
+}
@@ -1,3 +1,5 @@
+-- database/init.sql as the project first shipped it: IDENTITY ids, no sequences, none of the later tables.
+
 -- =========================
 -- USERS
 -- =========================
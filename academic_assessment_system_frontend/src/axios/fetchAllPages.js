@@ -0,0 +1,17 @@
+import axiosInstance from "./axios.js";
+
+const PAGE_SIZE = 500;
+
+const fetchAllPages = async (url, params = {}) => {
+    const items = [];
+    let cursor = undefined;
+    let response;
+    do {
+        response = await axiosInstance.get(url, {params: {...params, limit: PAGE_SIZE, cursor}});
+        items.push(...response.data.items);
+        cursor = response.data.nextCursor;
+    } while (cursor);
+    return {...response, data: items};
+};
+
+export default fetchAllPages;
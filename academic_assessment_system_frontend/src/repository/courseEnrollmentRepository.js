@@ -1,4 +1,5 @@
 import axiosInstance from "../axios/axios.js";
+import fetchAllPages from "../axios/fetchAllPages.js";
 
 const courseEnrollmentRepository = {
     exportEnrolledStudentsCsv: async (courseId) => {
@@ -12,7 +13,7 @@ const courseEnrollmentRepository = {
         });
     },
     getEnrolledStudents: async (courseId) => {
-        return await axiosInstance.get(`/courses/${courseId}/enrolled-students`);
+        return await fetchAllPages(`/courses/${courseId}/enrolled-students`);
     },
 };
 
@@ -1,8 +1,9 @@
 import axiosInstance from "../axios/axios.js";
+import fetchAllPages from "../axios/fetchAllPages.js";
 
 const courseRepository = {
     findAll: async () => {
-        return await axiosInstance.get("/courses");
+        return await fetchAllPages("/courses");
     },
     findById: async (id) => {
         return await axiosInstance.get(`/courses/${id}`);
@@ -1,8 +1,9 @@
 import axiosInstance from "../axios/axios.js";
+import fetchAllPages from "../axios/fetchAllPages.js";
 
 const examRepository = {
     findAll: async () => {
-        return await axiosInstance.get("/exams");
+        return await fetchAllPages("/exams");
     },
     findById: async (id) => {
         return await axiosInstance.get(`/exams/${id}`);
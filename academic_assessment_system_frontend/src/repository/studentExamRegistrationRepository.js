@@ -1,4 +1,5 @@
 import axiosInstance from "../axios/axios.js";
+import fetchAllPages from "../axios/fetchAllPages.js";
 
 const studentExamRegistrationRepository = {
     registerForExam: async (examId) => {
@@ -32,13 +33,13 @@ const studentExamRegistrationRepository = {
         );
     },
     getRegisteredStudents: async (examId) => {
-        return await axiosInstance.get(`/exams/${examId}/registered-students`);
+        return await fetchAllPages(`/exams/${examId}/registered-students`);
     },
     getAttendedStudents: async (examId) => {
-        return await axiosInstance.get(`/exams/${examId}/attended-students`);
+        return await fetchAllPages(`/exams/${examId}/attended-students`);
     },
     getAbsentStudents: async (examId) => {
-        return await axiosInstance.get(`/exams/${examId}/absent-students`);
+        return await fetchAllPages(`/exams/${examId}/absent-students`);
     },
 };
 
@@ -1,8 +1,9 @@
 import axiosInstance from "../axios/axios.js";
+import fetchAllPages from "../axios/fetchAllPages.js";
 
 const studentRepository = {
     findAll: async () => {
-        return await axiosInstance.get("/students");
+        return await fetchAllPages("/students");
     },
     findById: async (id) => {
         return await axiosInstance.get(`/students/${id}`);
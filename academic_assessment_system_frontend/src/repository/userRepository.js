@@ -1,14 +1,15 @@
 import axiosInstance from "../axios/axios.js";
+import fetchAllPages from "../axios/fetchAllPages.js";
 
 const userRepository = {
     findAll: async () => {
-        return await axiosInstance.get("/users");
+        return await fetchAllPages("/users");
     },
     findAllStaff: async () => {
         return await axiosInstance.get("/users/staff");
     },
     findAllStudents: async () => {
-        return await axiosInstance.get("/users/students");
+        return await fetchAllPages("/users/students");
     },
     findById: async (id) => {
         return await axiosInstance.get(`/users/${id}`);